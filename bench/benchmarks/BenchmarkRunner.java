@@ -0,0 +1,47 @@
+package benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+
+/**
+ * @author Mohamed Boutanghach
+ * Ejecuta todos los benchmarks y guarda los resultados en JSON para poder comparar
+ * ejecuciones entre versiones.
+ * <p>
+ * El fichero de resultados se indica con la propiedad {@code bench.results}
+ * (por defecto {@code bench-results/jmh.json}). Se aceptan además las opciones de la
+ * línea de órdenes de JMH, por ejemplo {@code -p skeletons=1000} o el nombre de un benchmark.
+ */
+public class BenchmarkRunner {
+    /**
+     * Punto de entrada de los benchmarks.
+     *
+     * @param args Opciones de JMH.
+     * @throws RunnerException            Si falla la ejecución de los benchmarks.
+     * @throws CommandLineOptionException Si las opciones no son válidas.
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        File results = new File(System.getProperty("bench.results", "bench-results/jmh.json"));
+        if (results.getParentFile() != null) {
+            results.getParentFile().mkdirs();
+        }
+        CommandLineOptions command = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(command);
+        if (command.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + "."); // Sin filtro se ejecutan todos.
+        }
+        Options options = builder
+                .resultFormat(ResultFormatType.JSON)
+                .result(results.getPath())
+                .build();
+        new Runner(options).run();
+    }
+}
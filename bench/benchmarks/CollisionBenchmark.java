@@ -0,0 +1,80 @@
+package benchmarks;
+
+import model.Body;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tools.SpawnTable;
+import tools.Tools;
+import warriors.Skeleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mohamed Boutanghach
+ * Benchmarks de las comprobaciones de colisión de {@link Tools} sobre el mapa real.
+ * Cada operación recorre las posiciones de aparición una detrás de otra, así que se
+ * prueban cuerpos repartidos por toda la mazmorra y no siempre el mismo.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private static final char[] KEYS = {'w', 'a', 's', 'd'}; // Direcciones que se prueban.
+
+    private final Body probe = new Body(Skeleton.SIZE, Skeleton.SIZE); // Cuerpo que se mueve por el mapa.
+    private final Body area = new Body(800, 800); // Área de la habilidad definitiva del mago.
+    private int next; // Siguiente posición de aparición.
+
+    /**
+     * Coloca el cuerpo de prueba en la siguiente posición de aparición.
+     *
+     * @param state Partida compartida.
+     */
+    private void advance(MatchState state) {
+        SpawnTable spawns = state.spawns();
+        next = (next + 1) % spawns.size();
+        probe.setLocation(spawns.getX(next), spawns.getY(next));
+    }
+
+    /**
+     * Paso de un cuerpo contra los muros en las cuatro direcciones.
+     *
+     * @param state Partida compartida.
+     * @param hole  Sumidero de resultados.
+     */
+    @Benchmark
+    public void validateMove(MatchState state, Blackhole hole) {
+        advance(state);
+        for (char key : KEYS) {
+            hole.consume(Tools.validateMove(probe, state.map.getWalls(), 7, key));
+        }
+    }
+
+    /**
+     * Primer esqueleto que toca un cuerpo del tamaño del guerrero.
+     *
+     * @param state Partida compartida.
+     * @return Esqueleto alcanzado o null.
+     */
+    @Benchmark
+    public Skeleton intersectSkel(MatchState state) {
+        advance(state);
+        return Tools.intersectSkel(probe, state.match.getSkeletons());
+    }
+
+    /**
+     * Todos los esqueletos dentro del área de la habilidad definitiva del mago.
+     *
+     * @param state Partida compartida.
+     * @return Número de esqueletos alcanzados.
+     */
+    @Benchmark
+    public int multiIntersectSkel(MatchState state) {
+        advance(state);
+        area.setLocation(probe.getX() - 384, probe.getY() - 384);
+        return Tools.multiIntersectSkel(area, state.match.getSkeletons()).size();
+    }
+}
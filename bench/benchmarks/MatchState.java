@@ -0,0 +1,107 @@
+package benchmarks;
+
+import game.GameLoop;
+import listeners.ActionListenerAddMonst;
+import listeners.ActionListenerMoveSkel;
+import model.GameMap;
+import model.Match;
+import org.openjdk.jmh.annotations.*;
+import tools.Pools;
+import tools.SpawnTable;
+import warriors.Skeleton;
+import warriors.Soldier;
+
+import java.util.ArrayList;
+
+/**
+ * @author Mohamed Boutanghach
+ * Partida compartida por los benchmarks: el mapa real de la mazmorra, un soldado en su
+ * posición inicial y {@code skeletons} esqueletos repartidos por las posiciones de aparición.
+ * <p>
+ * El mapa se construye una vez por ejecución y la partida antes de cada iteración, con la
+ * misma semilla. Al montarla se guardan las posiciones iniciales de los esqueletos, y los
+ * benchmarks que los mueven las recuperan con {@link #reset()} para medir siempre desde la
+ * misma situación y no con todos los esqueletos amontonados sobre el guerrero.
+ */
+@State(Scope.Thread)
+public class MatchState {
+    /** Semilla fija para que todas las ejecuciones coloquen los esqueletos igual. */
+    private static final long SEED = 42;
+
+    /** Número de esqueletos en la partida. */
+    @Param({"10", "100", "1000"})
+    public int skeletons;
+
+    public GameMap map; // Mapa real de la mazmorra.
+    public Match match; // Partida con los esqueletos colocados.
+    public GameLoop loop; // Bucle de la partida (no se pone en marcha).
+    public ActionListenerAddMonst spawner; // Generador de esqueletos de la partida.
+    public ArrayList<ActionListenerMoveSkel> movers; // Movimiento de cada esqueleto.
+    private int[] startX; // Coordenada X inicial de cada esqueleto.
+    private int[] startY; // Coordenada Y inicial de cada esqueleto.
+
+    /**
+     * Construye el mapa de la mazmorra.
+     */
+    @Setup(Level.Trial)
+    public void setUpMap() {
+        System.setProperty("java.awt.headless", "true");
+        map = GameMap.standard();
+    }
+
+    /**
+     * Monta la partida y coloca los esqueletos.
+     */
+    @Setup(Level.Iteration)
+    public void setUpMatch() {
+        Soldier warrior = new Soldier();
+        warrior.setInvincible(true); // Los esqueletos no terminan la partida mientras se mide.
+        match = new Match(map, warrior, SEED);
+        loop = new GameLoop(GameLoop.TICK_RATE, GameLoop.FRAME_RATE, null);
+        match.start(loop);
+        spawner = new ActionListenerAddMonst(match);
+        movers = new ArrayList<>();
+        for (int i = 0; i < skeletons; i++) {
+            movers.add(new ActionListenerMoveSkel(spawner.spawn(), match));
+        }
+        startX = new int[skeletons];
+        startY = new int[skeletons];
+        for (int i = 0; i < skeletons; i++) {
+            Skeleton skeleton = match.getSkeletons().get(i);
+            startX[i] = skeleton.getBody().getX();
+            startY[i] = skeleton.getBody().getY();
+        }
+    }
+
+    /**
+     * Devuelve los esqueletos a sus posiciones iniciales.
+     */
+    public void reset() {
+        for (int i = 0; i < skeletons; i++) {
+            Skeleton skeleton = match.getSkeletons().get(i);
+            skeleton.getBody().setLocation(startX[i], startY[i]);
+            match.getSkeletons().move(skeleton);
+        }
+    }
+
+    /**
+     * Devuelve los esqueletos a la reserva.
+     */
+    @TearDown(Level.Iteration)
+    public void tearDownMatch() {
+        while (match.getSkeletons().size() > 0) {
+            Skeleton skeleton = match.getSkeletons().get(0);
+            match.getSkeletons().remove(skeleton);
+            Pools.SKELETONS.release(skeleton);
+        }
+    }
+
+    /**
+     * Obtiene la tabla de apariciones del mapa.
+     *
+     * @return Tabla de apariciones.
+     */
+    public SpawnTable spawns() {
+        return map.getSpawns();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmarks;
+
+import listeners.ActionListenerMoveSkel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mohamed Boutanghach
+ * Benchmark de un paso completo de todos los esqueletos: campo de flujo, movimiento,
+ * índice espacial y golpe al guerrero. El guerrero es invencible para que la partida
+ * no termine mientras se mide.
+ * <p>
+ * Cada invocación devuelve los esqueletos a sus posiciones iniciales y simula
+ * {@link #TICKS} pasos, así que se mide la persecución desde la
+ * aparición y no esqueletos ya amontonados sobre el guerrero. El resultado es por paso.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SkeletonTickBenchmark {
+    /** Pasos simulados en cada invocación: un segundo con la frecuencia por defecto. */
+    public static final int TICKS = 100;
+
+    /**
+     * Coloca los esqueletos en sus posiciones iniciales y mueve cada uno {@link #TICKS} veces.
+     *
+     * @param state Partida compartida.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TICKS)
+    public void moveAll(MatchState state) {
+        state.reset();
+        for (int tick = 0; tick < TICKS; tick++) {
+            for (ActionListenerMoveSkel mover : state.movers) {
+                mover.tick(state.loop);
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import tools.Pools;
+import warriors.Skeleton;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mohamed Boutanghach
+ * Benchmark de la colocación de un esqueleto nuevo con {@code ActionListenerAddMonst}.
+ * El esqueleto se retira justo después para que la partida conserve siempre el mismo
+ * número de esqueletos.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpawnBenchmark {
+    /**
+     * Saca un esqueleto de la reserva, lo coloca y lo retira.
+     *
+     * @param state Partida compartida.
+     * @return Esqueleto colocado.
+     */
+    @Benchmark
+    public Skeleton spawn(MatchState state) {
+        Skeleton skeleton = state.spawner.spawn();
+        state.match.getSkeletons().remove(skeleton);
+        Pools.SKELETONS.release(skeleton);
+        return skeleton;
+    }
+}
@@ -1,13 +1,21 @@
+import database.Database;
 import listeners.*;
+import model.GameMap;
+import tools.IconCache;
+import tools.StartupTimer;
+import tools.TileGrid;
 import tools.Tools;
-import user.Round;
 import user.User;
+import user.UserRegistry;
+import view.LazyPanel;
+import view.RankingView;
 import javax.swing.*;
 import java.awt.*;
-import java.sql.*;
+import java.awt.image.BufferedImage;
 import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * @author Mohamed Boutanghach
@@ -16,24 +24,94 @@ import java.util.TreeSet;
  */
 public class Main {
 
-    /**
-     * Método principal que configura el marco de la ventana y los diferentes paneles del juego.
+    private static final String PRESENTATION_BACKGROUND = "src/images/presentacion.jpg"; // Fondo de la primera pantalla.
+    private static final String[] WARRIOR_AVATARS = {"src/images/magicAvatar.png", "src/images/priestAvatar.png",
+            "src/images/soldierAvatar.png"}; // Avatares de la selección de guerrero.
+    private static final int AVATAR_SIZE = 400; // Lado de los avatares.
+    private static final String EMERALD_ICON = "src/images/emerald.gif"; // Icono de las esmeraldas del panel del juego.
+    private static final int EMERALD_WIDTH = 60; // Anchura del icono de las esmeraldas.
+    private static final int EMERALD_HEIGHT = 70; // Altura del icono de las esmeraldas.
+    private static final String MANA_BAR = "src/images/barraEnergi.png"; // Barra de mana del panel del juego.
+    private static final int STARTUP_STAGES = 4; // Fases de carga que avanzan la barra de progreso.
+    private static final int STARTUP_THREADS = Integer.getInteger("startup.threads",
+            Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()))); // Hilos de carga del arranque.
+
+    /**
+     * Método principal. Muestra enseguida una pantalla de carga y, mientras tanto, carga en
+     * paralelo los usuarios de la base de datos, el mapa, el fondo de la presentación y los
+     * iconos del panel del juego.
+     * Cuando todo está listo crea las pantallas del juego en el hilo de eventos, vacías hasta
+     * que se muestren, e imprime la duración de cada fase y el tiempo hasta el primer fotograma.
      *
      * @param args Argumentos de la línea de comandos.
      */
     public static void main(String[] args) {
-        // Crear panel principal
-        JPanel panelMain = generatePanelMain();
-
-        // Generar lista de usuarios
-        LinkedHashSet<User> listUsers = generateListUsers();
-
-        // Generar lista de rondas basadas en usuarios
-        TreeSet<Round> listRounds = generateListRounds(listUsers);
+        StartupTimer timer = new StartupTimer();
 
-        // Configurar la ventana principal (JFrame)
+        // Crear panel principal y mostrar la pantalla de carga
+        JPanel panelMain = generatePanelMain();
+        JProgressBar progress = generateProgressBar(panelMain);
+        SwingUtilities.invokeLater(() -> generateFrame(panelMain, generatePanelSplash(panelMain, progress, timer)));
+
+        ExecutorService startup = Executors.newFixedThreadPool(STARTUP_THREADS, runnable -> {
+            Thread thread = new Thread(runnable, "arranque");
+            thread.setDaemon(true);
+            return thread;
+        });
+        Runnable advance = () -> SwingUtilities.invokeLater(() -> progress.setValue(progress.getValue() + 1));
+
+        // Recuperar las rondas que no se pudieron guardar en la última sesión y generar el registro de usuarios
+        CompletableFuture<UserRegistry> listUsers = CompletableFuture.supplyAsync(() -> timer.measure("usuarios", () -> {
+            Database.roundWriter().replay();
+            return generateListUsers();
+        }), startup);
+
+        // Crear el mapa con sus cuadrículas, posiciones de aparición y campo de flujo
+        CompletableFuture<GameMap> map = CompletableFuture.supplyAsync(() -> timer.measure("mapa", GameMap::standard), startup);
+
+        // Decodificar y escalar el fondo de la presentación; el resto de fondos se cargan al mostrar su pantalla
+        Dimension size = panelMain.getSize();
+        CompletableFuture<Icon> presentation = CompletableFuture.supplyAsync(() -> timer.measure("presentación",
+                () -> IconCache.getReleasable(PRESENTATION_BACKGROUND, size.width, size.height, Image.SCALE_SMOOTH)), startup);
+
+        // Decodificar los iconos del panel del juego, que se crea con la primera partida en el hilo de eventos
+        CompletableFuture<Icon> icons = CompletableFuture.supplyAsync(() -> timer.measure("iconos", () -> {
+            IconCache.get(EMERALD_ICON, EMERALD_WIDTH, EMERALD_HEIGHT);
+            return IconCache.get(MANA_BAR);
+        }), startup);
+
+        listUsers.thenRun(advance);
+        map.thenRun(advance);
+        presentation.thenRun(advance);
+        icons.thenRun(advance);
+        CompletableFuture.allOf(listUsers, map, presentation, icons).whenComplete((ignored, error) -> {
+            startup.shutdown();
+            SwingUtilities.invokeLater(() -> {
+                if (error != null) {
+                    System.out.println("No se ha podido cargar el juego: " + error.getCause());
+                    System.exit(1);
+                }
+                timer.measure("interfaz", () -> {
+                    generateInterface(panelMain, listUsers.join(), map.join(), presentation.join());
+                    return null;
+                });
+                // El menú se pinta en el siguiente turno del hilo de eventos
+                SwingUtilities.invokeLater(() -> {
+                    timer.mark("menú");
+                    System.out.println(timer);
+                });
+            });
+        });
+    }
+
+    /**
+     * Crea la ventana principal con la pantalla de carga. Se llama en el hilo de eventos.
+     *
+     * @param panelMain Panel principal de la interfaz.
+     * @param splash    Pantalla de carga.
+     */
+    private static void generateFrame(JPanel panelMain, JPanel splash) {
         Toolkit toolkit = Toolkit.getDefaultToolkit();
-        User user = null;
         JFrame frame = new JFrame("Main");
         Image icon = toolkit.getImage("src/images/logo.jpg");
         frame.setIconImage(icon);
@@ -41,89 +119,126 @@ public class Main {
         frame.setDefaultCloseOperation(WindowConstants.EXIT_ON_CLOSE);
         frame.setSize(toolkit.getScreenSize());
         frame.setTitle("Fallen Legends");
+        panelMain.add(splash);
         frame.setVisible(true);
+    }
 
-        // Crear listas de etiquetas de muros y suelos
-        ArrayList<JLabel> listWalls = new ArrayList<>();
-        ArrayList<JLabel> listFloor = new ArrayList<>();
-
-        // Crear diferentes paneles del juego
-        JPanel panelGame = generatePanelGame(panelMain, listFloor, listWalls);
-        JPanel panelMainMenu = generateMainMenu(panelMain);
-        JPanel ranking = generatePanelItems(panelMain);
+    /**
+     * Crea las pantallas del juego y presenta la primera. Las pantallas se crean vacías y
+     * su contenido se añade la primera vez que se muestran. Se llama en el hilo de eventos.
+     *
+     * @param panelMain              Panel principal de la interfaz.
+     * @param listUsers              Registro de usuarios indexado por nombre.
+     * @param map                    Mapa de la mazmorra en el que se juegan las partidas.
+     * @param presentationBackground Fondo de la presentación ya cargado; se referencia hasta mostrarla
+     *                               para que no se libere antes.
+     */
+    private static void generateInterface(JPanel panelMain, UserRegistry listUsers, GameMap map, Icon presentationBackground) {
+        User user = null;
 
-        // Actualizar el ranking de los jugadores
-        Tools.updateRanking(ranking, listRounds);
+        // Crear diferentes pantallas del juego
+        LazyPanel panelGame = generatePanelGame(panelMain, map);
+        LazyPanel panelMainMenu = generateMainMenu(panelMain);
+        // Generar el ranking de los jugadores
+        RankingView ranking = generateRanking(generatePanelItems(panelMain));
 
-        JPanel panelRanking = generatePanelRanking(panelMain, ranking, panelMainMenu);
-        JPanel panelSeleWarrior = generatePanelSeleWarrior(panelMain, panelGame, listWalls, listFloor, panelMainMenu, listRounds, ranking, listUsers);
-        JPanel panelMenuSelUser = generateMenuSelUser(panelMain);
-        JPanel panelCreateUser = generateCreateUser(panelMain);
+        LazyPanel panelRanking = generatePanelRanking(panelMain, ranking, panelMainMenu);
+        LazyPanel panelSeleWarrior = generatePanelSeleWarrior(panelMain, panelGame, map, panelMainMenu, ranking, listUsers);
+        LazyPanel panelMenuSelUser = generateMenuSelUser(panelMain);
+        LazyPanel panelCreateUser = generateCreateUser(panelMain);
         JPanel users = generatePanelItems(panelMenuSelUser);
 
-        // Actualizar la lista de usuarios
-        Tools.updateUsers(users, listUsers, panelSeleWarrior, panelMain);
+        // Añadir el panel de selección de usuario con la lista de usuarios
+        panelMenuSelUser.setContent(panel -> {
+            Tools.updateUsers(users, listUsers, panelSeleWarrior, panelMain);
+            panel.add(users);
+            panel.setComponentZOrder(users, 0);
+        });
 
         // Agregar botones para crear usuario
-        addBotonsCreateUser(panelCreateUser, panelMain, listUsers, panelMainMenu, users, user, panelSeleWarrior);
-
-        // Añadir el panel de selección de usuario
-        panelMenuSelUser.add(users);
-        panelMenuSelUser.setComponentZOrder(users, 0);
+        panelCreateUser.setContent(panel -> addBotonsCreateUser(panel, panelMain, listUsers, panelMainMenu, users, user, panelSeleWarrior));
 
         // Agregar botones al menú principal
-        addBotonsMenu(panelMainMenu, panelCreateUser, panelMain, panelMenuSelUser, listUsers, panelRanking);
+        panelMainMenu.setContent(panel -> addBotonsMenu(panel, panelCreateUser, panelMain, panelMenuSelUser, listUsers, panelRanking));
 
-        // Presentar el menú principal
+        // Quitar la pantalla de carga y presentar el menú principal
+        panelMain.removeAll();
         presentation(panelMain, panelMainMenu);
     }
 
     /**
-     * Genera una lista de rondas recuperadas de la base de datos y relacionadas con los usuarios.
+     * Genera la pantalla de carga. No usa imágenes para poder mostrarse enseguida y guarda
+     * en el medidor del arranque el momento en que se pinta por primera vez.
      *
-     * @param listUsers Lista de usuarios registrados.
-     * @return TreeSet<Round> Lista de rondas ordenada por tiempos.
-     */
-    private static TreeSet<Round> generateListRounds(LinkedHashSet<User> listUsers) {
-        TreeSet<Round> list = new TreeSet<>();
-        try {
-            Connection con = Tools.getConnectionToDataBase();
-            PreparedStatement ps = con.prepareStatement("SELECT r.seconds, r.warrior, u.name FROM Round as r INNER JOIN Users as u ON u.id_user = r.id_user");
-            ResultSet rs = ps.executeQuery();
-
-            // Recorre los resultados de la consulta y agrega cada ronda a la lista
-            while (rs.next()) {
-                list.add(new Round(rs.getString(2), rs.getDouble(1), Tools.lookForUser(listUsers, rs.getString(3))));
+     * @param panelMain Panel principal de la interfaz.
+     * @param progress  Barra de progreso de la carga.
+     * @param timer     Medidor del arranque.
+     * @return JPanel Pantalla de carga.
+     */
+    private static JPanel generatePanelSplash(JPanel panelMain, JProgressBar progress, StartupTimer timer) {
+        JPanel panel = new JPanel() {
+            @Override
+            protected void paintComponent(Graphics g) {
+                super.paintComponent(g);
+                timer.mark("primer fotograma");
             }
-            ps.close();
-            con.close();
-            rs.close();
-        } catch (Exception e) {
-            System.out.println("No se ha podido obtener información");
-        }
+        };
+        panel.setSize(panelMain.getSize());
+        panel.setLocation(0, 0);
+        panel.setLayout(null);
+        panel.setBackground(new Color(16, 16, 16));
 
-        return list;
+        JLabel title = new JLabel("Fallen Legends", SwingConstants.CENTER);
+        title.setFont(new Font("Impact", Font.ITALIC, 80));
+        title.setForeground(new Color(255, 164, 0));
+        title.setSize(panel.getWidth(), 120);
+        title.setLocation(0, panel.getHeight() / 2 - title.getHeight());
+        panel.add(title);
+        panel.add(progress);
+        return panel;
+    }
+
+    /**
+     * Genera la barra de progreso de la pantalla de carga, que avanza al terminar cada fase.
+     *
+     * @param panelMain Panel principal de la interfaz.
+     * @return JProgressBar Barra de progreso.
+     */
+    private static JProgressBar generateProgressBar(JPanel panelMain) {
+        JProgressBar progress = new JProgressBar(0, STARTUP_STAGES);
+        progress.setSize(500, 20);
+        progress.setLocation(panelMain.getWidth() / 2 - progress.getWidth() / 2, panelMain.getHeight() / 2 + 40);
+        progress.setForeground(new Color(255, 164, 0));
+        progress.setBorderPainted(false);
+        return progress;
     }
 
     /**
-     * Genera una lista de usuarios obtenidos desde la base de datos.
+     * Genera el ranking de las rondas. Solo se pide la primera página; las siguientes
+     * se piden al desplazarse por el ranking.
      *
-     * @return LinkedHashSet<User> Lista de usuarios.
+     * @param ranking Panel que indica el aspecto del ranking.
+     * @return RankingView Ranking desplazable.
      */
-    private static LinkedHashSet<User> generateListUsers() {
-        LinkedHashSet<User> list = new LinkedHashSet<>();
-        try {
-            Connection con = Tools.getConnectionToDataBase();
-            PreparedStatement ps = con.prepareStatement("SELECT name FROM Users");
-            ResultSet rs = ps.executeQuery();
+    private static RankingView generateRanking(JPanel ranking) {
+        RankingView rankingView = new RankingView(ranking);
+        Database.executor().submit(() -> {
+            Database.rounds().ensureIndex(); // Índice por tiempo para ordenar las páginas
+            return null;
+        }, null, error -> System.out.println("No se ha podido crear el índice del ranking"));
+        rankingView.loadNextPage();
+        return rankingView;
+    }
 
-            // Agrega cada usuario a la lista
-            while (rs.next()) {
-                list.add(new User(rs.getString(1)));
-            }
-            ps.close();
-            con.close();
-            rs.close();
+    /**
+     * Genera el registro de usuarios obtenidos desde la base de datos.
+     *
+     * @return UserRegistry Registro de usuarios indexado por nombre.
+     */
+    private static UserRegistry generateListUsers() {
+        UserRegistry list = UserRegistry.fromSystemProperties();
+        try {
+            Database.users().findAll(list);
         } catch (Exception e) {
             System.out.println("No se ha podido obtener información");
         }
@@ -134,17 +249,27 @@ public class Main {
      * Genera el panel del ranking que muestra los resultados de los jugadores.
      *
      * @param panelMain     Panel principal de la interfaz.
-     * @param ranking       Panel que contiene el ranking de jugadores.
+     * @param rankingView   Ranking desplazable de los jugadores.
      * @param panelMainMenu Panel del menú principal.
-     * @return JPanel Panel de ranking.
+     * @return LazyPanel Panel de ranking, que se completa al mostrarlo.
      */
-    private static JPanel generatePanelRanking(JPanel panelMain, JPanel ranking, JPanel panelMainMenu) {
-        JPanel panel = new JPanel();
-        panel.setLocation(0, 0);
+    private static LazyPanel generatePanelRanking(JPanel panelMain, RankingView rankingView, JPanel panelMainMenu) {
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
         panel.setLayout(null);
-        panel.setSize(panelMain.getSize());
-        panel.add(setImageBackground("src/images/fondoMenu.jpg", panel.getSize()));
+        setImageBackground(panel, "src/images/fondoMenu.jpg");
+        panel.setContent(ranking -> addRanking(ranking, panelMain, rankingView, panelMainMenu));
+        return panel;
+    }
 
+    /**
+     * Añade el título, el ranking y el botón para volver al panel del ranking.
+     *
+     * @param panel         Panel del ranking.
+     * @param panelMain     Panel principal de la interfaz.
+     * @param rankingView   Ranking desplazable de los jugadores.
+     * @param panelMainMenu Panel del menú principal.
+     */
+    private static void addRanking(JPanel panel, JPanel panelMain, RankingView rankingView, JPanel panelMainMenu) {
         // Título "RANKING"
         JLabel text = new JLabel("RANKING");
         text.setSize(147, 50);
@@ -165,6 +290,7 @@ public class Main {
         panel.setComponentZOrder(text, 0);
 
         // Configuración del panel de ranking
+        JComponent ranking = rankingView.getComponent();
         ranking.setSize(1000, ranking.getHeight());
         ranking.setLocation(panel.getWidth() / 2 - ranking.getWidth() / 2, ranking.getY() - 50);
         panel.add(ranking);
@@ -172,36 +298,71 @@ public class Main {
 
         // Agregar acción al botón "VOLVER"
         boton.addMouseListener(new MouseListenerPresentation(panelMain, panelMainMenu));
-        return panel;
     }
 
     /**
      * Genera el panel del juego donde se muestra el mapa y los elementos del mismo (muros y suelo).
+     * El mapa estático se dibuja en una imagen que ocupa todo el panel la primera vez que se
+     * juega, y se vuelve a dibujar si se ha liberado entre partidas.
      *
      * @param panelMain Panel principal de la interfaz.
-     * @param listFloor Lista de suelos.
-     * @param listWalls Lista de muros.
-     * @return JPanel Panel del juego.
+     * @param map       Mapa de la mazmorra.
+     * @return LazyPanel Panel del juego, que se completa al mostrarlo.
      */
-    private static JPanel generatePanelGame(JPanel panelMain, ArrayList<JLabel> listFloor, ArrayList<JLabel> listWalls) {
-        JPanel panel = new JPanel();
-        panel.setSize(panelMain.getSize());
+    private static LazyPanel generatePanelGame(JPanel panelMain, GameMap map) {
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
         panel.setLayout(null);
-        panel.add(setImageBackground("src/images/backGround.png", panel.getSize()));
+        panel.setContent(game -> {
+            // Agregar el mapa del juego renderizado
+            Dimension size = game.getSize();
+            game.addBackground(() -> IconCache.getReleasable("mapa@" + size.width + 'x' + size.height,
+                    () -> new ImageIcon(renderMapBackground(size, map.getWalls(), map.getFloor()))));
+
+            // Etiqueta de mana y icono de esmeralda
+            JLabel mana = generateLabelMana();
+            game.add(mana);
+            game.setComponentZOrder(mana, 0);
+            JLabel emerald = generateEmeraldIcon();
+            game.add(emerald);
+            game.setComponentZOrder(emerald, 0);
+        });
+        return panel;
+    }
 
-        // Agregar el mapa del juego
-        addMapGame(panel, listWalls, listFloor);
+    /**
+     * Dibuja el fondo, los muros y los suelos en una única imagen compatible con la pantalla,
+     * de modo que el mapa estático se pinta de una sola vez en lugar de bloque a bloque.
+     * No usa componentes, así que se puede llamar fuera del hilo de eventos.
+     *
+     * @param d     Dimensión del panel del juego.
+     * @param walls Cuadrícula de muros.
+     * @param floor Cuadrícula de suelos.
+     * @return BufferedImage Imagen del mapa.
+     */
+    private static BufferedImage renderMapBackground(Dimension d, TileGrid walls, TileGrid floor) {
+        BufferedImage map;
+        if (GraphicsEnvironment.isHeadless()) {
+            map = new BufferedImage(d.width, d.height, BufferedImage.TYPE_INT_RGB);
+        } else {
+            map = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                    .getDefaultConfiguration().createCompatibleImage(d.width, d.height);
+        }
 
-        // Etiqueta de mana y icono de esmeralda
-        JLabel mana = generateLabelMana();
-        panel.add(mana);
-        panel.setComponentZOrder(mana, 0);
-        JLabel emerald = generateEmeraldIcon();
-        panel.add(emerald);
-        panel.setComponentZOrder(emerald, 0);
+        Graphics2D g = map.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.drawImage(new ImageIcon("src/images/backGround.png").getImage(), 0, 0, d.width, d.height, null);
 
-        panel.repaint();
-        return panel;
+        // Los bloques se dibujan en el mismo orden en que se apilaban las etiquetas
+        Image wall = new ImageIcon("src/images/wall.png").getImage();
+        for (Rectangle bloc : walls.getBlocks()) {
+            g.drawImage(wall, bloc.x, bloc.y, null);
+        }
+        Image ground = new ImageIcon("src/images/floor.png").getImage();
+        for (Rectangle bloc : floor.getBlocks()) {
+            g.drawImage(ground, bloc.x, bloc.y, null);
+        }
+        g.dispose();
+        return map;
     }
 
     /**
@@ -211,10 +372,8 @@ public class Main {
      */
     private static JLabel generateEmeraldIcon() {
         JLabel emerald = new JLabel();
-        emerald.setSize(60, 70);
-        Image img = new ImageIcon("src/images/emerald.gif").getImage();
-        Icon icon = new ImageIcon(img.getScaledInstance(emerald.getWidth(), emerald.getHeight(), Image.SCALE_DEFAULT));
-        emerald.setIcon(icon);
+        emerald.setSize(EMERALD_WIDTH, EMERALD_HEIGHT);
+        emerald.setIcon(IconCache.get(EMERALD_ICON, emerald.getWidth(), emerald.getHeight())); // Cargado en el arranque
         emerald.setLocation(1750, 50);
         return emerald;
     }
@@ -227,223 +386,33 @@ public class Main {
     private static JLabel generateLabelMana() {
         JLabel mana = new JLabel();
         mana.setSize(520, 70);
-        Icon icon = new ImageIcon("src/images/barraEnergi.png");
-        mana.setIcon(icon);
+        mana.setIcon(IconCache.get(MANA_BAR)); // Cargado en el arranque
         mana.setLocation(116, 70);
         return mana;
     }
 
-    /**
-     * Agrega el mapa del juego (muros y suelos) al panel.
-     *
-     * @param panel     Panel donde se dibuja el mapa.
-     * @param listWalls Lista de etiquetas que representan los muros.
-     * @param listFloor Lista de etiquetas que representan los suelos.
-     */
-    private static void addMapGame(JPanel panel, ArrayList<JLabel> listWalls, ArrayList<JLabel> listFloor) {
-        generateWalls(listWalls, panel);
-        generateFloor(listFloor, panel);
-    }
-
-    /**
-     * Genera las diferentes áreas del piso en el panel.
-     * Utiliza la función generateFloorArea para añadir bloques de piso en
-     * posiciones específicas.
-     *
-     * @param listFloor Lista que contiene las etiquetas de los bloques de piso.
-     * @param panel     Panel en el que se añadirán los bloques de piso.
-     */
-    private static void generateFloor(ArrayList<JLabel> listFloor, JPanel panel) {
-        generateFloorArea(panel, listFloor, 116, 166, 8, 8);
-        generateFloorArea(panel, listFloor, 244, 198, 43, 4);
-        generateFloorArea(panel, listFloor, 404, 262, 5, 9);
-        generateFloorArea(panel, listFloor, 852, 262, 5, 9);
-        generateFloorArea(panel, listFloor, 148, 406, 73, 4);
-        generateFloorArea(panel, listFloor, 148, 470, 4, 4);
-        generateFloorArea(panel, listFloor, 692, 470, 5, 9);
-        generateFloorArea(panel, listFloor, 148, 534, 16, 9);
-        generateFloorArea(panel, listFloor, 404, 614, 34, 4);
-        generateFloorArea(panel, listFloor, 1076, 310, 5, 6);
-        generateFloorArea(panel, listFloor, 1076, 246, 26, 4);
-        generateFloorArea(panel, listFloor, 868, 678, 5, 5);
-        generateFloorArea(panel, listFloor, 868, 758, 41, 5);
-        generateFloorArea(panel, listFloor, 1492, 246, 18, 14);
-        generateFloorArea(panel, listFloor, 1684, 470, 6, 11);
-        generateFloorArea(panel, listFloor, 1524, 646, 16, 5);
-        generateFloorArea(panel, listFloor, 1428, 550, 6, 13);
-        generateFloorArea(panel, listFloor, 1220, 550, 13, 5);
-        generateFloorArea(panel, listFloor, 1220, 470, 6, 5);
-    }
-
-    /**
-     * Genera un área del piso con bloques en una cuadrícula dada por las coordenadas (x, y)
-     * y el número de bloques de base y altura.
-     *
-     * @param panel     Panel en el que se añadirán los bloques de piso.
-     * @param listFloor Lista que contiene las etiquetas de los bloques de piso.
-     * @param x         Coordenada X de la esquina superior izquierda del área de piso.
-     * @param y         Coordenada Y de la esquina superior izquierda del área de piso.
-     * @param base      Número de bloques en la base.
-     * @param high      Número de bloques en la altura.
-     */
-    private static void generateFloorArea(JPanel panel, ArrayList<JLabel> listFloor, int x, int y, int base, int high) {
-        for (int i = 0; i < base; i++) {
-            for (int j = 0; j < high; j++) {
-                JLabel bloc = generateNewBloc("f");
-                bloc.setLocation(x + (i * 16), y + (j * 16));
-                panel.add(bloc);
-                listFloor.add(bloc);
-                panel.setComponentZOrder(bloc, 0);
-            }
-        }
-        panel.repaint();
-    }
-
-    /**
-     * Genera las diferentes áreas de paredes en el panel.
-     * Utiliza las funciones generateHLine y generateVLine para añadir líneas
-     * horizontales y verticales de bloques de pared en posiciones específicas.
-     *
-     * @param listWalls Lista que contiene las etiquetas de los bloques de pared.
-     * @param panel     Panel en el que se añadirán los bloques de pared.
-     */
-    private static void generateWalls(ArrayList<JLabel> listWalls, JPanel panel) {
-        generateHLine(panel, listWalls, 100, 150, 10);
-        generateVLine(panel, listWalls, 100, 166, 9);
-        generateHLine(panel, listWalls, 100, 294, 10);
-        generateVLine(panel, listWalls, 244, 166, 2);
-        generateVLine(panel, listWalls, 244, 262, 2);
-        generateHLine(panel, listWalls, 260, 182, 43);
-        generateHLine(panel, listWalls, 260, 262, 9);
-        generateVLine(panel, listWalls, 388, 278, 7);
-        generateHLine(panel, listWalls, 132, 390, 17);
-        generateVLine(panel, listWalls, 132, 390, 18);
-        generateHLine(panel, listWalls, 132, 678, 46);
-        generateVLine(panel, listWalls, 852, 694, 9);
-        generateHLine(panel, listWalls, 852, 838, 43);
-        generateHLine(panel, listWalls, 948, 742, 29);
-        generateVLine(panel, listWalls, 948, 614, 8);
-        generateHLine(panel, listWalls, 212, 470, 30);
-        generateVLine(panel, listWalls, 212, 486, 3);
-        generateHLine(panel, listWalls, 228, 518, 12);
-        generateHLine(panel, listWalls, 484, 262, 23);
-        generateVLine(panel, listWalls, 404, 534, 5);
-        generateHLine(panel, listWalls, 420, 598, 17);
-        generateVLine(panel, listWalls, 676, 486, 7);
-        generateHLine(panel, listWalls, 772, 470, 28);
-        generateHLine(panel, listWalls, 788, 598, 11);
-        generateVLine(panel, listWalls, 772, 486, 8);
-        generateVLine(panel, listWalls, 484, 278, 8);
-        generateHLine(panel, listWalls, 500, 390, 22);
-        generateHLine(panel, listWalls, 948, 390, 8);
-        generateVLine(panel, listWalls, 1060, 230, 10);
-        generateHLine(panel, listWalls, 1076, 230, 45);
-        generateVLine(panel, listWalls, 1780, 246, 30);
-        generateVLine(panel, listWalls, 1204, 486, 9);
-        generateHLine(panel, listWalls, 1156, 390, 11);
-        generateVLine(panel, listWalls, 1316, 406, 8);
-        generateHLine(panel, listWalls, 1316, 534, 14);
-        generateVLine(panel, listWalls, 1524, 550, 6);
-        generateVLine(panel, listWalls, 1156, 310, 5);
-        generateHLine(panel, listWalls, 1172, 310, 20);
-        generateVLine(panel, listWalls, 1476, 326, 10);
-        generateHLine(panel, listWalls, 1492, 470, 12);
-        generateHLine(panel, listWalls, 1204, 630, 14);
-        generateHLine(panel, listWalls, 1540, 630, 9);
-        generateHLine(panel, listWalls, 1524, 726, 17);
-        generateVLine(panel, listWalls, 1524, 742, 6);
-        generateVLine(panel, listWalls, 1412, 646, 7);
-        generateVLine(panel, listWalls, 1668, 486, 9);
-        generateVLine(panel, listWalls, 836, 278, 7);
-        generateVLine(panel, listWalls, 932, 198, 13);
-    }
-
-    /**
-     * Genera una línea vertical de bloques en una posición dada.
-     *
-     * @param panel  Panel en el que se añadirán los bloques.
-     * @param array  Lista que contiene las etiquetas de los bloques.
-     * @param x      Coordenada X donde se colocará la línea.
-     * @param y      Coordenada Y donde se colocará la línea.
-     * @param amount Cantidad de bloques en la línea.
-     */
-    private static void generateVLine(JPanel panel, ArrayList<JLabel> array, int x, int y, int amount) {
-        JLabel bloc;
-        for (int i = 0; i < amount; i++) {
-            bloc = generateNewBloc("w");
-            bloc.setLocation(x, y + (bloc.getHeight() * i));
-            panel.add(bloc);
-            array.add(bloc);
-            panel.setComponentZOrder(bloc, 0);
-        }
-        panel.repaint();
-    }
-
-    /**
-     * Genera una línea horizontal de bloques en una posición dada.
-     *
-     * @param panel  Panel en el que se añadirán los bloques.
-     * @param array  Lista que contiene las etiquetas de los bloques.
-     * @param x      Coordenada X donde se colocará la línea.
-     * @param y      Coordenada Y donde se colocará la línea.
-     * @param amount Cantidad de bloques en la línea.
-     */
-    private static void generateHLine(JPanel panel, ArrayList<JLabel> array, int x, int y, int amount) {
-        JLabel bloc;
-        for (int i = 0; i < amount; i++) {
-            bloc = generateNewBloc("w");
-            bloc.setLocation(x + (bloc.getWidth() * i), y);
-            panel.add(bloc);
-            array.add(bloc);
-            panel.setComponentZOrder(bloc, 0);
-        }
-        panel.repaint();
-    }
-
-    /**
-     * Genera un nuevo bloque en forma de JLabel que puede ser una pared ("w") o un suelo ("f").
-     *
-     * @param tipe El tipo de bloque que se quiere generar: "w" para pared, otro valor para suelo.
-     * @return Un JLabel con el ícono correspondiente al bloque (pared o suelo).
-     */
-    private static JLabel generateNewBloc(String tipe) {
-        JLabel label = new JLabel();
-        Icon icon;
-        if (tipe.equalsIgnoreCase("w")) {
-            icon = new ImageIcon("src/images/wall.png");
-        } else {
-            icon = new ImageIcon("src/images/floor.png");
-        }
-        label.setSize(icon.getIconWidth(), icon.getIconHeight());
-        label.setIcon(icon);
-        return label;
-    }
-
     /**
      * Genera el panel para la selección de guerrero, donde el jugador puede elegir entre diferentes avatares.
      *
      * @param panelMain     El panel principal de la aplicación.
      * @param panelGame     El panel del juego principal.
-     * @param listWalls     Lista de etiquetas que representan las paredes del juego.
-     * @param listFloor     Lista de etiquetas que representan el suelo del juego.
+     * @param map           Mapa de la mazmorra en el que se juegan las partidas.
      * @param panelMainMenu El panel principal del menú.
-     * @param listRounds    Conjunto de rondas del juego.
-     * @param ranking       Panel del ranking de jugadores.
-     * @param listUsers     Conjunto de usuarios registrados.
-     * @return Un JPanel configurado para la selección de guerrero.
+     * @param ranking       Ranking de los jugadores.
+     * @param listUsers     Registro de usuarios indexado por nombre.
+     * @return Un LazyPanel para la selección de guerrero, que se completa al mostrarlo.
      */
-    private static JPanel generatePanelSeleWarrior(JPanel panelMain, JPanel panelGame, ArrayList<JLabel> listWalls, ArrayList<JLabel> listFloor, JPanel panelMainMenu, TreeSet<Round> listRounds, JPanel ranking, LinkedHashSet<User> listUsers) {
-        JPanel panel = new JPanel();
-        panel.setSize(panelMain.getSize());
+    private static LazyPanel generatePanelSeleWarrior(JPanel panelMain, JPanel panelGame, GameMap map, JPanel panelMainMenu, RankingView ranking, UserRegistry listUsers) {
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
         panel.setLayout(null);
-        panel.add(setImageBackground("src/images/fondoSeleWarr.jpg", panelMain.getSize()));
+        setImageBackground(panel, "src/images/fondoSeleWarr.jpg");
 
         // Añadir los diferentes avatares para seleccionar
-        generateLabelWarrior("src/images/magicAvatar.png", 0, panel, panelMain, panelGame, listWalls, listFloor, panelMainMenu, listRounds, ranking, listUsers);
-        generateLabelWarrior("src/images/priestAvatar.png", 1, panel, panelMain, panelGame, listWalls, listFloor, panelMainMenu, listRounds, ranking, listUsers);
-        generateLabelWarrior("src/images/soldierAvatar.png", 2, panel, panelMain, panelGame, listWalls, listFloor, panelMainMenu, listRounds, ranking, listUsers);
-
-        panel.repaint();
+        panel.setContent(warriors -> {
+            for (int i = 0; i < WARRIOR_AVATARS.length; i++) {
+                generateLabelWarrior(WARRIOR_AVATARS[i], i, warriors, panelMain, panelGame, map, panelMainMenu, ranking, listUsers);
+            }
+        });
         return panel;
     }
 
@@ -455,29 +424,25 @@ public class Main {
      * @param panel         El panel donde se mostrará el guerrero.
      * @param panelMain     El panel principal de la aplicación.
      * @param panelGame     El panel del juego principal.
-     * @param listWalls     Lista de etiquetas que representan las paredes del juego.
-     * @param listFloor     Lista de etiquetas que representan el suelo del juego.
+     * @param map           Mapa de la mazmorra en el que se juegan las partidas.
      * @param panelMainMenu El panel principal del menú.
-     * @param listRounds    Conjunto de rondas del juego.
-     * @param ranking       Panel del ranking de jugadores.
-     * @param listUsers     Conjunto de usuarios registrados.
+     * @param ranking       Ranking de los jugadores.
+     * @param listUsers     Registro de usuarios indexado por nombre.
      * @return Un JLabel que representa al guerrero seleccionado.
      */
-    private static JLabel generateLabelWarrior(String fileName, int position, JPanel panel, JPanel panelMain, JPanel panelGame, ArrayList<JLabel> listWalls, ArrayList<JLabel> listFloor, JPanel panelMainMenu, TreeSet<Round> listRounds, JPanel ranking, LinkedHashSet<User> listUsers) {
+    private static JLabel generateLabelWarrior(String fileName, int position, JPanel panel, JPanel panelMain, JPanel panelGame, GameMap map, JPanel panelMainMenu, RankingView ranking, UserRegistry listUsers) {
         JLabel label = new JLabel();
         label.setName(fileName);
-        label.setSize(400, 400);
+        label.setSize(AVATAR_SIZE, AVATAR_SIZE);
 
         // Posiciona el guerrero horizontalmente en el panel basado en la posición
         label.setLocation(panel.getWidth() / 4 + ((panel.getWidth() / 4) * position) - label.getWidth() / 2, panel.getHeight() / 2 - label.getHeight() / 2);
 
-        // Carga la imagen del guerrero y ajusta su tamaño
-        ImageIcon image = new ImageIcon(fileName);
-        Icon icon = new ImageIcon(image.getImage().getScaledInstance(label.getWidth(), label.getHeight(), Image.SCALE_SMOOTH));
-        label.setIcon(icon);
+        // Imagen del guerrero ajustada a su tamaño, ya cargada en el arranque
+        label.setIcon(IconCache.get(fileName, label.getWidth(), label.getHeight(), Image.SCALE_SMOOTH));
 
         // Añade un MouseListener para detectar cuando se selecciona el guerrero
-        label.addMouseListener(new MouseListenerWarrior(label, panelMain, panelGame, listWalls, listFloor, panelMainMenu, panel, listRounds, ranking, listUsers));
+        label.addMouseListener(new MouseListenerWarrior(label, panelMain, panelGame, map, panelMainMenu, panel, ranking, listUsers));
 
         // Añadir el JLabel del guerrero al panel
         panel.add(label);
@@ -511,14 +476,12 @@ public class Main {
      * Genera un panel que representa el menú de selección de usuario.
      *
      * @param panelMain El panel principal donde se ubicará el menú de selección de usuario.
-     * @return Un JPanel con la configuración del menú de selección de usuario.
+     * @return Un LazyPanel con la configuración del menú de selección de usuario.
      */
-    private static JPanel generateMenuSelUser(JPanel panelMain) {
-        JPanel panel = new JPanel();
-        panel.setSize(panelMain.getSize());
-        panel.add(setImageBackground("src/images/menuJugar.jpg", panelMain.getSize()));
+    private static LazyPanel generateMenuSelUser(JPanel panelMain) {
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
+        setImageBackground(panel, "src/images/menuJugar.jpg");
         panel.setLayout(null);
-        panel.repaint();
         return panel;
     }
 
@@ -533,7 +496,7 @@ public class Main {
      * @param user             El usuario actual.
      * @param panelSeleWarrior El panel de selección de guerrero.
      */
-    private static void addBotonsCreateUser(JPanel panel, JPanel panelMain, LinkedHashSet<User> listUsers, JPanel panelMainMenu, JPanel users, User user, JPanel panelSeleWarrior) {
+    private static void addBotonsCreateUser(JPanel panel, JPanel panelMain, UserRegistry listUsers, JPanel panelMainMenu, JPanel users, User user, JPanel panelSeleWarrior) {
         JLabel title = generateTitleCreateUser(panelMain);
         panel.add(title);
 
@@ -561,7 +524,7 @@ public class Main {
      * @param listUsers        La lista de usuarios existentes.
      * @param panelRanking     El panel del ranking de jugadores.
      */
-    private static void addBotonsMenu(JPanel menu, JPanel panelCreateUser, JPanel panelMain, JPanel panelMenuSelUser, LinkedHashSet<User> listUsers, JPanel panelRanking) {
+    private static void addBotonsMenu(JPanel menu, JPanel panelCreateUser, JPanel panelMain, JPanel panelMenuSelUser, UserRegistry listUsers, JPanel panelRanking) {
         JButton playGame = generateBotonPlayGame(panelMenuSelUser, panelMain, listUsers);
         JButton createUser = generateBotonCreateUser(playGame, panelCreateUser, panelMain);
         JButton showRanking = generateBotonShowRanking(createUser, panelRanking, panelMain);
@@ -586,13 +549,11 @@ public class Main {
      * Genera un panel para la creación de un nuevo usuario.
      *
      * @param panelMain El panel principal donde se mostrará el panel de creación de usuario.
-     * @return Un JPanel configurado para la creación de un nuevo usuario.
+     * @return Un LazyPanel configurado para la creación de un nuevo usuario.
      */
-    private static JPanel generateCreateUser(JPanel panelMain) {
-        JPanel panel = new JPanel();
-        panel.setSize(panelMain.getSize());
-        panel.add(setImageBackground("src/images/fondoMenu.jpg", panelMain.getSize()));
-        panel.repaint();
+    private static LazyPanel generateCreateUser(JPanel panelMain) {
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
+        setImageBackground(panel, "src/images/fondoMenu.jpg");
         return panel;
     }
 
@@ -641,7 +602,7 @@ public class Main {
      * @param panelSeleWarrior El panel de selección de guerrero.
      * @return Un botón configurado para crear un nuevo usuario.
      */
-    private static JButton generateBotonCreate(JPanel panelMain, LinkedHashSet<User> listUsers, JTextField name, JPanel panelMainMenu, JPanel users, User user, JPanel panelSeleWarrior) {
+    private static JButton generateBotonCreate(JPanel panelMain, UserRegistry listUsers, JTextField name, JPanel panelMainMenu, JPanel users, User user, JPanel panelSeleWarrior) {
         JButton button = generateBotonStandard();
         button.setText("CREAR");
         button.setSize(300, 50);
@@ -654,14 +615,12 @@ public class Main {
      * Genera el panel del menú principal de la aplicación.
      *
      * @param panelMain El panel principal de la aplicación.
-     * @return Un JPanel configurado como menú principal.
+     * @return Un LazyPanel configurado como menú principal.
      */
-    private static JPanel generateMainMenu(JPanel panelMain) {
-        JPanel menu = new JPanel();
-        menu.setSize(panelMain.getSize());
+    private static LazyPanel generateMainMenu(JPanel panelMain) {
+        LazyPanel menu = new LazyPanel(panelMain.getSize());
         menu.setLayout(null);
-        menu.setLocation(0, 0);
-        menu.add(setImageBackground("src/images/fondoMenu.jpg", menu.getSize()));
+        setImageBackground(menu, "src/images/fondoMenu.jpg");
         return menu;
     }
 
@@ -722,7 +681,7 @@ public class Main {
      * @param listUsers        La lista de usuarios registrados.
      * @return Un botón configurado para jugar una nueva partida.
      */
-    private static JButton generateBotonPlayGame(JPanel panelMenuSelUser, JPanel panelMain, LinkedHashSet<User> listUsers) {
+    private static JButton generateBotonPlayGame(JPanel panelMenuSelUser, JPanel panelMain, UserRegistry listUsers) {
         JButton button = generateBotonStandard();
         button.setText("JUGAR PARTIDA");
         button.setSize(300, 35);
@@ -751,13 +710,11 @@ public class Main {
      * @return Un JPanel configurado para la pantalla de presentación.
      */
     private static JPanel generatePanelPresentation(JPanel panelMain, JPanel panelMainMenu) {
-        JPanel panel = new JPanel();
-        panel.setSize(panelMain.getSize());
-        panel.setLocation(0, 0);
+        LazyPanel panel = new LazyPanel(panelMain.getSize());
         panel.setLayout(null);
 
-        // Agrega la imagen de fondo.
-        panel.add(setImageBackground("src/images/presentacion.jpg", panelMain.getSize()));
+        // Agrega la imagen de fondo, que se suelta al pasar al menú.
+        setImageBackground(panel, PRESENTATION_BACKGROUND);
 
         // Genera y añade el botón de presentación.
         JButton boton = generateBotonPresentation(panelMain, panelMainMenu);
@@ -767,24 +724,16 @@ public class Main {
     }
 
     /**
-     * Establece una imagen de fondo dentro de un JLabel escalado al tamaño deseado.
+     * Añade a una pantalla una imagen de fondo escalada a su tamaño. La imagen se carga al
+     * mostrar la pantalla y se puede liberar mientras no se muestre.
      *
-     * @param s Ruta de la imagen a utilizar como fondo.
-     * @param d Dimensión en la que se escalará la imagen.
-     * @return Un JLabel que contiene la imagen de fondo ajustada a la dimensión proporcionada.
+     * @param panel Pantalla a la que se añade el fondo.
+     * @param s     Ruta de la imagen a utilizar como fondo.
+     * @return Un JLabel que contiene la imagen de fondo ajustada al tamaño de la pantalla.
      */
-    private static JLabel setImageBackground(String s, Dimension d) {
-        JLabel background = new JLabel();
-        background.setSize(d);
-        background.setLocation(0, 0);
-
-        // Carga la imagen y ajusta su tamaño.
-        ImageIcon image = new ImageIcon(s);
-        Icon icon = new ImageIcon(
-                image.getImage().getScaledInstance(background.getWidth(), background.getHeight(), Image.SCALE_SMOOTH)
-        );
-        background.setIcon(icon);
-        return background;
+    private static JLabel setImageBackground(LazyPanel panel, String s) {
+        Dimension d = panel.getSize();
+        return panel.addBackground(() -> IconCache.getReleasable(s, d.width, d.height, Image.SCALE_SMOOTH));
     }
 
     /**
@@ -0,0 +1,318 @@
+package database;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * @author Mohamed Boutanghach
+ * Reserva de conexiones a la base de datos. Abre como mucho {@code size} conexiones y las
+ * reutiliza entre consultas, de modo que cada consulta ya no paga la conexión TCP y la
+ * autenticación con el servidor.
+ * <p>
+ * Una conexión libre que lleva más de {@code idleTimeout} milisegundos sin usarse se cierra;
+ * si lleva más de {@code validationInterval} se comprueba con la consulta de validación antes
+ * de entregarla. Si no hay conexiones libres y ya están abiertas todas, se espera como mucho
+ * {@code maxWait} milisegundos a que se devuelva alguna.
+ * <p>
+ * La reserva es segura entre hilos y guarda el tiempo de espera y de uso de las conexiones.
+ */
+public class ConnectionPool {
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    private final String url; // URL de la base de datos.
+    private final String user; // Usuario de la base de datos.
+    private final String password; // Contraseña de la base de datos.
+    private final int size; // Máximo de conexiones abiertas.
+    private final String validationQuery; // Consulta con la que se comprueba una conexión.
+    private final long validationNanos; // Tiempo libre a partir del cual se valida una conexión.
+    private final long idleNanos; // Tiempo libre a partir del cual se cierra una conexión.
+    private final long maxWaitNanos; // Máximo tiempo de espera por una conexión.
+    private final ArrayDeque<PooledConnection> free; // Conexiones libres, la más reciente primero.
+    private int open; // Conexiones abiertas (libres y en uso).
+    private boolean closed; // Indica si la reserva se ha cerrado.
+
+    private long borrows; // Conexiones entregadas.
+    private long timeouts; // Esperas que han agotado el tiempo máximo.
+    private long created; // Conexiones físicas abiertas desde el inicio.
+    private long evicted; // Conexiones cerradas por inactividad o por fallar la validación.
+    private long waitNanos; // Tiempo total de espera por una conexión.
+    private long maxWaitSeen; // Mayor tiempo de espera por una conexión.
+    private long useNanos; // Tiempo total de uso de las conexiones.
+    private long maxUseSeen; // Mayor tiempo de uso de una conexión.
+
+    /**
+     * Constructor de la reserva.
+     *
+     * @param url                URL de la base de datos.
+     * @param user               Usuario de la base de datos.
+     * @param password           Contraseña de la base de datos.
+     * @param size               Máximo de conexiones abiertas.
+     * @param validationQuery    Consulta con la que se comprueba una conexión.
+     * @param validationInterval Milisegundos libre a partir de los cuales se valida una conexión.
+     * @param idleTimeout        Milisegundos libre a partir de los cuales se cierra una conexión.
+     * @param maxWait            Milisegundos máximos de espera por una conexión.
+     */
+    public ConnectionPool(String url, String user, String password, int size, String validationQuery,
+                          long validationInterval, long idleTimeout, long maxWait) {
+        if (size < 1) {
+            throw new IllegalArgumentException("La reserva necesita al menos una conexión");
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.size = size;
+        this.validationQuery = validationQuery;
+        this.validationNanos = validationInterval * NANOS_PER_MILLI;
+        this.idleNanos = idleTimeout * NANOS_PER_MILLI;
+        this.maxWaitNanos = maxWait * NANOS_PER_MILLI;
+        this.free = new ArrayDeque<>();
+    }
+
+    /**
+     * Crea la reserva con la configuración de las propiedades del sistema
+     * {@code db.url}, {@code db.user}, {@code db.password}, {@code db.poolSize},
+     * {@code db.validationQuery}, {@code db.validationInterval}, {@code db.idleTimeout}
+     * y {@code db.maxWait}.
+     *
+     * @return Reserva configurada.
+     */
+    public static ConnectionPool fromSystemProperties() {
+        return new ConnectionPool(
+                System.getProperty("db.url", "jdbc:mysql://localhost:3306/juegoDeRol"),
+                System.getProperty("db.user", "root"),
+                System.getProperty("db.password", "mysql"),
+                Integer.getInteger("db.poolSize", 4),
+                System.getProperty("db.validationQuery", "SELECT 1"),
+                Long.getLong("db.validationInterval", 5_000),
+                Long.getLong("db.idleTimeout", 60_000),
+                Long.getLong("db.maxWait", 5_000));
+    }
+
+    /**
+     * Entrega una conexión libre, abriendo una nueva si hace falta y hay sitio.
+     * La conexión se devuelve a la reserva al cerrarla.
+     *
+     * @return Conexión lista para usar.
+     * @throws SQLException Si no se puede abrir una conexión o se agota el tiempo de espera.
+     */
+    public PooledConnection borrow() throws SQLException {
+        long start = System.nanoTime();
+        PooledConnection connection = null;
+        boolean create = false;
+        ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+
+        while (connection == null && !create) {
+            synchronized (this) {
+                if (closed) {
+                    throw new SQLException("La reserva de conexiones está cerrada");
+                }
+                evictIdle(start, idle); // Si se retira alguna queda sitio, así que no se espera ni se agota el tiempo.
+                if (!free.isEmpty()) {
+                    connection = free.pollFirst();
+                } else if (open < size) {
+                    open++; // Se reserva el sitio antes de abrir la conexión fuera del cerrojo.
+                    create = true;
+                } else {
+                    long left = maxWaitNanos - (System.nanoTime() - start);
+                    if (left <= 0) {
+                        timeouts++;
+                        throw new SQLTimeoutException("No hay conexiones libres tras " + maxWaitNanos / NANOS_PER_MILLI + " ms");
+                    }
+                    try {
+                        wait(Math.max(1, left / NANOS_PER_MILLI));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Espera de conexión interrumpida", e);
+                    }
+                }
+            }
+
+            // El cierre, la validación y la apertura se hacen fuera del cerrojo para no bloquear a los demás hilos.
+            while (!idle.isEmpty()) {
+                idle.pollFirst().closePhysical();
+            }
+            if (connection != null && System.nanoTime() - connection.getReleasedAt() > validationNanos
+                    && !isValid(connection)) {
+                discard(connection);
+                connection = null;
+            }
+        }
+
+        if (create) {
+            try {
+                connection = new PooledConnection(this, DriverManager.getConnection(url, user, password));
+            } catch (SQLException e) {
+                synchronized (this) {
+                    open--;
+                    notifyAll();
+                }
+                throw e;
+            }
+        }
+
+        long now = System.nanoTime();
+        connection.setBorrowedAt(now);
+        synchronized (this) {
+            borrows++;
+            if (create) {
+                created++;
+            }
+            waitNanos += now - start;
+            maxWaitSeen = Math.max(maxWaitSeen, now - start);
+        }
+        return connection;
+    }
+
+    /**
+     * Devuelve una conexión a la reserva. Lo llama {@link PooledConnection#close()}.
+     *
+     * @param connection Conexión devuelta.
+     */
+    void release(PooledConnection connection) {
+        long now = System.nanoTime();
+        long used = now - connection.getBorrowedAt();
+        boolean discard;
+        synchronized (this) {
+            useNanos += used;
+            maxUseSeen = Math.max(maxUseSeen, used);
+            discard = closed || connection.isBroken();
+            if (!discard) {
+                connection.setReleasedAt(now);
+                free.addFirst(connection);
+                notifyAll();
+            }
+        }
+        if (discard) {
+            discard(connection);
+        }
+    }
+
+    /**
+     * Cierra todas las conexiones libres y rechaza las peticiones nuevas. Las conexiones
+     * en uso se cierran al devolverlas.
+     */
+    public void close() {
+        ArrayDeque<PooledConnection> toClose;
+        synchronized (this) {
+            closed = true;
+            toClose = new ArrayDeque<>(free);
+            free.clear();
+            notifyAll();
+        }
+        for (PooledConnection connection : toClose) {
+            discard(connection);
+        }
+    }
+
+    /**
+     * Retira las conexiones libres que llevan demasiado tiempo sin usarse. Se llama con el
+     * cerrojo de la reserva; quien llama las cierra después de soltarlo.
+     *
+     * @param now  Instante actual.
+     * @param idle Lista a la que se añaden las conexiones retiradas.
+     */
+    private void evictIdle(long now, ArrayDeque<PooledConnection> idle) {
+        Iterator<PooledConnection> iterator = free.descendingIterator(); // Las más antiguas están al final.
+        while (iterator.hasNext()) {
+            PooledConnection connection = iterator.next();
+            if (now - connection.getReleasedAt() <= idleNanos) {
+                break;
+            }
+            iterator.remove();
+            open--;
+            evicted++;
+            idle.add(connection);
+        }
+    }
+
+    /**
+     * Comprueba una conexión con la consulta de validación.
+     *
+     * @param connection Conexión a comprobar.
+     * @return true si la conexión responde.
+     */
+    private boolean isValid(PooledConnection connection) {
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.execute(validationQuery);
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Cierra una conexión y libera su sitio en la reserva.
+     *
+     * @param connection Conexión a cerrar.
+     */
+    private void discard(PooledConnection connection) {
+        connection.closePhysical();
+        synchronized (this) {
+            open--;
+            evicted++;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Obtiene el número de conexiones entregadas.
+     *
+     * @return Conexiones entregadas.
+     */
+    public synchronized long getBorrows() {
+        return borrows;
+    }
+
+    /**
+     * Obtiene el tiempo medio de espera por una conexión.
+     *
+     * @return Milisegundos de espera media.
+     */
+    public synchronized double getAverageWaitMillis() {
+        return borrows == 0 ? 0 : (double) waitNanos / borrows / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Obtiene el mayor tiempo de espera por una conexión.
+     *
+     * @return Milisegundos de la espera más larga.
+     */
+    public synchronized double getMaxWaitMillis() {
+        return (double) maxWaitSeen / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Obtiene el tiempo medio de uso de una conexión.
+     *
+     * @return Milisegundos de uso medio.
+     */
+    public synchronized double getAverageUseMillis() {
+        return borrows == 0 ? 0 : (double) useNanos / borrows / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Obtiene el mayor tiempo de uso de una conexión.
+     *
+     * @return Milisegundos del uso más largo.
+     */
+    public synchronized double getMaxUseMillis() {
+        return (double) maxUseSeen / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Describe la ocupación y los tiempos de la reserva.
+     *
+     * @return Texto con las métricas de la reserva.
+     */
+    @Override
+    public synchronized String toString() {
+        return String.format("Conexiones: %d/%d abiertas, %d libres, %d entregas, %d creadas, %d cerradas, %d sin esperar a tiempo, "
+                        + "espera media %.2f ms (máx. %.2f ms), uso medio %.2f ms (máx. %.2f ms)",
+                open, size, free.size(), borrows, created, evicted, timeouts,
+                getAverageWaitMillis(), getMaxWaitMillis(), getAverageUseMillis(), getMaxUseMillis());
+    }
+}
@@ -0,0 +1,87 @@
+package database;
+
+/**
+ * @author Mohamed Boutanghach
+ * Punto de acceso a la base de datos del juego: una única reserva de conexiones,
+ * configurada con las propiedades del sistema, los repositorios que la usan, el
+ * ejecutor que saca los trabajos del hilo de eventos y la cola de escritura de las rondas.
+ * Todo se crea la primera vez que se pide. Al terminar el programa se esperan los
+ * trabajos pendientes y se cierra la reserva; con {@code game.stats=true} se imprimen
+ * entonces sus métricas.
+ */
+public class Database {
+    private static ConnectionPool pool; // Reserva de conexiones compartida.
+    private static UserRepository users; // Repositorio de usuarios.
+    private static RoundRepository rounds; // Repositorio de rondas.
+    private static DatabaseExecutor executor; // Ejecutor de los trabajos con la base de datos.
+    private static RoundWriter roundWriter; // Cola de escritura diferida de las rondas.
+
+    /**
+     * Obtiene la reserva de conexiones, creándola la primera vez.
+     *
+     * @return Reserva de conexiones.
+     */
+    public static synchronized ConnectionPool pool() {
+        if (pool == null) {
+            pool = ConnectionPool.fromSystemProperties();
+            users = new UserRepository(pool);
+            rounds = new RoundRepository(pool);
+            executor = DatabaseExecutor.fromSystemProperties();
+            roundWriter = RoundWriter.fromSystemProperties(rounds);
+            ConnectionPool created = pool;
+            DatabaseExecutor pending = executor;
+            RoundWriter writer = roundWriter;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                // Termina de guardar lo pendiente antes de cerrar las conexiones: primero los
+                // usuarios, de los que dependen las rondas, y después las rondas.
+                pending.shutdown(5_000);
+                writer.close(5_000);
+                if (Boolean.getBoolean("game.stats")) {
+                    System.out.println(created);
+                }
+                created.close();
+            }));
+        }
+        return pool;
+    }
+
+    /**
+     * Obtiene el repositorio de usuarios.
+     *
+     * @return Repositorio de usuarios.
+     */
+    public static synchronized UserRepository users() {
+        pool();
+        return users;
+    }
+
+    /**
+     * Obtiene el repositorio de rondas.
+     *
+     * @return Repositorio de rondas.
+     */
+    public static synchronized RoundRepository rounds() {
+        pool();
+        return rounds;
+    }
+
+    /**
+     * Obtiene el ejecutor de los trabajos con la base de datos.
+     *
+     * @return Ejecutor de la base de datos.
+     */
+    public static synchronized DatabaseExecutor executor() {
+        pool();
+        return executor;
+    }
+
+    /**
+     * Obtiene la cola de escritura diferida de las rondas.
+     *
+     * @return Cola de rondas.
+     */
+    public static synchronized RoundWriter roundWriter() {
+        pool();
+        return roundWriter;
+    }
+}
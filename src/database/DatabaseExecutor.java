@@ -0,0 +1,95 @@
+package database;
+
+import javax.swing.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * @author Mohamed Boutanghach
+ * Ejecuta los trabajos con la base de datos en hilos propios para que una base de datos
+ * lenta no congele la interfaz. Las respuestas se entregan en el hilo de eventos de Swing,
+ * así que pueden tocar los componentes directamente.
+ * <p>
+ * Con la propiedad {@code db.simulatedLatency} se añade un retraso en milisegundos a cada
+ * trabajo, para comprobar que el juego sigue respondiendo con una base de datos lenta.
+ */
+public class DatabaseExecutor {
+    private final ExecutorService executor; // Hilos que ejecutan los trabajos.
+    private final long latency; // Retraso artificial de cada trabajo en milisegundos.
+
+    /**
+     * Constructor del ejecutor.
+     *
+     * @param threads Número de hilos.
+     * @param latency Retraso artificial de cada trabajo en milisegundos.
+     */
+    public DatabaseExecutor(int threads, long latency) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "bd-" + count.incrementAndGet());
+            thread.setDaemon(true); // No impide cerrar el juego; los pendientes se esperan al salir.
+            return thread;
+        });
+        this.latency = latency;
+    }
+
+    /**
+     * Crea el ejecutor con las propiedades del sistema {@code db.threads} y {@code db.simulatedLatency}.
+     * Por defecto usa un solo hilo, de modo que los trabajos se ejecutan en el orden en que se
+     * piden (por ejemplo, un usuario nuevo se guarda antes que su primera ronda).
+     *
+     * @return Ejecutor configurado.
+     */
+    public static DatabaseExecutor fromSystemProperties() {
+        return new DatabaseExecutor(Integer.getInteger("db.threads", 1), Long.getLong("db.simulatedLatency", 0));
+    }
+
+    /**
+     * Ejecuta un trabajo fuera del hilo de eventos.
+     *
+     * @param task      Trabajo con la base de datos.
+     * @param onSuccess Respuesta con el resultado, en el hilo de eventos (puede ser null).
+     * @param onError   Respuesta con el error, en el hilo de eventos (puede ser null).
+     * @param <T>       Tipo del resultado.
+     * @return Resultado futuro del trabajo.
+     */
+    public <T> CompletableFuture<T> submit(SqlTask<T> task, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                if (latency > 0) {
+                    Thread.sleep(latency);
+                }
+                T result = task.call();
+                future.complete(result);
+                if (onSuccess != null) {
+                    SwingUtilities.invokeLater(() -> onSuccess.accept(result));
+                }
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+                if (onError != null) {
+                    SwingUtilities.invokeLater(() -> onError.accept(e));
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Deja de aceptar trabajos y espera a que terminen los pendientes.
+     *
+     * @param timeout Milisegundos máximos de espera.
+     */
+    public void shutdown(long timeout) {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
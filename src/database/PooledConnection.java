@@ -0,0 +1,151 @@
+package database;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+
+/**
+ * @author Mohamed Boutanghach
+ * Conexión entregada por un {@link ConnectionPool}. Guarda las sentencias preparadas por
+ * su texto, de modo que una misma consulta solo se prepara una vez por conexión física.
+ * Al cerrarla vuelve a la reserva; las sentencias no se cierran, se reutilizan.
+ */
+public class PooledConnection implements AutoCloseable {
+    private final ConnectionPool pool; // Reserva a la que pertenece la conexión.
+    private final Connection connection; // Conexión física con la base de datos.
+    private final HashMap<String, PreparedStatement> statements; // Sentencias preparadas por su texto.
+    private long borrowedAt; // Instante en que se entregó la conexión.
+    private long releasedAt; // Instante en que se devolvió la conexión.
+
+    /**
+     * Constructor de la conexión.
+     *
+     * @param pool       Reserva a la que pertenece.
+     * @param connection Conexión física.
+     */
+    PooledConnection(ConnectionPool pool, Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+        this.statements = new HashMap<>();
+        this.releasedAt = System.nanoTime();
+    }
+
+    /**
+     * Obtiene la sentencia preparada de una consulta, preparándola la primera vez.
+     * Los parámetros de usos anteriores se borran.
+     *
+     * @param sql Texto de la consulta.
+     * @return Sentencia preparada lista para asignar parámetros.
+     * @throws SQLException Si la consulta no se puede preparar.
+     */
+    public PreparedStatement prepare(String sql) throws SQLException {
+        return prepare(sql, Statement.NO_GENERATED_KEYS);
+    }
+
+    /**
+     * Obtiene la sentencia preparada de una consulta indicando si devuelve las claves generadas.
+     *
+     * @param sql               Texto de la consulta.
+     * @param autoGeneratedKeys {@link Statement#RETURN_GENERATED_KEYS} o {@link Statement#NO_GENERATED_KEYS}.
+     * @return Sentencia preparada lista para asignar parámetros.
+     * @throws SQLException Si la consulta no se puede preparar.
+     */
+    public PreparedStatement prepare(String sql, int autoGeneratedKeys) throws SQLException {
+        String key = autoGeneratedKeys == Statement.RETURN_GENERATED_KEYS ? "claves:" + sql : sql; // Misma consulta, otra sentencia.
+        PreparedStatement statement = statements.get(key);
+        if (statement == null || statement.isClosed()) {
+            statement = connection.prepareStatement(sql, autoGeneratedKeys);
+            statements.put(key, statement);
+        } else {
+            statement.clearParameters();
+        }
+        return statement;
+    }
+
+    /**
+     * Obtiene la conexión física.
+     *
+     * @return Conexión con la base de datos.
+     */
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Devuelve la conexión a la reserva.
+     */
+    @Override
+    public void close() {
+        pool.release(this);
+    }
+
+    /**
+     * Indica si la conexión física ya no se puede usar.
+     *
+     * @return true si la conexión está cerrada o no se puede consultar su estado.
+     */
+    boolean isBroken() {
+        try {
+            return connection.isClosed();
+        } catch (SQLException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Cierra las sentencias preparadas y la conexión física.
+     */
+    void closePhysical() {
+        for (PreparedStatement statement : statements.values()) {
+            try {
+                statement.close();
+            } catch (SQLException ignored) {
+                // La conexión se descarta igualmente.
+            }
+        }
+        statements.clear();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // La conexión se descarta igualmente.
+        }
+    }
+
+    /**
+     * Obtiene el instante en que se entregó la conexión.
+     *
+     * @return Instante de {@link System#nanoTime()}.
+     */
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    /**
+     * Anota el instante en que se entrega la conexión.
+     *
+     * @param borrowedAt Instante de {@link System#nanoTime()}.
+     */
+    void setBorrowedAt(long borrowedAt) {
+        this.borrowedAt = borrowedAt;
+    }
+
+    /**
+     * Obtiene el instante en que la conexión se devolvió a la reserva.
+     *
+     * @return Instante de {@link System#nanoTime()}.
+     */
+    long getReleasedAt() {
+        return releasedAt;
+    }
+
+    /**
+     * Anota el instante en que la conexión se devuelve a la reserva.
+     *
+     * @param releasedAt Instante de {@link System#nanoTime()}.
+     */
+    void setReleasedAt(long releasedAt) {
+        this.releasedAt = releasedAt;
+    }
+}
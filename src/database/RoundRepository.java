@@ -0,0 +1,185 @@
+package database;
+
+import user.Round;
+import user.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Mohamed Boutanghach
+ * Acceso a la tabla de rondas.
+ */
+public class RoundRepository {
+    private static final String SELECT_PAGE = "SELECT r.seconds, r.warrior, u.id_user, u.name, r.id_round FROM Round AS r "
+            + "INNER JOIN Users AS u ON u.id_user = r.id_user ORDER BY r.seconds, r.id_round LIMIT ? OFFSET ?";
+    private static final String SHOW_INDEX = "SHOW INDEX FROM Round WHERE Key_name = 'idx_round_seconds_id'";
+    private static final String CREATE_INDEX = "CREATE INDEX idx_round_seconds_id ON Round(seconds, id_round)";
+    private static final String INSERT = "INSERT INTO Round(seconds, warrior, id_user) VALUES (?, ?, ?)";
+    private static final String INSERT_BY_NAME = "INSERT INTO Round(seconds, warrior, id_user) SELECT ?, ?, id_user FROM Users WHERE name = ?";
+
+    private final ConnectionPool pool; // Reserva de conexiones.
+
+    /**
+     * Constructor del repositorio.
+     *
+     * @param pool Reserva de conexiones.
+     */
+    public RoundRepository(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Crea el índice por tiempo e identificador de la tabla de rondas si todavía no existe,
+     * para que las páginas del ranking no tengan que ordenar toda la tabla.
+     *
+     * @throws SQLException Si falla la consulta o la creación del índice.
+     */
+    public void ensureIndex() throws SQLException {
+        try (PooledConnection con = pool.borrow()) {
+            boolean exists;
+            try (ResultSet rs = con.prepare(SHOW_INDEX).executeQuery()) {
+                exists = rs.next();
+            }
+            if (!exists) {
+                try (Statement statement = con.getConnection().createStatement()) {
+                    statement.execute(CREATE_INDEX);
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene una página del ranking: las rondas ordenadas de la más rápida a la más lenta.
+     * Las rondas con el mismo tiempo se ordenan por su identificador, para que el orden no
+     * cambie entre páginas y ninguna ronda se repita ni se salte.
+     * Cada ronda lleva su identificador y su propio usuario con el identificador y el nombre
+     * de la base de datos.
+     *
+     * @param offset Rondas que se saltan.
+     * @param limit  Máximo de rondas de la página.
+     * @return Rondas de la página.
+     * @throws SQLException Si falla la consulta.
+     */
+    public List<Round> findPage(int offset, int limit) throws SQLException {
+        ArrayList<Round> page = new ArrayList<>();
+        try (PooledConnection con = pool.borrow()) {
+            PreparedStatement ps = con.prepare(SELECT_PAGE);
+            ps.setInt(1, limit);
+            ps.setInt(2, offset);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new Round(rs.getString(2), rs.getDouble(1), new User(rs.getInt(3), rs.getString(4)), 0, rs.getInt(5)));
+                }
+            }
+        }
+        return page;
+    }
+
+    /**
+     * Guarda una ronda con una sola sentencia. Si no se conoce el identificador del usuario,
+     * la propia inserción lo busca por su nombre.
+     *
+     * @param round Ronda a guardar.
+     * @return true si se ha insertado.
+     * @throws SQLException Si falla la inserción.
+     */
+    public boolean insert(Round round) throws SQLException {
+        User user = round.getUser();
+        try (PooledConnection con = pool.borrow()) {
+            PreparedStatement ps;
+            if (user.getId() >= 0) {
+                ps = con.prepare(INSERT);
+                ps.setInt(3, user.getId());
+            } else {
+                ps = con.prepare(INSERT_BY_NAME);
+                ps.setString(3, user.getName());
+            }
+            ps.setDouble(1, round.getSeconds());
+            ps.setString(2, round.getWarrior());
+            return ps.executeUpdate() > 0;
+        }
+    }
+
+    /**
+     * Guarda varias rondas en lotes y en una sola transacción: un lote para las rondas con
+     * el identificador del usuario y otro para las que lo buscan por su nombre. Las que
+     * buscan el usuario por su nombre no insertan nada si el usuario no existe.
+     *
+     * @param rounds Rondas a guardar.
+     * @return Rondas que no se han insertado.
+     * @throws SQLException Si falla la inserción; en ese caso no se guarda ninguna.
+     */
+    public List<Round> insertAll(List<Round> rounds) throws SQLException {
+        try (PooledConnection con = pool.borrow()) {
+            Connection connection = con.getConnection();
+            PreparedStatement byId = con.prepare(INSERT);
+            PreparedStatement byName = con.prepare(INSERT_BY_NAME);
+            ArrayList<Round> ids = new ArrayList<>();
+            ArrayList<Round> names = new ArrayList<>();
+            for (Round round : rounds) {
+                User user = round.getUser();
+                PreparedStatement ps = user.getId() >= 0 ? byId : byName;
+                ps.setDouble(1, round.getSeconds());
+                ps.setString(2, round.getWarrior());
+                if (user.getId() >= 0) {
+                    ps.setInt(3, user.getId());
+                    ids.add(round);
+                } else {
+                    ps.setString(3, user.getName());
+                    names.add(round);
+                }
+                ps.addBatch();
+            }
+
+            connection.setAutoCommit(false);
+            try {
+                ArrayList<Round> missing = new ArrayList<>();
+                if (!ids.isEmpty()) {
+                    missing(ids, byId.executeBatch(), missing);
+                }
+                if (!names.isEmpty()) {
+                    missing(names, byName.executeBatch(), missing);
+                }
+                connection.commit();
+                return missing;
+            } catch (SQLException e) {
+                try {
+                    byId.clearBatch();
+                    byName.clearBatch();
+                    connection.rollback();
+                } catch (SQLException rollback) {
+                    e.addSuppressed(rollback); // La conexión puede haberse perdido.
+                }
+                throw e;
+            } finally {
+                try {
+                    connection.setAutoCommit(true);
+                } catch (SQLException ignored) {
+                    // Si la conexión se ha perdido, la reserva la descarta al devolverla.
+                }
+            }
+        }
+    }
+
+    /**
+     * Añade a una lista las rondas de un lote cuya sentencia no ha insertado ninguna fila.
+     * Las sentencias sin recuento se dan por insertadas.
+     *
+     * @param batch   Rondas del lote, en el orden en que se añadieron.
+     * @param results Resultado de cada sentencia del lote.
+     * @param missing Lista de las rondas no insertadas.
+     */
+    private void missing(List<Round> batch, int[] results, List<Round> missing) {
+        for (int i = 0; i < batch.size(); i++) {
+            if (i >= results.length || (results[i] != Statement.SUCCESS_NO_INFO && results[i] <= 0)) {
+                missing.add(batch.get(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package database;
+
+import user.Round;
+import user.User;
+
+import java.io.*;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author Mohamed Boutanghach
+ * Cola de escritura diferida de las rondas terminadas. Las rondas se guardan en lotes
+ * cuando hay {@code batchSize} pendientes o cada {@code flushInterval} milisegundos, en un
+ * único hilo propio.
+ * <p>
+ * La cola es duradera: cada ronda se añade a un fichero local y se fuerza al disco antes
+ * de volver de {@link #enqueue}, y el fichero se reescribe sin las rondas de cada lote que
+ * se guarda. Así el fichero contiene siempre las rondas que aún no están en la base de
+ * datos; al crear la cola se leen y se vuelven a enviar con {@link #replay()}, aunque el
+ * juego se cerrara de golpe. Cada línea del fichero es una ronda: segundos, guerrero,
+ * identificador y nombre del usuario (codificado) e intentos fallidos, separados por tabuladores.
+ * <p>
+ * Si la base de datos no responde, las rondas se quedan en la cola y se reintentan en el
+ * siguiente guardado. Si responde pero rechaza un lote, las rondas se prueban una a una.
+ * Una ronda solo sale del fichero cuando la base de datos confirma que ha insertado su
+ * fila; la que falla o no inserta nada (porque su usuario no está en la base de datos)
+ * {@link #MAX_ATTEMPTS} veces se pasa al fichero de descartadas para que no bloquee a las demás.
+ */
+public class RoundWriter {
+    /** Intentos fallidos tras los que una ronda se pasa al fichero de descartadas. */
+    public static final int MAX_ATTEMPTS = 3;
+
+    private static final String SEPARATOR = "\t";
+
+    private final RoundRepository rounds; // Repositorio en el que se guardan las rondas.
+    private final File spill; // Fichero de rondas que todavía no están en la base de datos.
+    private final File deadLetter; // Fichero de rondas que la base de datos rechaza.
+    private final int batchSize; // Rondas pendientes que provocan un guardado inmediato.
+    private final ScheduledExecutorService scheduler; // Hilo que guarda las rondas.
+    private final ArrayList<Entry> pending; // Rondas pendientes de guardar, en el mismo orden que el fichero.
+    private final int recovered; // Rondas leídas del fichero al crear la cola.
+
+    /**
+     * Constructor de la cola. Lee las rondas que quedaron pendientes en el fichero local.
+     *
+     * @param rounds        Repositorio en el que se guardan las rondas.
+     * @param spill         Fichero de rondas que todavía no están en la base de datos.
+     * @param deadLetter    Fichero de rondas que la base de datos rechaza.
+     * @param batchSize     Rondas pendientes que provocan un guardado inmediato.
+     * @param flushInterval Milisegundos entre guardados periódicos.
+     */
+    public RoundWriter(RoundRepository rounds, File spill, File deadLetter, int batchSize, long flushInterval) {
+        this.rounds = rounds;
+        this.spill = spill;
+        this.deadLetter = deadLetter;
+        this.batchSize = Math.max(1, batchSize);
+        this.pending = read();
+        this.recovered = pending.size();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bd-rondas");
+            thread.setDaemon(true); // Lo pendiente se guarda al cerrar con close().
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Crea la cola con las propiedades del sistema {@code db.spillFile}, {@code db.deadLetterFile},
+     * {@code db.batchSize} y {@code db.flushInterval}.
+     *
+     * @param rounds Repositorio en el que se guardan las rondas.
+     * @return Cola configurada.
+     */
+    public static RoundWriter fromSystemProperties(RoundRepository rounds) {
+        return new RoundWriter(rounds, new File(System.getProperty("db.spillFile", "rondas-pendientes.txt")),
+                new File(System.getProperty("db.deadLetterFile", "rondas-descartadas.txt")),
+                Integer.getInteger("db.batchSize", 20), Long.getLong("db.flushInterval", 2_000));
+    }
+
+    /**
+     * Añade una ronda terminada a la cola. Solo espera a que la ronda quede escrita en el
+     * fichero local, no a la base de datos.
+     *
+     * @param round Ronda a guardar.
+     */
+    public void enqueue(Round round) {
+        Entry entry = new Entry(round, 0);
+        boolean full;
+        synchronized (pending) {
+            append(spill, List.of(entry));
+            pending.add(entry);
+            full = pending.size() == batchSize;
+        }
+        if (full) {
+            scheduler.execute(this::flush);
+        }
+    }
+
+    /**
+     * Guarda las rondas pendientes en lotes de {@code batchSize}. Cada ronda se intenta una
+     * vez por guardado; si la base de datos no responde, el resto espera al siguiente.
+     * Se ejecuta en el hilo de la cola.
+     */
+    private void flush() {
+        ArrayList<Entry> snapshot;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            snapshot = new ArrayList<>(pending);
+        }
+        for (int from = 0; from < snapshot.size(); from += batchSize) {
+            if (!save(snapshot.subList(from, Math.min(from + batchSize, snapshot.size())))) {
+                System.out.println("Base de datos no disponible: " + (snapshot.size() - from)
+                        + " rondas pendientes en " + spill.getName());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Guarda un lote en una sola transacción. Si la base de datos lo rechaza, guarda las
+     * rondas una a una. Las rondas que no se guardan, porque fallan o porque no insertan
+     * ninguna fila (su usuario no está en la base de datos), cuentan un intento fallido.
+     *
+     * @param batch Rondas del lote.
+     * @return false si la base de datos no responde.
+     */
+    private boolean save(List<Entry> batch) {
+        ArrayList<Round> list = new ArrayList<>(batch.size());
+        for (Entry entry : batch) {
+            list.add(entry.round);
+        }
+        try {
+            List<Round> missing = rounds.insertAll(list);
+            System.out.println("Actualizacion realizada: " + (list.size() - missing.size()) + " rondas");
+            ArrayList<Entry> saved = new ArrayList<>();
+            ArrayList<Entry> rejected = new ArrayList<>();
+            for (Entry entry : batch) {
+                if (missing.contains(entry.round)) {
+                    fail(entry, "su usuario no existe", rejected);
+                } else {
+                    saved.add(entry);
+                }
+            }
+            remove(saved, rejected);
+            return true;
+        } catch (SQLException e) {
+            if (isUnreachable(e)) {
+                return false;
+            }
+        }
+
+        // Alguna ronda del lote no se puede guardar: se prueban una a una
+        ArrayList<Entry> saved = new ArrayList<>();
+        ArrayList<Entry> rejected = new ArrayList<>();
+        boolean reachable = true;
+        for (Entry entry : batch) {
+            try {
+                if (rounds.insert(entry.round)) {
+                    saved.add(entry);
+                } else {
+                    fail(entry, "su usuario no existe", rejected);
+                }
+            } catch (SQLException e) {
+                if (isUnreachable(e)) {
+                    reachable = false;
+                    break;
+                }
+                fail(entry, e.getMessage(), rejected);
+            }
+        }
+        remove(saved, rejected);
+        return reachable;
+    }
+
+    /**
+     * Cuenta un intento fallido de una ronda; si llega a {@link #MAX_ATTEMPTS}, la añade a
+     * las que se pasan al fichero de descartadas.
+     *
+     * @param entry    Ronda que no se ha guardado.
+     * @param reason   Motivo del fallo.
+     * @param rejected Rondas que se pasan al fichero de descartadas.
+     */
+    private void fail(Entry entry, String reason, List<Entry> rejected) {
+        entry.attempts++;
+        if (entry.attempts >= MAX_ATTEMPTS) {
+            rejected.add(entry);
+            System.out.println("Ronda descartada en " + deadLetter.getName() + ": " + reason);
+        }
+    }
+
+    /**
+     * Quita de la cola las rondas guardadas y las descartadas, pasa estas al fichero de
+     * descartadas y reescribe el fichero local con lo que queda pendiente.
+     *
+     * @param saved    Rondas guardadas en la base de datos.
+     * @param rejected Rondas que la base de datos rechaza.
+     */
+    private void remove(List<Entry> saved, List<Entry> rejected) {
+        synchronized (pending) {
+            if (!rejected.isEmpty()) {
+                append(deadLetter, rejected);
+            }
+            pending.removeAll(saved);
+            pending.removeAll(rejected);
+            rewrite();
+        }
+    }
+
+    /**
+     * Envía a la base de datos las rondas que quedaron pendientes en el fichero local de la
+     * sesión anterior. No espera a que se guarden: se envían en el hilo de la cola.
+     *
+     * @return Número de rondas recuperadas del fichero.
+     */
+    public int replay() {
+        if (recovered > 0) {
+            System.out.println("Recuperando " + recovered + " rondas de " + spill.getName());
+            scheduler.execute(this::flush);
+        }
+        return recovered;
+    }
+
+    /**
+     * Guarda lo pendiente y detiene el hilo de la cola. Lo que no se pueda guardar sigue en
+     * el fichero local para la siguiente sesión.
+     *
+     * @param timeout Milisegundos máximos de espera.
+     */
+    public void close(long timeout) {
+        scheduler.execute(this::flush);
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Indica si un error se debe a que la base de datos no responde, y no a las rondas.
+     *
+     * @param e Error de la base de datos.
+     * @return true si es un error de conexión o de tiempo de espera.
+     */
+    private static boolean isUnreachable(SQLException e) {
+        String state = e.getSQLState();
+        return e instanceof SQLTransientException || e instanceof SQLNonTransientConnectionException
+                || (state != null && state.startsWith("08"));
+    }
+
+    /**
+     * Añade rondas al final de un fichero y lo fuerza al disco. Se llama con el cerrojo de la cola.
+     *
+     * @param file    Fichero de destino.
+     * @param entries Rondas a añadir.
+     */
+    private void append(File file, List<Entry> entries) {
+        try (FileOutputStream out = new FileOutputStream(file, true)) {
+            write(out, entries);
+        } catch (IOException e) {
+            System.out.println("No se han podido guardar " + entries.size() + " rondas en " + file.getName());
+        }
+    }
+
+    /**
+     * Reescribe el fichero local con las rondas pendientes. Se escribe en un fichero
+     * temporal que después sustituye al original, para no dejarlo a medias.
+     * Se llama con el cerrojo de la cola.
+     */
+    private void rewrite() {
+        try {
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(spill.toPath());
+                return;
+            }
+            File temp = new File(spill.getPath() + ".tmp");
+            try (FileOutputStream out = new FileOutputStream(temp)) {
+                write(out, pending);
+            }
+            Files.move(temp.toPath(), spill.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.out.println("No se ha podido actualizar " + spill.getName());
+        }
+    }
+
+    /**
+     * Escribe una línea por ronda y fuerza el fichero al disco.
+     *
+     * @param out     Fichero abierto.
+     * @param entries Rondas a escribir.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void write(FileOutputStream out, List<Entry> entries) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (Entry entry : entries) {
+            Round round = entry.round;
+            writer.write(String.format(Locale.ROOT, "%s%s%s%s%d%s%s%s%d%n",
+                    round.getSeconds(), SEPARATOR,
+                    URLEncoder.encode(round.getWarrior(), StandardCharsets.UTF_8), SEPARATOR,
+                    round.getUser().getId(), SEPARATOR,
+                    URLEncoder.encode(round.getUser().getName(), StandardCharsets.UTF_8), SEPARATOR,
+                    entry.attempts));
+        }
+        writer.flush();
+        out.getFD().sync();
+    }
+
+    /**
+     * Lee las rondas del fichero local. Las líneas incompletas se descartan; las de versiones
+     * anteriores, sin intentos, empiezan con ninguno.
+     *
+     * @return Rondas leídas.
+     */
+    private ArrayList<Entry> read() {
+        ArrayList<Entry> saved = new ArrayList<>();
+        if (!spill.exists()) {
+            return saved;
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(spill), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR);
+                if (fields.length != 4 && fields.length != 5) {
+                    continue; // Línea cortada por un cierre inesperado.
+                }
+                try {
+                    User user = new User(Integer.parseInt(fields[2]), URLDecoder.decode(fields[3], StandardCharsets.UTF_8));
+                    Round round = new Round(URLDecoder.decode(fields[1], StandardCharsets.UTF_8), Double.parseDouble(fields[0]), user);
+                    saved.add(new Entry(round, fields.length == 5 ? Integer.parseInt(fields[4]) : 0));
+                } catch (IllegalArgumentException e) {
+                    System.out.println("Ronda descartada en " + spill.getName() + ": " + line);
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("No se ha podido leer " + spill.getName());
+        }
+        return saved;
+    }
+
+    /**
+     * Ronda de la cola con sus intentos fallidos.
+     */
+    private static final class Entry {
+        private final Round round; // Ronda a guardar.
+        private int attempts; // Veces que la base de datos la ha rechazado.
+
+        /**
+         * Constructor de una ronda de la cola.
+         *
+         * @param round    Ronda a guardar.
+         * @param attempts Intentos fallidos previos.
+         */
+        private Entry(Round round, int attempts) {
+            this.round = round;
+            this.attempts = attempts;
+        }
+    }
+}
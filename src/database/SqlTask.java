@@ -0,0 +1,20 @@
+package database;
+
+import java.sql.SQLException;
+
+/**
+ * @author Mohamed Boutanghach
+ * Trabajo con la base de datos que se ejecuta fuera del hilo de eventos.
+ *
+ * @param <T> Tipo del resultado.
+ */
+@FunctionalInterface
+public interface SqlTask<T> {
+    /**
+     * Ejecuta el trabajo.
+     *
+     * @return Resultado del trabajo.
+     * @throws SQLException Si falla el acceso a la base de datos.
+     */
+    T call() throws SQLException;
+}
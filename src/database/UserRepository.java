@@ -0,0 +1,71 @@
+package database;
+
+import user.User;
+import user.UserRegistry;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * @author Mohamed Boutanghach
+ * Acceso a la tabla de usuarios.
+ */
+public class UserRepository {
+    private static final String SELECT_ALL = "SELECT id_user, name FROM Users";
+    private static final String INSERT = "INSERT INTO Users(name) VALUES (?)";
+
+    private final ConnectionPool pool; // Reserva de conexiones.
+
+    /**
+     * Constructor del repositorio.
+     *
+     * @param pool Reserva de conexiones.
+     */
+    public UserRepository(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Obtiene todos los usuarios, con su identificador, en el orden en que están guardados.
+     *
+     * @param users Registro en el que se añaden los usuarios.
+     * @return Registro con los usuarios.
+     * @throws SQLException Si falla la consulta.
+     */
+    public UserRegistry findAll(UserRegistry users) throws SQLException {
+        try (PooledConnection con = pool.borrow()) {
+            PreparedStatement ps = con.prepare(SELECT_ALL);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    users.add(new User(rs.getInt(1), rs.getString(2)));
+                }
+            }
+        }
+        return users;
+    }
+
+    /**
+     * Guarda un usuario nuevo y le asigna el identificador generado por la base de datos.
+     *
+     * @param user Usuario a guardar.
+     * @return true si se ha insertado.
+     * @throws SQLException Si falla la inserción.
+     */
+    public boolean insert(User user) throws SQLException {
+        try (PooledConnection con = pool.borrow()) {
+            PreparedStatement ps = con.prepare(INSERT, Statement.RETURN_GENERATED_KEYS);
+            ps.setString(1, user.getName());
+            if (ps.executeUpdate() == 0) {
+                return false;
+            }
+            try (ResultSet keys = ps.getGeneratedKeys()) {
+                if (keys.next()) {
+                    user.setId(keys.getInt(1));
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package game;
+
+import model.Body;
+import model.Item;
+import model.Match;
+import tools.FlowField;
+import tools.SkeletonHash;
+import tools.TileGrid;
+import warriors.Skeleton;
+import warriors.Warrior;
+
+/**
+ * @author Mohamed Boutanghach
+ * Jugador automático sencillo para las partidas sin ventana. En cada paso lanza la
+ * habilidad definitiva si tiene el mana lleno, ataca al esqueleto más cercano si está
+ * a su alcance y, si no, camina hacia el objeto más cercano (o hacia el esqueleto más
+ * cercano si no hay objetos) siguiendo su propio campo de flujo.
+ */
+public class Bot {
+    private static final int REACH = 96; // Distancia a la que el bot ataca a un esqueleto.
+
+    private final FlowField field; // Campo de flujo hacia el objetivo del bot.
+    private char last; // Última dirección en la que se ha movido el bot.
+
+    /**
+     * Constructor del bot para una partida.
+     *
+     * @param match Partida en la que juega el bot.
+     */
+    public Bot(Match match) {
+        Body body = match.getWarrior().getBody();
+        this.field = new FlowField(match.getMap().getWalls(), match.getMap().getFloor(), body.getWidth(), body.getHeight());
+        this.last = 's';
+    }
+
+    /**
+     * Decide y ejecuta la acción del bot para el paso actual.
+     *
+     * @param match Partida en la que juega el bot.
+     */
+    public void act(Match match) {
+        Warrior warrior = match.getWarrior();
+        Body body = warrior.getBody();
+
+        if (warrior.getMana() == Warrior.MAX_MANA) {
+            match.ulti();
+            return;
+        }
+
+        Skeleton enemy = nearestSkeleton(match.getSkeletons(), body);
+        if (enemy != null && distance(body, enemy.getBody()) <= REACH) {
+            match.release(directionTo(body, enemy.getBody().getX(), enemy.getBody().getY()));
+            match.attack();
+            return;
+        }
+
+        Body target = nearestItem(match, body);
+        if (target == null && enemy != null) {
+            target = enemy.getBody();
+        }
+        if (target == null) {
+            match.release(last);
+            return;
+        }
+
+        char direction = field.getDirection(body.getX(), body.getY(), target.getX(), target.getY());
+        if (direction == FlowField.NONE) {
+            direction = directionTo(body, target.getX(), target.getY());
+        }
+        int x = body.getX(), y = body.getY();
+        match.move(direction);
+        if (x == body.getX() && y == body.getY()) {
+            // Si un muro le frena, prueba a alinearse con la celda del campo
+            match.move(alignment(body, direction));
+        }
+        last = direction;
+    }
+
+    /**
+     * Busca el esqueleto más cercano al guerrero.
+     *
+     * @param skeletons Esqueletos en juego.
+     * @param body      Cuerpo del guerrero.
+     * @return Esqueleto más cercano, o null si no hay ninguno.
+     */
+    private Skeleton nearestSkeleton(SkeletonHash skeletons, Body body) {
+        Skeleton nearest = null;
+        int best = Integer.MAX_VALUE;
+        for (int i = 0; i < skeletons.size(); i++) {
+            int d = distance(body, skeletons.get(i).getBody());
+            if (d < best) {
+                best = d;
+                nearest = skeletons.get(i);
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Busca el objeto más cercano al guerrero.
+     *
+     * @param match Partida.
+     * @param body  Cuerpo del guerrero.
+     * @return Cuerpo del objeto más cercano, o null si no hay ninguno.
+     */
+    private Body nearestItem(Match match, Body body) {
+        Body nearest = null;
+        int best = Integer.MAX_VALUE;
+        for (Item item : match.getItems()) {
+            int d = distance(body, item.getBody());
+            if (d < best) {
+                best = d;
+                nearest = item.getBody();
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Calcula la distancia Manhattan entre dos cuerpos.
+     *
+     * @param a Primer cuerpo.
+     * @param b Segundo cuerpo.
+     * @return Distancia en píxeles.
+     */
+    private int distance(Body a, Body b) {
+        return Math.abs(a.getX() - b.getX()) + Math.abs(a.getY() - b.getY());
+    }
+
+    /**
+     * Obtiene la dirección del eje con mayor diferencia hacia un punto.
+     *
+     * @param body Cuerpo del guerrero.
+     * @param x    Coordenada X del punto.
+     * @param y    Coordenada Y del punto.
+     * @return 'w', 'a', 's' o 'd'.
+     */
+    private char directionTo(Body body, int x, int y) {
+        int dx = x - body.getX();
+        int dy = y - body.getY();
+        if (Math.abs(dx) >= Math.abs(dy)) {
+            return dx < 0 ? 'a' : 'd';
+        }
+        return dy < 0 ? 'w' : 's';
+    }
+
+    /**
+     * Obtiene la dirección perpendicular que alinea el cuerpo con su celda.
+     *
+     * @param body      Cuerpo del guerrero.
+     * @param direction Dirección bloqueada.
+     * @return Dirección hacia la esquina de la celda en el otro eje.
+     */
+    private char alignment(Body body, char direction) {
+        if (direction == 'a' || direction == 'd') {
+            return body.getY() % TileGrid.TILE < TileGrid.TILE / 2 ? 'w' : 's';
+        }
+        return body.getX() % TileGrid.TILE < TileGrid.TILE / 2 ? 'a' : 'd';
+    }
+}
@@ -0,0 +1,128 @@
+package game;
+
+/**
+ * @author Mohamed Boutanghach
+ * Reloj de partida del {@link GameLoop}. No cuenta eventos ni pasos: guarda el instante de
+ * inicio y el instante del paso que se está simulando, y el tiempo de partida es su
+ * diferencia menos el tiempo en pausa. Así no acumula error aunque el hilo de eventos
+ * entregue menos fotogramas de los previstos.
+ * <p>
+ * El reloj tiene dos modos que no se mezclan: en tiempo simulado los instantes son los
+ * nanosegundos de los pasos simulados, desde 0, y los da {@link GameLoop#step()}; en
+ * tiempo real son los de {@link System#nanoTime()}, que pueden ser negativos, y los da el
+ * temporizador del bucle. El reloj nunca retrocede.
+ */
+public class GameClock {
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    private long origin; // Instante de inicio.
+    private long now; // Instante de la última lectura.
+    private long pausedNanos; // Tiempo total en pausa.
+    private long pausedAt; // Instante en que empezó la pausa actual.
+    private boolean paused; // Indica si el reloj está en pausa.
+    private boolean realTime; // Indica si los instantes son de System.nanoTime() en lugar de simulados.
+
+    /**
+     * Pone el reloj a cero en tiempo simulado: el instante de inicio es 0.
+     */
+    public void startSimulated() {
+        start(0, false);
+    }
+
+    /**
+     * Pone el reloj a cero en tiempo real.
+     *
+     * @param time Instante de inicio según {@link System#nanoTime()}.
+     */
+    public void startRealTime(long time) {
+        start(time, true);
+    }
+
+    /**
+     * Pone el reloj a cero en un instante.
+     *
+     * @param time     Instante de inicio.
+     * @param realTime Indica si los instantes son de {@link System#nanoTime()}.
+     */
+    private void start(long time, boolean realTime) {
+        this.realTime = realTime;
+        origin = time;
+        now = time;
+        pausedNanos = 0;
+        paused = false;
+    }
+
+    /**
+     * Indica si el reloj sigue el tiempo real o el simulado.
+     *
+     * @return true si los instantes son de {@link System#nanoTime()}.
+     */
+    public boolean isRealTime() {
+        return realTime;
+    }
+
+    /**
+     * Avanza el reloj hasta un instante del modo en que está. Los instantes anteriores al
+     * actual se ignoran. Mientras está en pausa el reloj no avanza.
+     *
+     * @param time Instante que se está simulando.
+     */
+    public void advanceTo(long time) {
+        if (!paused && time > now) {
+            now = time;
+        }
+    }
+
+    /**
+     * Detiene el reloj en un instante.
+     *
+     * @param time Instante de la pausa.
+     */
+    public void pause(long time) {
+        if (!paused) {
+            advanceTo(time);
+            paused = true;
+            pausedAt = time;
+        }
+    }
+
+    /**
+     * Reanuda el reloj. El tiempo en pausa no cuenta como tiempo de partida.
+     *
+     * @param time Instante en que se reanuda.
+     */
+    public void resume(long time) {
+        if (paused) {
+            paused = false;
+            pausedNanos += time - pausedAt;
+            now = Math.max(now, time);
+        }
+    }
+
+    /**
+     * Indica si el reloj está en pausa.
+     *
+     * @return true si está en pausa.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /**
+     * Obtiene el tiempo de partida en nanosegundos.
+     *
+     * @return Nanosegundos desde el inicio sin contar las pausas.
+     */
+    public long getElapsedNanos() {
+        return now - origin - pausedNanos;
+    }
+
+    /**
+     * Obtiene el tiempo de partida en segundos.
+     *
+     * @return Segundos desde el inicio sin contar las pausas.
+     */
+    public double getSeconds() {
+        return getElapsedNanos() / NANOS_PER_SECOND;
+    }
+}
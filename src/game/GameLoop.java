@@ -0,0 +1,385 @@
+package game;
+
+import tools.DirtyRegions;
+import tools.IconCache;
+import tools.Pools;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.ArrayList;
+
+/**
+ * @author Mohamed Boutanghach
+ * Bucle de juego central de paso fijo. Todos los elementos registrados se actualizan
+ * en una única pasada por paso de simulación y, después de los pasos pendientes, se
+ * ejecuta una sola vez el paso de renderizado.
+ * <p>
+ * El bucle se impulsa con un único temporizador de Swing a la frecuencia de fotogramas,
+ * de modo que toda la lógica sigue ejecutándose en el hilo de eventos (EDT). El tiempo
+ * real transcurrido se acumula con {@link System#nanoTime()} y se consume en pasos de
+ * duración fija, por lo que la velocidad de la simulación no depende de cuántos eventos
+ * consiga entregar el EDT.
+ * <p>
+ * El bucle es el dueño del reloj de partida ({@link GameClock}): antes de cada paso lo
+ * avanza hasta el instante real que representa ese paso, de modo que el tiempo de partida
+ * es exacto con cualquier frecuencia de fotogramas. Mientras el bucle está en pausa el
+ * reloj no cuenta. Si se simula llamando a {@link #step()} directamente, el reloj sigue
+ * el tiempo simulado.
+ * <p>
+ * Las frecuencias se pueden configurar con las propiedades del sistema
+ * {@code game.tickRate} y {@code game.frameRate}; con {@code game.stats=true} se
+ * imprimen cada segundo las frecuencias medidas, el tiempo de renderizado por fotograma, los aciertos y fallos de la caché de iconos,
+ * la ocupación de las reservas de objetos, la zona de la pantalla repintada por fotograma y la latencia
+ * de las teclas hasta el paso que las aplica.
+ */
+public class GameLoop {
+    /** Pasos de simulación por segundo por defecto (equivale a los antiguos temporizadores de 10 ms). */
+    public static final int TICK_RATE = Integer.getInteger("game.tickRate", 100);
+
+    /** Fotogramas por segundo por defecto. */
+    public static final int FRAME_RATE = Integer.getInteger("game.frameRate", 60);
+
+    /** Máximo de pasos que se recuperan en un fotograma para evitar la espiral de retraso. */
+    private static final int MAX_TICKS_PER_FRAME = 10;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final ArrayList<Tickable> tickables; // Elementos que se actualizan en cada paso.
+    private final ArrayList<Tickable> pendingAdd; // Elementos registrados durante un paso.
+    private final ArrayList<Tickable> pendingRemove; // Elementos eliminados durante un paso.
+    private final Runnable render; // Paso de renderizado que se ejecuta una vez por fotograma.
+    private final Timer timer; // Único temporizador de Swing que impulsa el bucle.
+    private final GameClock clock; // Reloj de partida.
+    private final int tickRate; // Pasos de simulación por segundo.
+    private final long tickNanos; // Duración de un paso en nanosegundos.
+    private final boolean printStats; // Indica si se imprimen las frecuencias medidas.
+    private boolean running; // Indica si el bucle está en marcha.
+    private boolean ticking; // Indica si se está ejecutando un paso.
+    private boolean paused; // Indica si el bucle está en pausa.
+    private Window pauseWindow; // Ventana cuya minimización pone el bucle en pausa.
+    private WindowAdapter pauseListener; // Escucha la minimización de la ventana.
+    private long lastTime; // Instante del último fotograma.
+    private long accumulator; // Tiempo acumulado pendiente de simular.
+    private long tickCount; // Pasos ejecutados desde el inicio.
+    private long frameCount; // Fotogramas renderizados desde el inicio.
+    private long windowStart; // Inicio de la ventana de medición actual.
+    private long windowTicks; // Pasos ejecutados en la ventana actual.
+    private long windowFrames; // Fotogramas renderizados en la ventana actual.
+    private double measuredTickRate; // Pasos por segundo medidos en la última ventana.
+    private double measuredFrameRate; // Fotogramas por segundo medidos en la última ventana.
+    private long windowRenderNanos; // Tiempo de renderizado en la ventana actual.
+    private long windowMaxRenderNanos; // Mayor tiempo de renderizado de un fotograma en la ventana actual.
+    private double measuredRenderMillis; // Tiempo medio de renderizado por fotograma en la última ventana.
+
+    /**
+     * Constructor del bucle de juego.
+     *
+     * @param tickRate  Pasos de simulación por segundo.
+     * @param frameRate Fotogramas por segundo deseados.
+     * @param render    Paso de renderizado que se ejecuta tras los pasos de cada fotograma (puede ser null).
+     */
+    public GameLoop(int tickRate, int frameRate, Runnable render) {
+        this.tickables = new ArrayList<>();
+        this.pendingAdd = new ArrayList<>();
+        this.pendingRemove = new ArrayList<>();
+        this.render = render;
+        this.tickRate = tickRate;
+        this.tickNanos = NANOS_PER_SECOND / tickRate;
+        this.printStats = Boolean.getBoolean("game.stats");
+        this.timer = new Timer(Math.max(1, 1000 / frameRate), this::frame);
+        this.timer.setCoalesce(true); // Si el EDT va con retraso, se agrupan los eventos pendientes.
+        this.clock = new GameClock();
+        this.clock.startSimulated(); // Tiempo simulado hasta que el bucle se ponga en marcha.
+    }
+
+    /**
+     * Registra un elemento para que se actualice en cada paso.
+     * Si se llama durante un paso, el elemento empieza a actualizarse en el paso siguiente.
+     *
+     * @param tickable Elemento a registrar.
+     */
+    public void register(Tickable tickable) {
+        if (ticking) {
+            pendingAdd.add(tickable);
+        } else {
+            tickables.add(tickable);
+        }
+    }
+
+    /**
+     * Deja de actualizar un elemento.
+     *
+     * @param tickable Elemento a eliminar.
+     */
+    public void unregister(Tickable tickable) {
+        if (ticking) {
+            pendingRemove.add(tickable);
+        } else {
+            tickables.remove(tickable);
+            pendingAdd.remove(tickable);
+        }
+    }
+
+    /**
+     * Pone en marcha el bucle.
+     */
+    public void start() {
+        running = true;
+        paused = false;
+        lastTime = System.nanoTime();
+        windowStart = lastTime;
+        accumulator = 0;
+        clock.startRealTime(lastTime); // A partir de aquí el reloj sigue el tiempo real.
+        timer.start();
+    }
+
+    /**
+     * Detiene el bucle. Si se llama durante un paso, el paso actual termina
+     * pero no se ejecutan más pasos ni fotogramas.
+     */
+    public void stop() {
+        running = false;
+        timer.stop();
+        if (pauseWindow != null) {
+            pauseWindow.removeWindowListener(pauseListener);
+            pauseWindow = null;
+        }
+    }
+
+    /**
+     * Pone el bucle en pausa: no se ejecutan pasos ni fotogramas y el reloj de partida se detiene.
+     */
+    public void pause() {
+        if (running && !paused) {
+            paused = true;
+            timer.stop();
+            clock.pause(System.nanoTime());
+        }
+    }
+
+    /**
+     * Reanuda el bucle tras una pausa sin recuperar los pasos del tiempo en pausa.
+     */
+    public void resume() {
+        if (running && paused) {
+            paused = false;
+            lastTime = System.nanoTime();
+            accumulator = 0;
+            clock.resume(lastTime);
+            timer.start();
+        }
+    }
+
+    /**
+     * Pone el bucle en pausa mientras una ventana esté minimizada, hasta que se detenga.
+     *
+     * @param window Ventana del juego.
+     */
+    public void pauseWhileIconified(Window window) {
+        pauseWindow = window;
+        pauseListener = new WindowAdapter() {
+            @Override
+            public void windowIconified(WindowEvent e) {
+                pause();
+            }
+
+            @Override
+            public void windowDeiconified(WindowEvent e) {
+                resume();
+            }
+        };
+        window.addWindowListener(pauseListener);
+    }
+
+    /**
+     * Ejecuta un único paso de simulación sobre todos los elementos registrados.
+     * El temporizador lo llama tantas veces como haga falta; también se puede llamar
+     * directamente para simular sin depender del tiempo real.
+     */
+    public void step() {
+        if (!clock.isRealTime()) {
+            clock.advanceTo((tickCount + 1) * tickNanos); // En tiempo real lo avanza frame().
+        }
+        ticking = true;
+        for (int i = 0; i < tickables.size(); i++) {
+            Tickable tickable = tickables.get(i);
+            if (!pendingRemove.contains(tickable)) {
+                tickable.tick(this);
+            }
+        }
+        ticking = false;
+
+        // Aplica los cambios de registro realizados durante el paso.
+        tickables.removeAll(pendingRemove);
+        pendingAdd.removeAll(pendingRemove);
+        tickables.addAll(pendingAdd);
+        pendingRemove.clear();
+        pendingAdd.clear();
+        tickCount++;
+        windowTicks++;
+    }
+
+    /**
+     * Fotograma impulsado por el temporizador: consume el tiempo acumulado en pasos
+     * fijos y después renderiza una vez.
+     *
+     * @param e Evento del temporizador.
+     */
+    private void frame(ActionEvent e) {
+        long now = System.nanoTime();
+        accumulator += now - lastTime;
+        lastTime = now;
+
+        int steps = 0;
+        while (running && accumulator >= tickNanos && steps < MAX_TICKS_PER_FRAME) {
+            clock.advanceTo(now - accumulator + tickNanos); // Instante real en que termina este paso.
+            step();
+            accumulator -= tickNanos;
+            steps++;
+        }
+        if (steps == MAX_TICKS_PER_FRAME) {
+            accumulator = 0; // Se descarta el retraso que no se puede recuperar.
+        }
+
+        if (running && render != null) {
+            long renderStart = System.nanoTime();
+            render.run();
+            long renderNanos = System.nanoTime() - renderStart;
+            windowRenderNanos += renderNanos;
+            windowMaxRenderNanos = Math.max(windowMaxRenderNanos, renderNanos);
+        }
+        frameCount++;
+        windowFrames++;
+        measure(now);
+    }
+
+    /**
+     * Actualiza las frecuencias medidas al cerrar cada ventana de un segundo.
+     *
+     * @param now Instante actual en nanosegundos.
+     */
+    private void measure(long now) {
+        long elapsed = now - windowStart;
+        if (elapsed >= NANOS_PER_SECOND) {
+            measuredTickRate = windowTicks * (double) NANOS_PER_SECOND / elapsed;
+            measuredFrameRate = windowFrames * (double) NANOS_PER_SECOND / elapsed;
+            measuredRenderMillis = windowFrames == 0 ? 0 : windowRenderNanos / 1e6 / windowFrames;
+            if (printStats) {
+                System.out.println(String.format("Pasos/s: %.1f  Fotogramas/s: %.1f  Pintado: %.2f ms (máx. %.2f ms)  Elementos: %d  Iconos: %d aciertos, %d fallos",
+                        measuredTickRate, measuredFrameRate, measuredRenderMillis, windowMaxRenderNanos / 1e6,
+                        tickables.size(), IconCache.getHits(), IconCache.getMisses()));
+                System.out.println("Reservas: " + Pools.describe());
+                System.out.println("Zona repintada: " + DirtyRegions.describe());
+                System.out.println("Latencia de las teclas: " + InputState.describe());
+            }
+            windowTicks = 0;
+            windowFrames = 0;
+            windowRenderNanos = 0;
+            windowMaxRenderNanos = 0;
+            windowStart = now;
+        }
+    }
+
+    /**
+     * Obtiene el reloj de partida.
+     *
+     * @return Reloj de partida.
+     */
+    public GameClock getClock() {
+        return clock;
+    }
+
+    /**
+     * Obtiene la duración de un paso de simulación en milisegundos.
+     *
+     * @return Duración de un paso en milisegundos.
+     */
+    public double getTickMillis() {
+        return 1000.0 / tickRate;
+    }
+
+    /**
+     * Convierte una duración en milisegundos al número de pasos equivalente.
+     *
+     * @param millis Duración en milisegundos.
+     * @return Número de pasos (mínimo 1).
+     */
+    public int ticksFor(int millis) {
+        return Math.max(1, (int) Math.round(millis / getTickMillis()));
+    }
+
+    /**
+     * Obtiene los pasos de simulación configurados por segundo.
+     *
+     * @return Pasos por segundo configurados.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Obtiene los pasos por segundo medidos en el último segundo.
+     *
+     * @return Pasos por segundo medidos.
+     */
+    public double getMeasuredTickRate() {
+        return measuredTickRate;
+    }
+
+    /**
+     * Obtiene los fotogramas por segundo medidos en el último segundo.
+     *
+     * @return Fotogramas por segundo medidos.
+     */
+    public double getMeasuredFrameRate() {
+        return measuredFrameRate;
+    }
+
+    /**
+     * Obtiene el tiempo medio de renderizado de un fotograma en el último segundo.
+     *
+     * @return Milisegundos de renderizado por fotograma.
+     */
+    public double getMeasuredRenderMillis() {
+        return measuredRenderMillis;
+    }
+
+    /**
+     * Obtiene el número de pasos ejecutados desde el inicio.
+     *
+     * @return Número de pasos.
+     */
+    public long getTickCount() {
+        return tickCount;
+    }
+
+    /**
+     * Obtiene el número de fotogramas renderizados desde el inicio.
+     *
+     * @return Número de fotogramas.
+     */
+    public long getFrameCount() {
+        return frameCount;
+    }
+
+    /**
+     * Indica si el bucle está en marcha.
+     *
+     * @return true si el bucle está en marcha.
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Indica si el bucle está en pausa.
+     *
+     * @return true si el bucle está en pausa.
+     */
+    public boolean isPaused() {
+        return paused;
+    }
+}
@@ -0,0 +1,80 @@
+package game;
+
+import model.GameMap;
+import model.Match;
+import warriors.Magician;
+import warriors.Priest;
+import warriors.Soldier;
+import warriors.Warrior;
+
+/**
+ * @author Mohamed Boutanghach
+ * Ejecuta partidas sin ventana a la máxima velocidad con un {@link Bot} como jugador.
+ * Sirve para medir la simulación sin el coste de Swing y para comprobar que la partida
+ * no depende de la vista.
+ * <p>
+ * Argumentos (todos opcionales): número de partidas, tipo de guerrero ({@code mago},
+ * {@code soldado} o {@code sacerdote}), semilla inicial y máximo de pasos por partida.
+ * Cada partida usa la semilla inicial más su número de orden.
+ */
+public class HeadlessRunner {
+    /**
+     * Punto de entrada del ejecutor sin ventana.
+     *
+     * @param args Partidas, tipo de guerrero, semilla y máximo de pasos.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        String type = args.length > 1 ? args[1] : "soldado";
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+        long maxTicks = args.length > 3 ? Long.parseLong(args[3]) : GameLoop.TICK_RATE * 600L;
+
+        GameMap map = GameMap.standard();
+        int wins = 0;
+        double seconds = 0;
+        long ticks = 0;
+        long start = System.nanoTime();
+
+        for (int i = 0; i < matches; i++) {
+            Match match = new Match(map, createWarrior(type), seed + i);
+            GameLoop loop = new GameLoop(GameLoop.TICK_RATE, GameLoop.FRAME_RATE, null);
+            Bot bot = new Bot(match);
+            match.start(loop);
+            while (!match.isOver() && loop.getTickCount() < maxTicks) {
+                bot.act(match);
+                loop.step();
+            }
+
+            if (match.isWon()) {
+                wins++;
+            }
+            seconds += match.getSeconds();
+            ticks += loop.getTickCount();
+            System.out.printf("Partida %d (semilla %d): %s en %.2f s, %d pasos, %d esmeraldas%n", i + 1, seed + i,
+                    match.isWon() ? "victoria" : match.isOver() ? "derrota" : "sin terminar",
+                    match.getSeconds(), loop.getTickCount(), match.getWarrior().getEmeralds());
+        }
+
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d partidas de %s: %d victorias, %.2f s de media, %.0f pasos/s%n", matches,
+                type, wins, matches == 0 ? 0 : seconds / matches, elapsed == 0 ? 0 : ticks / elapsed);
+    }
+
+    /**
+     * Crea el guerrero indicado.
+     *
+     * @param type Tipo de guerrero ({@code mago}, {@code soldado} o {@code sacerdote}).
+     * @return Guerrero nuevo.
+     */
+    static Warrior createWarrior(String type) {
+        switch (type.toLowerCase()) {
+            case "mago":
+                return new Magician();
+            case "sacerdote":
+                return new Priest();
+            default:
+                return new Soldier();
+        }
+    }
+}
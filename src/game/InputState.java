@@ -0,0 +1,291 @@
+package game;
+
+import model.Match;
+
+/**
+ * @author Mohamed Boutanghach
+ * Tabla del estado de las teclas del jugador. Los eventos de teclado solo anotan qué teclas
+ * están pulsadas; la partida no se mueve con cada evento, sino que en cada paso del
+ * {@link GameLoop} se toma una muestra de la tabla y se aplica.
+ * <p>
+ * Así el movimiento no depende de la frecuencia de repetición de teclas del sistema ni
+ * espera su retardo inicial, y se puede mantener pulsada una dirección de cada eje para
+ * moverse en diagonal. Mientras haya una dirección pulsada el guerrero da
+ * {@link #MOVE_RATE} pasos por segundo (se configura con {@code game.moveRate}); el
+ * primero, en el mismo paso en que se toma la pulsación. El ataque, la habilidad definitiva
+ * y el truco de las esmeraldas se ejecutan una vez por pulsación.
+ * <p>
+ * Una pulsación se aplica aunque la tecla se suelte antes del siguiente paso. Se mide la
+ * latencia desde el evento de la pulsación hasta el paso que la aplica; los contadores se
+ * comparten entre todas las instancias para que el bucle de juego los imprima.
+ * <p>
+ * Las teclas aplicadas en cada paso se pueden guardar en una {@link Replay}, y una
+ * grabación puede sustituir al teclado para volver a jugar la partida.
+ */
+public class InputState implements Tickable {
+    /** Tecla 'w': caminar hacia arriba. */
+    public static final int UP = 1;
+    /** Tecla 'a': caminar hacia la izquierda. */
+    public static final int LEFT = 1 << 1;
+    /** Tecla 's': caminar hacia abajo. */
+    public static final int DOWN = 1 << 2;
+    /** Tecla 'd': caminar hacia la derecha. */
+    public static final int RIGHT = 1 << 3;
+    /** Tecla 'p': atacar. */
+    public static final int ATTACK = 1 << 4;
+    /** Tecla 'o': habilidad definitiva. */
+    public static final int ULTI = 1 << 5;
+    /** Tecla 't': añadir 10 esmeraldas. */
+    public static final int CHEAT = 1 << 6;
+    /** Teclas de dirección. */
+    public static final int DIRECTIONS = UP | LEFT | DOWN | RIGHT;
+    /** Pasos por segundo que da el guerrero con una dirección pulsada. */
+    public static final int MOVE_RATE = Integer.getInteger("game.moveRate", 30);
+
+    private static long presses; // Pulsaciones aplicadas desde la última descripción.
+    private static long latencyNanos; // Suma de las latencias de las pulsaciones aplicadas.
+    private static long maxLatencyNanos; // Mayor latencia de una pulsación aplicada.
+
+    private final Match match; // Partida que controla el jugador.
+    private final int moveRate; // Pasos por segundo que da el guerrero.
+    private Replay recording; // Grabación en la que se guardan las teclas, o null.
+    private Replay playback; // Grabación de la que se toman las teclas en lugar del teclado, o null.
+    private int held; // Teclas pulsadas ahora.
+    private int pressed; // Teclas pulsadas desde la última muestra, aunque ya se hayan soltado.
+    private long pressedAt; // Instante de la primera pulsación sin aplicar (0 si no hay ninguna).
+    private int last; // Teclas de la muestra anterior.
+    private int facing; // Dirección pulsada más reciente.
+    private int credit; // Avance acumulado hacia el siguiente paso del guerrero, en pasos de simulación.
+    private boolean moving; // Indica si el guerrero se movía en la muestra anterior.
+
+    /**
+     * Constructor de la tabla de teclas de una partida.
+     *
+     * @param match Partida que controla el jugador.
+     */
+    public InputState(Match match) {
+        this(match, MOVE_RATE);
+    }
+
+    /**
+     * Constructor de la tabla de teclas de una partida con otra velocidad del guerrero.
+     *
+     * @param match    Partida que controla el jugador.
+     * @param moveRate Pasos por segundo que da el guerrero.
+     */
+    public InputState(Match match, int moveRate) {
+        this.match = match;
+        this.moveRate = moveRate;
+        this.facing = DOWN;
+    }
+
+    /**
+     * Guarda en una grabación las teclas que se apliquen desde el siguiente paso.
+     *
+     * @param replay Grabación.
+     */
+    public void record(Replay replay) {
+        this.recording = replay;
+    }
+
+    /**
+     * Toma las teclas de una grabación en lugar del teclado.
+     *
+     * @param replay Grabación que se reproduce.
+     */
+    public void play(Replay replay) {
+        this.playback = replay;
+    }
+
+    /**
+     * Obtiene la tecla de la tabla que corresponde a un carácter.
+     *
+     * @param key Carácter de la tecla.
+     * @return Bit de la tecla, o 0 si el juego no la usa.
+     */
+    public static int keyFor(char key) {
+        switch (Character.toLowerCase(key)) {
+            case 'w':
+                return UP;
+            case 'a':
+                return LEFT;
+            case 's':
+                return DOWN;
+            case 'd':
+                return RIGHT;
+            case 'p':
+                return ATTACK;
+            case 'o':
+                return ULTI;
+            case 't':
+                return CHEAT;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Anota la pulsación de una tecla. Las repeticiones del sistema de una tecla que ya
+     * estaba pulsada se ignoran.
+     *
+     * @param key Bit de la tecla.
+     */
+    public void press(int key) {
+        if (key != 0 && (held & key) == 0) {
+            held |= key;
+            pressed |= key;
+            if (pressedAt == 0) {
+                pressedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Anota que se ha soltado una tecla.
+     *
+     * @param key Bit de la tecla.
+     */
+    public void release(int key) {
+        held &= ~key;
+    }
+
+    /**
+     * Suelta todas las teclas, por ejemplo cuando el panel del juego pierde el foco y ya
+     * no recibirá los eventos de soltarlas.
+     */
+    public void clear() {
+        held = 0;
+    }
+
+    /**
+     * Toma una muestra de la tabla: las teclas pulsadas ahora y las que se pulsaron y
+     * soltaron desde la muestra anterior.
+     *
+     * @return Teclas de la muestra.
+     */
+    public int sample() {
+        int keys = held | pressed;
+        pressed = 0;
+        if (pressedAt != 0) {
+            long latency = System.nanoTime() - pressedAt;
+            presses++;
+            latencyNanos += latency;
+            maxLatencyNanos = Math.max(maxLatencyNanos, latency);
+            pressedAt = 0;
+        }
+        return keys;
+    }
+
+    /**
+     * Toma una muestra de la tabla (o el paso siguiente de la grabación que se reproduce),
+     * la guarda si se está grabando y la aplica a la partida.
+     *
+     * @param loop Bucle de juego que ejecuta el paso.
+     */
+    @Override
+    public void tick(GameLoop loop) {
+        int keys = playback != null ? playback.next() : sample();
+        if (recording != null) {
+            recording.record(keys);
+        }
+        apply(keys, loop.getTickRate());
+    }
+
+    /**
+     * Aplica a la partida las teclas de un paso.
+     *
+     * @param keys     Teclas de la muestra.
+     * @param tickRate Pasos de simulación por segundo.
+     */
+    public void apply(int keys, int tickRate) {
+        int started = keys & ~last;
+        last = keys;
+        if ((started & CHEAT) != 0) {
+            for (int i = 0; i < 10; i++) {
+                match.collectEmerald();
+            }
+        }
+        if ((started & ULTI) != 0) {
+            match.ulti();
+        }
+        if ((started & ATTACK) != 0) {
+            match.attack();
+        }
+
+        // Las direcciones opuestas se anulan
+        int horizontal = keys & (LEFT | RIGHT);
+        int vertical = keys & (UP | DOWN);
+        horizontal = horizontal == (LEFT | RIGHT) ? 0 : horizontal;
+        vertical = vertical == (UP | DOWN) ? 0 : vertical;
+        if (horizontal == 0 && vertical == 0) {
+            if (moving) {
+                match.release(directionOf(facing));
+                moving = false;
+            }
+            credit = 0;
+            return;
+        }
+
+        // Mira hacia la dirección pulsada más reciente que siga pulsada
+        if ((started & (horizontal | vertical)) != 0) {
+            facing = Integer.lowestOneBit(started & (horizontal | vertical));
+            credit = tickRate - moveRate; // El primer paso se da ya.
+        } else if ((facing & (horizontal | vertical)) == 0) {
+            facing = horizontal != 0 ? horizontal : vertical;
+        }
+        moving = true;
+        credit += moveRate;
+        if (credit >= tickRate) {
+            credit -= tickRate;
+            // La dirección a la que mira se mueve la última para que el guerrero quede mirando hacia ella
+            int other = facing == horizontal ? vertical : horizontal;
+            if (other != 0) {
+                match.move(directionOf(other));
+            }
+            match.move(directionOf(facing));
+        }
+    }
+
+    /**
+     * Obtiene los pasos por segundo que da el guerrero.
+     *
+     * @return Pasos del guerrero por segundo.
+     */
+    public int getMoveRate() {
+        return moveRate;
+    }
+
+    /**
+     * Obtiene el carácter de una tecla de dirección.
+     *
+     * @param key Bit de la dirección.
+     * @return 'w', 'a', 's' o 'd'.
+     */
+    private static char directionOf(int key) {
+        switch (key) {
+            case UP:
+                return 'w';
+            case LEFT:
+                return 'a';
+            case RIGHT:
+                return 'd';
+            default:
+                return 's';
+        }
+    }
+
+    /**
+     * Describe la latencia de las pulsaciones desde la última llamada y vuelve a empezar
+     * a contar.
+     *
+     * @return Texto con la media y el máximo de la latencia.
+     */
+    public static String describe() {
+        String text = presses == 0 ? "sin pulsaciones" : String.format("%.2f ms de media (máx. %.2f ms), %d pulsaciones",
+                latencyNanos / 1e6 / presses, maxLatencyNanos / 1e6, presses);
+        presses = 0;
+        latencyNanos = 0;
+        maxLatencyNanos = 0;
+        return text;
+    }
+}
@@ -0,0 +1,359 @@
+package game;
+
+import model.Body;
+import model.Item;
+import model.Match;
+import model.Projectile;
+import tools.SkeletonHash;
+import warriors.Skeleton;
+import warriors.Warrior;
+
+import java.io.*;
+import java.util.Arrays;
+
+/**
+ * @author Mohamed Boutanghach
+ * Grabación de una partida. Como todo el azar de la partida sale de su semilla, basta con
+ * guardar la semilla, el guerrero y las teclas que la {@link InputState tabla de teclas}
+ * aplicó en cada paso para volver a simularla igual con el {@link ReplayPlayer}.
+ * <p>
+ * Las teclas de cada paso son una máscara de bits y casi nunca cambian de un paso al
+ * siguiente, así que se guardan como tramos de pasos con la misma máscara. En el fichero
+ * los números van en enteros de longitud variable (7 bits por byte), de modo que una
+ * partida de 5 minutos ocupa unos pocos KB.
+ * <p>
+ * Al terminar se guarda también el resultado y una suma de comprobación del estado final
+ * de la partida para verificar que la reproducción llega al mismo sitio.
+ * <p>
+ * Las grabaciones se guardan en la carpeta {@code game.replays}; si no se indica, no se graban.
+ */
+public class Replay {
+    /** Carpeta en la que se guardan las partidas grabadas, o null si no se graban. */
+    public static final String DIRECTORY = System.getProperty("game.replays");
+
+    private static final int MAGIC = 0x52504C59; // "RPLY".
+    private static final int VERSION = 1; // Versión del formato.
+
+    private final String warrior; // Tipo de guerrero.
+    private final long seed; // Semilla de la partida.
+    private final int tickRate; // Pasos de simulación por segundo.
+    private final int moveRate; // Pasos por segundo del guerrero.
+    private byte[] keys; // Máscara de teclas de cada tramo.
+    private int[] lengths; // Pasos de cada tramo.
+    private int runs; // Tramos en uso.
+    private long ticks; // Pasos grabados.
+    private boolean won; // Indica si se ganó la partida.
+    private int emeralds; // Esmeraldas al terminar.
+    private double seconds; // Tiempo final de la partida.
+    private long checksum; // Suma de comprobación del estado final.
+    private int run; // Tramo que se está reproduciendo.
+    private int played; // Pasos reproducidos del tramo actual.
+
+    /**
+     * Constructor de una grabación vacía.
+     *
+     * @param warrior  Tipo de guerrero.
+     * @param seed     Semilla de la partida.
+     * @param tickRate Pasos de simulación por segundo.
+     * @param moveRate Pasos por segundo del guerrero.
+     */
+    public Replay(String warrior, long seed, int tickRate, int moveRate) {
+        this.warrior = warrior;
+        this.seed = seed;
+        this.tickRate = tickRate;
+        this.moveRate = moveRate;
+        this.keys = new byte[64];
+        this.lengths = new int[64];
+    }
+
+    /**
+     * Añade las teclas de un paso.
+     *
+     * @param mask Máscara de teclas aplicada en el paso.
+     */
+    public void record(int mask) {
+        if (runs > 0 && keys[runs - 1] == (byte) mask && lengths[runs - 1] < Integer.MAX_VALUE) {
+            lengths[runs - 1]++;
+        } else {
+            if (runs == keys.length) {
+                keys = Arrays.copyOf(keys, runs * 2);
+                lengths = Arrays.copyOf(lengths, runs * 2);
+            }
+            keys[runs] = (byte) mask;
+            lengths[runs] = 1;
+            runs++;
+        }
+        ticks++;
+    }
+
+    /**
+     * Obtiene las teclas del siguiente paso que se reproduce.
+     *
+     * @return Máscara de teclas, o 0 si ya se han reproducido todos los pasos.
+     */
+    public int next() {
+        while (run < runs && played == lengths[run]) {
+            run++;
+            played = 0;
+        }
+        if (run == runs) {
+            return 0;
+        }
+        played++;
+        return keys[run];
+    }
+
+    /**
+     * Guarda el resultado de la partida al terminar la grabación.
+     *
+     * @param match Partida grabada.
+     */
+    public void finish(Match match) {
+        won = match.isWon();
+        emeralds = match.getWarrior().getEmeralds();
+        seconds = match.getSeconds();
+        checksum = checksum(match);
+    }
+
+    /**
+     * Calcula una suma de comprobación del estado de una partida: el guerrero, los
+     * esqueletos, los proyectiles y los objetos.
+     *
+     * @param match Partida.
+     * @return Suma de comprobación.
+     */
+    public static long checksum(Match match) {
+        Warrior warrior = match.getWarrior();
+        long hash = hash(17, warrior.getBody());
+        hash = hash * 31 + warrior.getLive();
+        hash = hash * 31 + warrior.getMana();
+        hash = hash * 31 + warrior.getEmeralds();
+        SkeletonHash skeletons = match.getSkeletons();
+        for (int i = 0; i < skeletons.size(); i++) {
+            Skeleton skeleton = skeletons.get(i);
+            hash = hash(hash, skeleton.getBody()) * 31 + skeleton.getLive();
+        }
+        for (Projectile projectile : match.getProjectiles()) {
+            hash = hash(hash, projectile.getBody());
+        }
+        for (Item item : match.getItems()) {
+            hash = hash(hash, item.getBody()) * 31 + item.getName().hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Añade la posición y el tamaño de un cuerpo a una suma de comprobación.
+     *
+     * @param hash Suma de comprobación.
+     * @param body Cuerpo.
+     * @return Nueva suma de comprobación.
+     */
+    private static long hash(long hash, Body body) {
+        hash = hash * 31 + body.getX();
+        hash = hash * 31 + body.getY();
+        hash = hash * 31 + body.getWidth();
+        return hash * 31 + body.getHeight();
+    }
+
+    /**
+     * Guarda la grabación en un fichero.
+     *
+     * @param file Fichero de destino.
+     * @throws IOException Si no se puede escribir.
+     */
+    public void write(File file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(warrior);
+            out.writeLong(seed);
+            writeVarLong(out, tickRate);
+            writeVarLong(out, moveRate);
+            writeVarLong(out, ticks);
+            out.writeBoolean(won);
+            writeVarLong(out, emeralds);
+            out.writeDouble(seconds);
+            out.writeLong(checksum);
+            writeVarLong(out, runs);
+            for (int i = 0; i < runs; i++) {
+                out.writeByte(keys[i]);
+                writeVarLong(out, lengths[i]);
+            }
+        }
+    }
+
+    /**
+     * Guarda la grabación en la carpeta {@link #DIRECTORY}, creándola si no existe.
+     *
+     * @return Fichero en el que se ha guardado.
+     * @throws IOException Si no se puede escribir.
+     */
+    public File save() throws IOException {
+        File directory = new File(DIRECTORY);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("No se puede crear la carpeta " + directory.getPath());
+        }
+        File file = new File(directory, getFileName());
+        write(file);
+        return file;
+    }
+
+    /**
+     * Lee una grabación de un fichero.
+     *
+     * @param file Fichero de la grabación.
+     * @return Grabación lista para reproducir.
+     * @throws IOException Si no se puede leer o no es una grabación.
+     */
+    public static Replay read(File file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException(file.getName() + " no es una grabación de partida");
+            }
+            String warrior = in.readUTF();
+            long seed = in.readLong();
+            Replay replay = new Replay(warrior, seed, (int) readVarLong(in), (int) readVarLong(in));
+            long ticks = readVarLong(in);
+            replay.won = in.readBoolean();
+            replay.emeralds = (int) readVarLong(in);
+            replay.seconds = in.readDouble();
+            replay.checksum = in.readLong();
+            int runs = (int) readVarLong(in);
+            for (int i = 0; i < runs; i++) {
+                int mask = in.readUnsignedByte();
+                for (long length = readVarLong(in); length > 0; length--) {
+                    replay.record(mask);
+                }
+            }
+            if (replay.ticks != ticks) {
+                throw new IOException(file.getName() + " está incompleta");
+            }
+            return replay;
+        }
+    }
+
+    /**
+     * Escribe un entero no negativo con 7 bits por byte; el bit alto indica que siguen más bytes.
+     *
+     * @param out   Flujo de salida.
+     * @param value Valor no negativo.
+     * @throws IOException Si no se puede escribir.
+     */
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Lee un entero escrito con {@link #writeVarLong}.
+     *
+     * @param in Flujo de entrada.
+     * @return Valor leído.
+     * @throws IOException Si no se puede leer.
+     */
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Entero mal formado");
+    }
+
+    /**
+     * Obtiene el nombre del fichero con el que se guarda la grabación.
+     *
+     * @return Nombre del fichero.
+     */
+    public String getFileName() {
+        return warrior.toLowerCase() + "-" + seed + ".rpl";
+    }
+
+    /**
+     * Obtiene el tipo de guerrero.
+     *
+     * @return Tipo de guerrero.
+     */
+    public String getWarrior() {
+        return warrior;
+    }
+
+    /**
+     * Obtiene la semilla de la partida.
+     *
+     * @return Semilla.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtiene los pasos de simulación por segundo con los que se grabó.
+     *
+     * @return Pasos por segundo.
+     */
+    public int getTickRate() {
+        return tickRate;
+    }
+
+    /**
+     * Obtiene los pasos por segundo del guerrero con los que se grabó.
+     *
+     * @return Pasos del guerrero por segundo.
+     */
+    public int getMoveRate() {
+        return moveRate;
+    }
+
+    /**
+     * Obtiene el número de pasos grabados.
+     *
+     * @return Pasos grabados.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+
+    /**
+     * Indica si se ganó la partida grabada.
+     *
+     * @return true si se ganó.
+     */
+    public boolean isWon() {
+        return won;
+    }
+
+    /**
+     * Obtiene las esmeraldas del guerrero al terminar.
+     *
+     * @return Esmeraldas.
+     */
+    public int getEmeralds() {
+        return emeralds;
+    }
+
+    /**
+     * Obtiene el tiempo final de la partida grabada.
+     *
+     * @return Segundos de partida.
+     */
+    public double getSeconds() {
+        return seconds;
+    }
+
+    /**
+     * Obtiene la suma de comprobación del estado final.
+     *
+     * @return Suma de comprobación.
+     */
+    public long getChecksum() {
+        return checksum;
+    }
+}
@@ -0,0 +1,80 @@
+package game;
+
+import model.GameMap;
+import model.Match;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @author Mohamed Boutanghach
+ * Vuelve a simular sin ventana y a la máxima velocidad las partidas grabadas con
+ * {@link Replay}, y comprueba que terminan igual que cuando se jugaron: mismo resultado,
+ * mismas esmeraldas y misma suma de comprobación del estado final.
+ * <p>
+ * Argumentos: ficheros de las grabaciones. Termina con código 1 si alguna reproducción no
+ * coincide con su grabación.
+ * <p>
+ * El tiempo final puede diferir en una fracción de paso: en la ventana lo mide el reloj del
+ * bucle en tiempo real y aquí sale de los pasos simulados.
+ */
+public class ReplayPlayer {
+    /**
+     * Punto de entrada del reproductor.
+     *
+     * @param args Ficheros de las grabaciones.
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        GameMap map = GameMap.standard();
+        boolean identical = true;
+
+        for (String path : args) {
+            File file = new File(path);
+            Replay replay;
+            try {
+                replay = Replay.read(file);
+            } catch (IOException e) {
+                System.out.println("No se ha podido leer " + path + ": " + e.getMessage());
+                identical = false;
+                continue;
+            }
+
+            long start = System.nanoTime();
+            long[] checksum = new long[1];
+            Match match = new Match(map, HeadlessRunner.createWarrior(replay.getWarrior()), replay.getSeed());
+            GameLoop loop = new GameLoop(replay.getTickRate(), GameLoop.FRAME_RATE, null);
+            InputState input = new InputState(match, replay.getMoveRate());
+            input.play(replay);
+            loop.register(input);
+            match.start(loop);
+            // Calcula la suma en el mismo punto del paso en que la calcula la ventana al terminar
+            loop.register(new Tickable() {
+                @Override
+                public void tick(GameLoop loop) {
+                    if (match.isOver()) {
+                        checksum[0] = Replay.checksum(match);
+                        loop.unregister(this);
+                    }
+                }
+            });
+            while (loop.getTickCount() < replay.getTicks()) {
+                loop.step();
+            }
+            double elapsed = (System.nanoTime() - start) / 1e9;
+
+            boolean same = match.isOver() && match.isWon() == replay.isWon()
+                    && match.getWarrior().getEmeralds() == replay.getEmeralds() && checksum[0] == replay.getChecksum();
+            identical &= same;
+            System.out.printf("%s (%s, semilla %d, %d pasos, %d bytes): %s en %.2f s (grabada en %.2f s), %s, %.0f pasos/s%n",
+                    file.getName(), replay.getWarrior(), replay.getSeed(), replay.getTicks(), file.length(),
+                    match.isWon() ? "victoria" : match.isOver() ? "derrota" : "sin terminar",
+                    match.getSeconds(), replay.getSeconds(), same ? "idéntica" : "DISTINTA",
+                    elapsed == 0 ? 0 : replay.getTicks() / elapsed);
+        }
+
+        if (!identical) {
+            System.exit(1);
+        }
+    }
+}
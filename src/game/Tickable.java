@@ -0,0 +1,18 @@
+package game;
+
+/**
+ * @author Mohamed Boutanghach
+ * Interfaz que implementan los elementos del juego que deben actualizarse en cada
+ * paso de la simulación (esqueletos, proyectiles, objetos, reloj de la partida...).
+ * Sustituye a los temporizadores de Swing individuales de cada entidad.
+ */
+public interface Tickable {
+
+    /**
+     * Actualiza el elemento un paso de simulación.
+     * Para dejar de recibir actualizaciones, el elemento debe llamar a {@link GameLoop#unregister(Tickable)}.
+     *
+     * @param loop El bucle de juego que ejecuta la actualización.
+     */
+    void tick(GameLoop loop);
+}
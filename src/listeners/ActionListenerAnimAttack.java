@@ -1,59 +1,44 @@
 package listeners;
 
-import warriors.Soldier;
+import game.GameLoop;
+import game.Tickable;
 import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para manejar la animación de ataque del guerrero.
- * Cambia el ícono del guerrero basado en la dirección del ataque.
+ * Tickable que termina la animación de ataque del guerrero.
+ * Pasado {@code DELAY} milisegundos el guerrero vuelve a su postura normal
+ * y deja de ser invencible.
  */
-public class ActionListenerAnimAttack implements ActionListener {
-    private char direction; // Dirección en la que se realiza el ataque ('a', 's', 'w', 'd').
+public class ActionListenerAnimAttack implements Tickable {
+    /** Duración de la animación de ataque en milisegundos. */
+    public static final int DELAY = 400;
+
     private Warrior warrior; // El guerrero que está realizando el ataque.
+    private int ticks; // Pasos transcurridos desde el ataque.
 
     /**
      * Constructor para ActionListenerAnimAttack.
      *
-     * @param warrior Guerrrero que está atacando.
-     * @param direction Dirección en la que se realiza el ataque.
+     * @param warrior El guerrero que realiza el ataque.
      */
-    public ActionListenerAnimAttack(Warrior warrior, char direction) {
+    public ActionListenerAnimAttack(Warrior warrior) {
         this.warrior = warrior; // Inicializa el guerrero.
-        this.direction = direction; // Inicializa la dirección del ataque.
+        this.ticks = 0;
     }
 
     /**
-     * Método que se ejecuta al realizar la acción.
-     * Cambia el ícono del guerrero basado en la dirección del ataque
-     * y detiene el timer que ejecuta la animación.
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Al acabar la animación restaura la postura del guerrero y su vulnerabilidad.
      *
-     * @param e Evento de acción que ocurre (trigger).
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Cambia el ícono del guerrero basado en la dirección del ataque.
-        switch (direction) {
-            case 'a': // Izquierda
-                this.warrior.getBody().setIcon(this.warrior.getLeft());
-                break;
-            case 's': // Abajo
-                this.warrior.getBody().setIcon(this.warrior.getDown());
-                break;
-            case 'w': // Arriba
-                this.warrior.getBody().setIcon(this.warrior.getUp());
-                break;
-            case 'd': // Derecha
-                this.warrior.getBody().setIcon(this.warrior.getRight());
-                break;
+    public void tick(GameLoop loop) {
+        if (++ticks >= loop.ticksFor(DELAY)) {
+            this.warrior.setAttacking(false);
+            this.warrior.setInvincible(false);
+            loop.unregister(this);
         }
-        // El guerrero deja de ser invencible después de atacar.
-        this.warrior.setInvincible(false);
-        // Detiene el timer que controla la animación.
-        ((Timer)e.getSource()).stop();
     }
 }
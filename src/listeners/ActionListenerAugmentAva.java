@@ -1,5 +1,6 @@
 package listeners;
 
+import tools.IconCache;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -36,10 +37,7 @@ public class ActionListenerAugmentAva implements ActionListener {
             // Aumenta el tamaño del JLabel.
             label.setSize(label.getWidth() + 10, label.getHeight() + 10);
             // Carga la imagen del JLabel y ajusta su tamaño.
-            ImageIcon imageIcon = new ImageIcon(label.getName());
-            Icon icon = new ImageIcon(
-                    imageIcon.getImage().getScaledInstance(label.getWidth(), label.getHeight(), Image.SCALE_AREA_AVERAGING)
-            );
+            Icon icon = IconCache.get(label.getName(), label.getWidth(), label.getHeight(), Image.SCALE_AREA_AVERAGING);
             label.setIcon(icon); // Establece el icono ajustado en el JLabel.
             // Ajusta la ubicación del JLabel para centrarlo visualmente.
             label.setLocation(label.getX() - 5, label.getY() - 5);
@@ -1,72 +1,56 @@
 package listeners;
 
-import warriors.Skeleton;
-
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.Random;
-
+import game.GameLoop;
+import game.Tickable;
+import model.Match;
+import model.Projectile;
+import tools.Pools;
 
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para gestionar el lanzamiento de cohetes en el juego.
- * Se encarga de crear y lanzar cohetes en un panel y controlar el tiempo de reutilización.
+ * Clase que implementa Tickable para gestionar el lanzamiento de cohetes en el juego.
+ * Se encarga de crear y lanzar cohetes sobre el mapa durante la duración del bombardeo.
  */
-public class ActionListenerBombing implements ActionListener {
-    private JPanel panel; // Panel donde se lanzan los cohetes.
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos a afectar por los cohetes.
-    private Timer cooldown; // Temporizador que controla el tiempo de reutilización de los cohetes.
+public class ActionListenerBombing implements Tickable {
+    private static final int DURATION = 2000; // Duración del bombardeo en milisegundos.
+    private static final int INTERVAL = 100; // Tiempo entre cohetes en milisegundos.
+    private Match match; // Partida en la que se lanzan los cohetes.
+    private int ticks; // Pasos transcurridos desde el inicio del bombardeo.
 
     /**
      * Constructor para ActionListenerBombing.
      *
-     * @param panel     JPanel donde se mostrarán los cohetes.
-     * @param skeletons ArrayList de esqueletos que pueden ser afectados.
+     * @param match Partida en la que se lanzan los cohetes.
      */
-    public ActionListenerBombing(JPanel panel, ArrayList<Skeleton> skeletons) {
-        this.panel = panel;
-        this.skeletons = skeletons;
-        this.cooldown = new Timer(2000, new ListenerCooldown()); // 2000 ms de cooldown.
-        this.cooldown.start(); // Inicia el temporizador de cooldown.
+    public ActionListenerBombing(Match match) {
+        this.match = match;
+        this.ticks = 0;
     }
 
     /**
-     * Método que se ejecuta al realizar la acción.
-     * Lanza un cohete si el cooldown está activo, y lo agrega al panel.
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Lanza un cohete cada {@code INTERVAL} milisegundos mientras dure el bombardeo.
      *
-     * @param e Evento de acción que ocurre (trigger).
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        if (cooldown.isRunning()) {
-            JLabel rocket = generateRocket(); // Genera un nuevo cohete.
-            panel.add(rocket); // Agrega el cohete al panel.
-            panel.setComponentZOrder(rocket, 0); // Asegura que el cohete esté en el frente.
-            Timer timerRocket = new Timer(10, new ListenerRocket(rocket, skeletons, panel)); // Temporizador para el movimiento del cohete.
-            timerRocket.start(); // Inicia el movimiento del cohete.
-        } else {
-            ((Timer) e.getSource()).stop(); // Detiene el temporizador si el cooldown no está activo.
+    public void tick(GameLoop loop) {
+        ticks++;
+        if (ticks >= loop.ticksFor(DURATION)) {
+            loop.unregister(this); // Termina el bombardeo.
+        } else if (ticks % loop.ticksFor(INTERVAL) == 0) {
+            Projectile rocket = generateRocket(); // Genera un nuevo cohete.
+            match.getProjectiles().add(rocket); // Agrega el cohete a la partida.
+            loop.register(new ListenerRocket(rocket, match)); // Mueve el cohete en cada paso.
         }
     }
 
     /**
-     * Genera un JLabel que representa un cohete.
+     * Genera un cohete en una posición horizontal aleatoria de la parte superior del mapa.
      *
-     * @return JLabel configurado como un cohete.
+     * @return El cohete generado.
      */
-    private JLabel generateRocket() {
-        Random random = new Random();
-        JLabel rocket = new JLabel(); // Crea un nuevo JLabel para el cohete.
-        rocket.setSize(20, 60); // Establece el tamaño del cohete.
-        Image img = new ImageIcon("src/images/priest/rocketBomb.gif").getImage(); // Carga la imagen del cohete.
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(rocket.getWidth(), rocket.getHeight(), Image.SCALE_DEFAULT)
-        );
-        rocket.setIcon(icon); // Establece el icono del cohete.
-        rocket.setLocation(116 + random.nextInt(1770), 0); // Establece una ubicación aleatoria para el cohete.
-        return rocket; // Devuelve el JLabel configurado.
+    private Projectile generateRocket() {
+        return Pools.PROJECTILES.acquire().set(Projectile.ROCKET, 's', 116 + match.getRandom().nextInt(1770), 0, 20, 60);
     }
-}
\ No newline at end of file
+}
@@ -1,53 +1,46 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Match;
 import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para gestionar el final de la habilidad definitiva de un guerrero.
- * Se encarga de eliminar el aura visual del guerrero y restablecer su estado.
+ * Tickable que finaliza la habilidad definitiva del mago.
+ * Pasado {@code DELAY} milisegundos detiene la vibración y devuelve el control al jugador.
  */
-public class ActionListenerEndUltiMag implements ActionListener {
-    private Timer timer; // Temporizador que controla la duración de la habilidad definitiva.
-    private JLabel aura; // Aura visual que representa la habilidad activa.
-    private JPanel panel; // Panel donde se muestra el aura.
-    private Warrior warrior; // Guerrero al que pertenece el aura.
+public class ActionListenerEndUltiMag implements Tickable {
+    /** Duración de la habilidad definitiva del mago en milisegundos. */
+    public static final int DELAY = 3000;
+
+    private Match match; // Partida en la que se lanzó la habilidad.
+    private int ticks; // Pasos transcurridos desde que se lanzó la habilidad.
 
     /**
      * Constructor para ActionListenerEndUltiMag.
      *
-     * @param timer   Timer que controla el tiempo de la habilidad definitiva.
-     * @param aura    JLabel que representa el aura visual del guerrero.
-     * @param panel   JPanel donde se muestra el aura.
-     * @param warrior Guerrero asociado a la habilidad definitiva.
+     * @param match Partida en la que se lanzó la habilidad.
      */
-    public ActionListenerEndUltiMag(Timer timer, JLabel aura, JPanel panel, Warrior warrior) {
-        this.timer = timer;
-        this.aura = aura;
-        this.panel = panel;
-        this.warrior = warrior;
+    public ActionListenerEndUltiMag(Match match) {
+        this.match = match;
+        this.ticks = 0;
     }
 
     /**
-     * Método que se ejecuta al finalizar la habilidad definitiva.
-     * Elimina el aura del panel, restablece el estado del guerrero y detiene el temporizador.
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Al terminar la habilidad el mago vuelve a ser vulnerable y acepta órdenes.
      *
-     * @param e Evento de acción que ocurre (trigger).
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        panel.remove(aura); // Elimina el aura del panel.
-        panel.repaint(); // Repaint para actualizar la vista.
-        panel.setFocusable(true); // Hace que el panel pueda recibir el foco.
-        panel.requestFocusInWindow(); // Solicita el foco al panel.
-        this.timer.stop(); // Detiene el temporizador de la habilidad.
-        panel.setLocation(0, 0); // Restablece la posición del panel.
-        this.warrior.setInvincible(false); // Desactiva la invulnerabilidad del guerrero.
-        ((Timer) e.getSource()).stop(); // Detiene el temporizador que invoca este método.
+    public void tick(GameLoop loop) {
+        if (++ticks >= loop.ticksFor(DELAY)) {
+            Warrior warrior = match.getWarrior();
+            match.stopShaking(); // Detiene la vibración de la habilidad.
+            warrior.setInvincible(false); // Desactiva la invulnerabilidad del guerrero.
+            warrior.setCasting(false); // El guerrero vuelve a aceptar órdenes.
+            loop.unregister(this);
+        }
     }
 }
-
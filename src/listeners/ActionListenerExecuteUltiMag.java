@@ -1,71 +1,62 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Effect;
+import model.Match;
 import warriors.Skeleton;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para gestionar la ejecución de la habilidad definitiva de un mago.
- * Se encarga de infligir daño a los enemigos y mostrar la animación de explosión.
+ * Tickable que ejecuta la habilidad definitiva del mago.
+ * Pasado {@code DELAY} milisegundos inflige daño a los enemigos alcanzados
+ * y muestra una explosión sobre cada uno.
  */
-public class ActionListenerExecuteUltiMag implements ActionListener {
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos que representan enemigos.
-    private ArrayList<Integer> enemys; // Índices de los enemigos a los que se les infligirá daño.
-    private JPanel panel; // Panel donde se mostrará la explosión.
+public class ActionListenerExecuteUltiMag implements Tickable {
+    /** Tiempo hasta el impacto en milisegundos. */
+    public static final int DELAY = 1500;
+
+    private ArrayList<Skeleton> enemys; // Enemigos a los que se les infligirá daño.
+    private long[] serials; // Orden de llegada de cada enemigo al lanzar la habilidad.
+    private Match match; // Partida en la que se lanzó la habilidad.
+    private int ticks; // Pasos transcurridos desde que se lanzó la habilidad.
 
     /**
      * Constructor para ActionListenerExecuteUltiMag.
      *
-     * @param skeletons Lista de esqueletos que representan enemigos.
-     * @param enemys    Índices de los enemigos a los que se les infligirá daño.
-     * @param panel     JPanel donde se mostrará la explosión.
+     * @param enemys Lista de enemigos que recibirán daño.
+     * @param match  Partida en la que se lanzó la habilidad.
      */
-    public ActionListenerExecuteUltiMag(ArrayList<Skeleton> skeletons, ArrayList<Integer> enemys, JPanel panel) {
-        this.skeletons = skeletons;
+    public ActionListenerExecuteUltiMag(ArrayList<Skeleton> enemys, Match match) {
         this.enemys = enemys;
-        this.panel = panel;
-    }
-
-    /**
-     * Método que se ejecuta al activar la habilidad definitiva del mago.
-     * Inflige daño a los enemigos seleccionados y muestra una animación de explosión.
-     *
-     * @param e Evento de acción que ocurre (trigger).
-     */
-    @Override
-    public void actionPerformed(ActionEvent e) {
+        this.match = match;
+        this.serials = new long[enemys.size()];
         for (int i = 0; i < enemys.size(); i++) {
-            // Inflige daño a cada enemigo
-            skeletons.get(enemys.get(i)).makeDamage(3);
-            JLabel explosion = generateExplosion(); // Genera la animación de explosión
-            explosion.setLocation(skeletons.get(enemys.get(i)).getBody().getX() - 19,
-                    skeletons.get(enemys.get(i)).getBody().getY() - 29);
-            panel.add(explosion); // Agrega la explosión al panel
-            panel.setComponentZOrder(explosion, 0); // Asegura que la explosión esté en el frente
-            Timer timer = new Timer(500, new ListenerAnimation(panel, explosion)); // Temporizador para la animación
-            timer.start(); // Inicia el temporizador
+            serials[i] = enemys.get(i).getSerial();
         }
-        ((Timer) e.getSource()).stop(); // Detiene el temporizador que invoca esta acción
     }
 
     /**
-     * Genera un JLabel que representa la explosión.
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Al llegar el impacto aplica daño a los enemigos que siguen en juego; los esqueletos
+     * que han vuelto a la reserva y se han reutilizado tienen otro número de orden y se ignoran.
      *
-     * @return JLabel que contiene la imagen de explosión.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
-    private JLabel generateExplosion() {
-        JLabel explosion = new JLabel();
-        explosion.setSize(80, 100);
-        Image img = new ImageIcon("src/images/wizard/expoUltiMagi.gif").getImage(); // Carga la imagen de explosión
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(explosion.getWidth(), explosion.getHeight(), Image.SCALE_DEFAULT)
-        );
-        explosion.setIcon(icon); // Establece la imagen de explosión en el JLabel
-        return explosion;
+    @Override
+    public void tick(GameLoop loop) {
+        if (++ticks >= loop.ticksFor(DELAY)) {
+            for (int i = 0; i < enemys.size(); i++) {
+                Skeleton enemy = enemys.get(i);
+                if (enemy.getCell() != -1 && enemy.getSerial() == serials[i]) {
+                    enemy.makeDamage(3);
+                    match.addEffect(Effect.ULTI_EXPLOSION, enemy.getBody().getX() - 19,
+                            enemy.getBody().getY() - 29, 80, 100, 500); // Animación de la explosión
+                }
+            }
+            loop.unregister(this);
+        }
     }
 }
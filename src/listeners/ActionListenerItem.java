@@ -1,74 +1,68 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Item;
+import model.Match;
+import tools.Pools;
 import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para gestionar la recogida de objetos por parte de un guerrero.
+ * Clase que implementa Tickable para gestionar la recogida de objetos por parte de un guerrero.
  * Se encarga de aplicar efectos a la salud, mana y recursos del guerrero al recoger un objeto.
  */
-public class ActionListenerItem implements ActionListener {
+public class ActionListenerItem implements Tickable {
     private Warrior warrior; // El guerrero que recoge el objeto.
-    private JLabel item; // El objeto que se puede recoger.
-    private JPanel panel; // El panel donde se mostrará el objeto.
+    private Item item; // El objeto que se puede recoger.
+    private Match match; // La partida en la que está el objeto.
 
     /**
      * Constructor para ActionListenerItem.
      *
-     * @param warrior El guerrero que recogerá el objeto.
-     * @param item    El objeto que se puede recoger.
-     * @param panel   El JPanel donde se mostrará el objeto.
+     * @param item  El objeto que se puede recoger.
+     * @param match La partida en la que está el objeto.
      */
-    public ActionListenerItem(Warrior warrior, JLabel item, JPanel panel) {
-        this.warrior = warrior;
+    public ActionListenerItem(Item item, Match match) {
+        this.warrior = match.getWarrior();
         this.item = item;
-        this.panel = panel;
+        this.match = match;
     }
 
     /**
-     * Método que se ejecuta al activar la acción de recoger un objeto.
+     * Método que se ejecuta en cada paso del bucle para comprobar la recogida del objeto.
      * Comprueba si el guerrero puede recoger el objeto y aplica los efectos correspondientes.
      *
-     * @param e Evento de acción que ocurre (trigger).
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Verifica si el guerrero está muerto o tiene el máximo de esmeraldas
-        if (this.warrior.getLive() <= 0 || this.warrior.getEmeralds() >= 10) {
-            panel.remove(item); // Elimina el objeto del panel
-            ((Timer) e.getSource()).stop(); // Detiene el temporizador
-        } else {
-            Rectangle warriorBounds = warrior.getBody().getBounds(); // Obtiene los límites del guerrero
-            Rectangle itemBounds = item.getBounds(); // Obtiene los límites del objeto
-            // Comprueba si el guerrero colisiona con el objeto
-            if (itemBounds.intersects(warriorBounds)) {
-                // Si el objeto es de tipo "Energy" y el guerrero tiene menos de 10 de mana
-                if (item.getName().equals("Energy") && warrior.getMana() < 10) {
-                    warrior.addMana(panel); // Aumenta el mana del guerrero
-                    panel.remove(item); // Elimina el objeto del panel
-                    panel.repaint(); // Redibuja el panel
-                    ((Timer) e.getSource()).stop(); // Detiene el temporizador
-                }
-                // Si el objeto es de tipo "Live" y el guerrero tiene menos vidas que su máximo
-                else if (item.getName().equals("Live") && warrior.getLive() < warrior.getLivesIcon().size()) {
-                    warrior.addLive(); // Aumenta la vida del guerrero
-                    panel.remove(item); // Elimina el objeto del panel
-                    panel.repaint(); // Redibuja el panel
-                    ((Timer) e.getSource()).stop(); // Detiene el temporizador
-                }
-                // Si el objeto es de tipo "Emerald"
-                else if (item.getName().equals("Emerald")) {
-                    warrior.addEmerald(); // Aumenta las esmeraldas del guerrero
-                    panel.remove(item); // Elimina el objeto del panel
-                    panel.repaint(); // Redibuja el panel
-                    ((Timer) e.getSource()).stop(); // Detiene el temporizador
-                }
+    public void tick(GameLoop loop) {
+        if (this.warrior.getLive() <= 0 || this.warrior.getEmeralds() >= Match.EMERALDS_TO_WIN) {
+            removeItem(loop); // Retira el objeto del juego
+        } else if (item.getBody().intersects(warrior.getBody())) {
+            if (item.getName().equals(Item.ENERGY) && warrior.getMana() < Warrior.MAX_MANA) {
+                warrior.addMana(); // Aumenta el mana del guerrero
+                removeItem(loop); // Retira el objeto del juego
+            }
+            else if (item.getName().equals(Item.LIVE) && warrior.getLive() < warrior.getMaxLive()) {
+                warrior.addLive(); // Aumenta la vida del guerrero
+                removeItem(loop); // Retira el objeto del juego
+            }
+            else if (item.getName().equals(Item.EMERALD)) {
+                match.collectEmerald(); // Aumenta las esmeraldas del guerrero y guarda el tiempo parcial
+                removeItem(loop); // Retira el objeto del juego
             }
         }
     }
+
+    /**
+     * Retira el objeto de la partida y deja de comprobarlo.
+     *
+     * @param loop Bucle de juego que ejecuta el paso.
+     */
+    private void removeItem(GameLoop loop) {
+        match.getItems().remove(item); // Retira el objeto del suelo
+        Pools.ITEMS.release(item); // Devuelve el objeto a la reserva
+        loop.unregister(this); // Deja de comprobar el objeto
+    }
 }
@@ -1,267 +1,259 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Item;
+import model.Match;
+import tools.FlowField;
+import tools.Pools;
+import tools.SkeletonHash;
+import tools.TileGrid;
 import tools.Tools;
+import model.Effect;
 import warriors.Skeleton;
 import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
-import java.util.Random;
-
 /**
  * @author Mohamed Boutanghach
- * Clase que implementa ActionListener para mover un esqueleto (Skeleton) en el juego.
- * Se encarga de gestionar el movimiento del esqueleto hacia el guerrero, la lógica de ataque
- * y la eliminación del esqueleto al ser derrotado.
+ * Clase que implementa Tickable para mover un esqueleto (Skeleton) en cada paso del bucle de juego.
+ * Se encarga de gestionar el movimiento del esqueleto hacia el guerrero siguiendo el campo de
+ * flujo compartido, la lógica de ataque y la eliminación del esqueleto al ser derrotado.
  */
-public class ActionListenerMoveSkel implements ActionListener {
+public class ActionListenerMoveSkel implements Tickable {
+    private static final int ATTACK_COOLDOWN = 1000; // Tiempo entre golpes al guerrero en milisegundos.
     private Skeleton skeleton; // El esqueleto que se moverá.
-    private ArrayList<JLabel> listWalls; // Lista de paredes para evitar colisiones.
+    private Match match; // Partida en la que juega el esqueleto.
+    private TileGrid walls; // Cuadrícula de paredes para evitar colisiones.
+    private FlowField flowField; // Campo de flujo compartido hacia el guerrero.
     private Warrior warrior; // El guerrero objetivo del esqueleto.
-    private JPanel panel; // El panel donde se mostrará el esqueleto.
-    private ArrayList<Skeleton> skeletons; // Lista de todos los esqueletos en el juego.
-    private Timer timerCooldownAttack; // Temporizador para el cooldown de ataque.
-    private ArrayList<JLabel> items; // Lista de objetos en el juego.
+    private SkeletonHash skeletons; // Lista de todos los esqueletos en el juego.
+    private long attackReady; // Paso a partir del cual el esqueleto puede volver a golpear.
 
     /**
      * Constructor para ActionListenerMoveSkel.
      *
-     * @param skeleton    El esqueleto que se moverá.
-     * @param listWalls   La lista de paredes para comprobar colisiones.
-     * @param warrior     El guerrero al que el esqueleto perseguirá.
-     * @param panel       El JPanel donde se mostrará el esqueleto.
-     * @param skeletons   La lista de todos los esqueletos en el juego.
-     * @param items       La lista de objetos en el juego.
+     * @param skeleton El esqueleto que se moverá.
+     * @param match    La partida en la que juega el esqueleto.
      */
-    public ActionListenerMoveSkel(Skeleton skeleton, ArrayList<JLabel> listWalls, Warrior warrior, JPanel panel, ArrayList<Skeleton> skeletons, ArrayList<JLabel> items) {
-        this.warrior = warrior;
+    public ActionListenerMoveSkel(Skeleton skeleton, Match match) {
         this.skeleton = skeleton;
-        this.listWalls = listWalls;
-        this.panel = panel;
-        this.skeletons = skeletons;
-        this.timerCooldownAttack = new Timer(1000, new ListenerCooldown());
-        this.items = items;
+        this.match = match;
+        this.warrior = match.getWarrior();
+        this.walls = match.getMap().getWalls();
+        this.flowField = match.getMap().getFlowField();
+        this.skeletons = match.getSkeletons();
+        this.attackReady = 0;
     }
 
     /**
-     * Método que se ejecuta al activar la acción de mover el esqueleto.
+     * Método que se ejecuta en cada paso del bucle para mover el esqueleto.
      * Comprueba la vida del guerrero y del esqueleto, y mueve el esqueleto hacia el guerrero,
      * gestionando ataques y eliminaciones.
      *
-     * @param e Evento de acción que ocurre (trigger).
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Verifica si el guerrero está muerto o si tiene el máximo de esmeraldas
-        if (this.warrior.getLive() <= 0 || this.warrior.getEmeralds() == 10) {
-            panel.remove(skeleton.getBody()); // Elimina el esqueleto del panel
+    public void tick(GameLoop loop) {
+        if (match.isFinished()) {
             skeletons.remove(skeleton); // Elimina el esqueleto de la lista
-            ((Timer) e.getSource()).stop(); // Detiene el temporizador
+            Pools.SKELETONS.release(skeleton); // Devuelve el esqueleto a la reserva
+            loop.unregister(this); // Deja de actualizar el esqueleto
         } else if (skeleton.getLive() > 0) { // Verifica si el esqueleto está vivo
-            Point locO = skeleton.getBody().getLocation(); // Guarda la ubicación original del esqueleto
-            Rectangle war, ske; // Rectángulos para comprobar colisiones
-            int distanceX = skeleton.getBody().getX() - warrior.getBody().getX(); // Distancia en el eje X
-            int distanceY = skeleton.getBody().getY() - warrior.getBody().getY(); // Distancia en el eje Y
+            char direction = flowField.getDirection(skeleton.getBody().getX(), skeleton.getBody().getY(),
+                    warrior.getBody().getX(), warrior.getBody().getY()); // Siguiente paso según el campo de flujo
+            if (direction == FlowField.NONE) {
+                chase(); // En la celda del guerrero o sin camino: persecución directa
+            } else {
+                followField(direction); // Avanza por el camino más corto hacia el guerrero
+            }
+            skeletons.move(skeleton); // Actualiza la celda del esqueleto en el índice espacial
+            if (warrior.getBody().intersects(skeleton.getBody())) {
+                if (loop.getTickCount() >= attackReady && !warrior.isInvincible()) {
+                    warrior.damage(); // Inflige daño al guerrero
+                    attackReady = loop.getTickCount() + loop.ticksFor(ATTACK_COOLDOWN); // Reinicia el cooldown
+                }
+            }
+        } else { // El esqueleto ha sido derrotado
+            match.addEffect(Effect.SKELETON_DEATH, skeleton.getBody().getX(), skeleton.getBody().getY(),
+                    70, 70, 500); // Explosión en la ubicación del esqueleto
+            skeletons.remove(skeleton); // Elimina el esqueleto de la lista
+            double drop = match.getRandom().nextDouble(); // Valor aleatorio para determinar el objeto que se generará
+            if (drop > 0.3) {
+                String name;
+                if (drop < 0.6) {
+                    name = Item.ENERGY; // Energía
+                } else if (drop > 0.6 && drop < 0.9) {
+                    name = Item.LIVE; // Vida
+                } else {
+                    name = Item.EMERALD; // Esmeralda
+                }
+                Item item = Pools.ITEMS.acquire().set(name, skeleton.getBody().getX() + 10, skeleton.getBody().getY() + 10);
+                match.getItems().add(item); // Deja el objeto en el suelo
+                loop.register(new ActionListenerItem(item, match)); // Comprueba la recogida del objeto en cada paso
+            }
+            Pools.SKELETONS.release(skeleton); // Devuelve el esqueleto a la reserva
+            loop.unregister(this); // Deja de actualizar el esqueleto
+        }
+    }
 
-            // Movimiento basado en la distancia
-            if (Math.abs(distanceX) < Math.abs(distanceY)) {
-                if (Math.abs(distanceX) > 32) {
-                    if (distanceX < 0) {
-                        moveRight(); // Mueve a la derecha
-                    } else {
-                        moveLeft(); // Mueve a la izquierda
-                    }
-                    if (locO.equals(skeleton.getBody().getLocation())) {
-                        if (distanceY < 0) {
-                            moveDown(); // Mueve hacia abajo
-                        } else {
-                            moveUp(); // Mueve hacia arriba
-                        }
-                    }
+    /**
+     * Persigue al guerrero en línea recta, moviéndose por el eje con mayor distancia y
+     * probando el otro eje si el movimiento queda bloqueado. Se usa cuando el esqueleto
+     * está en la misma celda que el guerrero o el campo de flujo no tiene camino.
+     */
+    private void chase() {
+        int x0 = skeleton.getBody().getX(); // Guarda la ubicación original del esqueleto
+        int y0 = skeleton.getBody().getY();
+        int distanceX = skeleton.getBody().getX() - warrior.getBody().getX(); // Distancia en el eje X
+        int distanceY = skeleton.getBody().getY() - warrior.getBody().getY(); // Distancia en el eje Y
+
+        // Movimiento basado en la distancia
+        if (Math.abs(distanceX) < Math.abs(distanceY)) {
+            if (Math.abs(distanceX) > 32) {
+                if (distanceX < 0) {
+                    moveRight(skeleton.getSpeed()); // Mueve a la derecha
                 } else {
+                    moveLeft(skeleton.getSpeed()); // Mueve a la izquierda
+                }
+                if (skeleton.getBody().getX() == x0 && skeleton.getBody().getY() == y0) {
                     if (distanceY < 0) {
-                        moveDown(); // Mueve hacia abajo
+                        moveDown(skeleton.getSpeed()); // Mueve hacia abajo
                     } else {
-                        moveUp(); // Mueve hacia arriba
-                    }
-                    if (locO.equals(skeleton.getBody().getLocation())) {
-                        if (distanceX < 0) {
-                            moveRight(); // Mueve a la derecha
-                        } else {
-                            moveLeft(); // Mueve a la izquierda
-                        }
+                        moveUp(skeleton.getSpeed()); // Mueve hacia arriba
                     }
                 }
             } else {
-                if (Math.abs(distanceY) > 32) {
-                    if (distanceY < 0) {
-                        moveDown(); // Mueve hacia abajo
+                if (distanceY < 0) {
+                    moveDown(skeleton.getSpeed()); // Mueve hacia abajo
+                } else {
+                    moveUp(skeleton.getSpeed()); // Mueve hacia arriba
+                }
+                if (skeleton.getBody().getX() == x0 && skeleton.getBody().getY() == y0) {
+                    if (distanceX < 0) {
+                        moveRight(skeleton.getSpeed()); // Mueve a la derecha
                     } else {
-                        moveUp(); // Mueve hacia arriba
-                    }
-                    if (locO.equals(skeleton.getBody().getLocation())) {
-                        if (distanceX < 0) {
-                            moveRight(); // Mueve a la derecha
-                        } else {
-                            moveLeft(); // Mueve a la izquierda
-                        }
+                        moveLeft(skeleton.getSpeed()); // Mueve a la izquierda
                     }
+                }
+            }
+        } else {
+            if (Math.abs(distanceY) > 32) {
+                if (distanceY < 0) {
+                    moveDown(skeleton.getSpeed()); // Mueve hacia abajo
                 } else {
+                    moveUp(skeleton.getSpeed()); // Mueve hacia arriba
+                }
+                if (skeleton.getBody().getX() == x0 && skeleton.getBody().getY() == y0) {
                     if (distanceX < 0) {
-                        moveRight(); // Mueve a la derecha
+                        moveRight(skeleton.getSpeed()); // Mueve a la derecha
                     } else {
-                        moveLeft(); // Mueve a la izquierda
+                        moveLeft(skeleton.getSpeed()); // Mueve a la izquierda
                     }
-                    if (locO.equals(skeleton.getBody().getLocation())) {
-                        if (distanceY < 0) {
-                            moveDown(); // Mueve hacia abajo
-                        } else {
-                            moveUp(); // Mueve hacia arriba
-                        }
+                }
+            } else {
+                if (distanceX < 0) {
+                    moveRight(skeleton.getSpeed()); // Mueve a la derecha
+                } else {
+                    moveLeft(skeleton.getSpeed()); // Mueve a la izquierda
+                }
+                if (skeleton.getBody().getX() == x0 && skeleton.getBody().getY() == y0) {
+                    if (distanceY < 0) {
+                        moveDown(skeleton.getSpeed()); // Mueve hacia abajo
+                    } else {
+                        moveUp(skeleton.getSpeed()); // Mueve hacia arriba
                     }
                 }
             }
+        }
+    }
 
-            // Comprobar si el guerrero colisiona con el esqueleto
-            war = warrior.getBody().getBounds();
-            ske = skeleton.getBody().getBounds();
-            if (war.intersects(ske)) {
-                if (!timerCooldownAttack.isRunning() && !warrior.isInvincible()) {
-                    warrior.damage(); // Inflige daño al guerrero
-                    timerCooldownAttack = new Timer(1000, new ListenerCooldown()); // Reinicia el temporizador de cooldown
-                    timerCooldownAttack.start();
-                }
-            }
-        } else { // El esqueleto ha sido derrotado
-            panel.remove(skeleton.getBody()); // Elimina el cuerpo del esqueleto
-            skeleton.getExplotionLabel().setLocation(skeleton.getBody().getLocation()); // Coloca la explosión en la ubicación del esqueleto
-            skeletons.remove(skeleton); // Elimina el esqueleto de la lista
-            JLabel death = skeleton.getExplotionLabel(); // Obtiene la etiqueta de explosión
-            panel.add(death); // Agrega la explosión al panel
-            panel.setComponentZOrder(death, 0); // Coloca la explosión en el fondo
-            Timer timer = new Timer(500, new ListenerAnimation(panel, death)); // Temporizador para la animación de explosión
-            timer.start();
+    /**
+     * Sigue la dirección indicada por el campo de flujo. Primero se alinea con la esquina de
+     * su celda en el eje perpendicular y después avanza hacia la celda vecina, sin pasarse,
+     * de forma que el cuerpo siempre ocupa celdas transitables.
+     *
+     * @param direction Dirección del siguiente paso ('w', 'a', 's' o 'd').
+     */
+    private void followField(char direction) {
+        int x = skeleton.getBody().getX();
+        int y = skeleton.getBody().getY();
+        int offsetX = x - flowField.cellX(x); // Desplazamiento dentro de la celda en X
+        int offsetY = y - flowField.cellY(y); // Desplazamiento dentro de la celda en Y
+        int speed = skeleton.getSpeed();
 
-            // Generación de objetos al azar al morir el esqueleto
-            Random random = new Random();
-            double drop = random.nextDouble(); // Valor aleatorio para determinar el objeto que se generará
-            if (drop > 0.3) {
-                JLabel item = generateItem(); // Genera un nuevo objeto
-                if (drop < 0.6) {
-                    item.setIcon(generateIconEner()); // Establece el icono como energía
-                    item.setName("Energy"); // Nombre del objeto
-                } else if (drop > 0.6 && drop < 0.9) {
-                    item.setIcon(generateIconLive()); // Establece el icono como vida
-                    item.setName("Live"); // Nombre del objeto
+        switch (direction) {
+            case 'a':
+            case 'd':
+                if (offsetY > 0) {
+                    moveUp(Math.min(speed, offsetY)); // Se alinea con la fila de su celda
+                } else if (direction == 'd') {
+                    moveRight(Math.min(speed, TileGrid.TILE - offsetX));
                 } else {
-                    item.setIcon(generateIconEmer()); // Establece el icono como esmeralda
-                    item.setName("Emerald"); // Nombre del objeto
+                    moveLeft(Math.min(speed, TileGrid.TILE + offsetX));
                 }
-                panel.add(item); // Agrega el objeto al panel
-                panel.setComponentZOrder(item, 0); // Coloca el objeto en el fondo
-                Timer timerItem = new Timer(30, new ActionListenerItem(this.warrior, item, panel)); // Temporizador para recoger el objeto
-                timerItem.start();
-            }
-            ((Timer) e.getSource()).stop(); // Detiene el temporizador del esqueleto
+                break;
+            case 'w':
+            case 's':
+                if (offsetX > 0) {
+                    moveLeft(Math.min(speed, offsetX)); // Se alinea con la columna de su celda
+                } else if (direction == 's') {
+                    moveDown(Math.min(speed, TileGrid.TILE - offsetY));
+                } else {
+                    moveUp(Math.min(speed, TileGrid.TILE + offsetY));
+                }
+                break;
         }
     }
 
     /**
      * Mueve el esqueleto hacia arriba, validando la colisión con paredes.
+     *
+     * @param speed Píxeles que se intenta avanzar.
      */
-    private void moveUp() {
+    private void moveUp(int speed) {
         // Actualiza la posición del esqueleto hacia arriba
         skeleton.getBody().setLocation(
                 skeleton.getBody().getX(),
-                skeleton.getBody().getY() - Tools.validateMove(skeleton.getBody(), listWalls, skeleton.getSpeed(), 'w')
+                skeleton.getBody().getY() - Tools.validateMove(skeleton.getBody(), walls, speed, 'w')
         );
     }
 
     /**
      * Mueve el esqueleto hacia la derecha, validando la colisión con paredes.
+     *
+     * @param speed Píxeles que se intenta avanzar.
      */
-    private void moveRight() {
+    private void moveRight(int speed) {
         // Actualiza la posición del esqueleto hacia la derecha
         skeleton.getBody().setLocation(
-                skeleton.getBody().getX() + Tools.validateMove(skeleton.getBody(), listWalls, skeleton.getSpeed(), 'd'),
+                skeleton.getBody().getX() + Tools.validateMove(skeleton.getBody(), walls, speed, 'd'),
                 skeleton.getBody().getY()
         );
     }
 
     /**
      * Mueve el esqueleto hacia la izquierda, validando la colisión con paredes.
+     *
+     * @param speed Píxeles que se intenta avanzar.
      */
-    private void moveLeft() {
+    private void moveLeft(int speed) {
         // Actualiza la posición del esqueleto hacia la izquierda
         skeleton.getBody().setLocation(
-                skeleton.getBody().getX() - Tools.validateMove(skeleton.getBody(), listWalls, skeleton.getSpeed(), 'a'),
+                skeleton.getBody().getX() - Tools.validateMove(skeleton.getBody(), walls, speed, 'a'),
                 skeleton.getBody().getY()
         );
     }
 
     /**
      * Mueve el esqueleto hacia abajo, validando la colisión con paredes.
+     *
+     * @param speed Píxeles que se intenta avanzar.
      */
-    private void moveDown() {
+    private void moveDown(int speed) {
         // Actualiza la posición del esqueleto hacia abajo
         skeleton.getBody().setLocation(
                 skeleton.getBody().getX(),
-                skeleton.getBody().getY() + Tools.validateMove(skeleton.getBody(), listWalls, skeleton.getSpeed(), 's')
+                skeleton.getBody().getY() + Tools.validateMove(skeleton.getBody(), walls, speed, 's')
         );
     }
-
-    /**
-     * Genera un nuevo objeto (item) que se puede recoger.
-     *
-     * @return Un JLabel que representa el objeto.
-     */
-    private JLabel generateItem() {
-        JLabel item = new JLabel();
-        item.setSize(28, 28); // Establece el tamaño del objeto
-        item.setLocation(this.skeleton.getBody().getX() + 10, this.skeleton.getBody().getY() + 10); // Posiciona el objeto
-        return item;
-    }
-
-    /**
-     * Genera el icono para el objeto de vida.
-     *
-     * @return Un Icon que representa el icono de vida.
-     */
-    private Icon generateIconLive() {
-        Image img = new ImageIcon("src/images/live.gif").getImage(); // Carga la imagen de vida
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(28, 28, Image.SCALE_DEFAULT) // Escala la imagen
-        );
-        return icon;
-    }
-
-    /**
-     * Genera el icono para el objeto de energía.
-     *
-     * @return Un Icon que representa el icono de energía.
-     */
-    private Icon generateIconEner() {
-        Image img = new ImageIcon("src/images/energyBall.gif").getImage(); // Carga la imagen de energía
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(28, 28, Image.SCALE_DEFAULT) // Escala la imagen
-        );
-        return icon;
-    }
-
-    /**
-     * Genera el icono para el objeto de esmeralda.
-     *
-     * @return Un Icon que representa el icono de esmeralda.
-     */
-    private Icon generateIconEmer() {
-        Image img = new ImageIcon("src/images/emerald.gif").getImage(); // Carga la imagen de esmeralda
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(28, 28, Image.SCALE_DEFAULT) // Escala la imagen
-        );
-        return icon;
-    }
-
-}
\ No newline at end of file
+}
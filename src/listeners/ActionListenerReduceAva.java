@@ -1,5 +1,6 @@
 package listeners;
 
+import tools.IconCache;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
@@ -36,10 +37,7 @@ public class ActionListenerReduceAva implements ActionListener {
             label.setSize(label.getWidth() - 10, label.getHeight() - 10);
 
             // Crear un nuevo ImageIcon a partir del icono actual usando el tamaño actualizado
-            ImageIcon imageIcon = new ImageIcon(label.getName());
-            Icon icon = new ImageIcon(
-                    imageIcon.getImage().getScaledInstance(label.getWidth(), label.getHeight(), Image.SCALE_AREA_AVERAGING)
-            );
+            Icon icon = IconCache.get(label.getName(), label.getWidth(), label.getHeight(), Image.SCALE_AREA_AVERAGING);
 
             // Establecer el nuevo icono en la etiqueta
             label.setIcon(icon);
@@ -1,93 +1,63 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Body;
+import model.Effect;
+import model.Match;
+import model.Projectile;
+import tools.Pools;
 import tools.Tools;
 import warriors.Skeleton;
-import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 
 /**
  * @author Mohamed Boutanghach
- * ActionListener que gestiona las interacciones con TNT en el juego.
+ * Tickable que gestiona las interacciones con TNT en cada paso del bucle de juego.
  */
-public class ActionListenerTNT implements ActionListener {
-    private JPanel panelGame;       // El panel del juego donde se muestran TNT y otros componentes
-    private JLabel tnt;             // El JLabel de TNT que representa el objeto TNT
-    private Warrior warrior;        // El objeto Warrior que representa al personaje del jugador
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos en el juego
+public class ActionListenerTNT implements Tickable {
+    private Projectile tnt;         // La bomba que ha dejado el sacerdote
+    private Match match;            // La partida en la que está la bomba
 
     /**
      * Constructor para ActionListenerTNT.
      *
-     * @param panelGame El panel del juego donde ocurre la acción.
-     * @param tnt      El JLabel que representa el objeto TNT.
-     * @param warrior   El objeto Warrior que controla el jugador.
-     * @param skeletons Lista de esqueletos en el juego.
+     * @param tnt   La bomba que ha dejado el sacerdote.
+     * @param match La partida en la que está la bomba.
      */
-    public ActionListenerTNT(JPanel panelGame, JLabel tnt, Warrior warrior, ArrayList<Skeleton> skeletons) {
-        this.panelGame = panelGame;
+    public ActionListenerTNT(Projectile tnt, Match match) {
         this.tnt = tnt;
-        this.warrior = warrior;
-        this.skeletons = skeletons;
+        this.match = match;
     }
 
     /**
-     * Maneja el evento de acción cuando se activa el TNT.
+     * Actualiza el TNT en cada paso del bucle de juego.
      * Comprueba si el guerrero está vivo y si tiene menos de 10 esmeraldas.
      * Si es así, verifica colisiones con esqueletos y desencadena una explosión si es necesario.
      *
-     * @param e El ActionEvent desencadenado por el temporizador.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Verificar si el guerrero está muerto o ha alcanzado el número máximo de esmeraldas
-        if (this.warrior.getLive() <= 0 || this.warrior.getEmeralds() == 10) {
-            panelGame.remove(tnt);  // Eliminar el TNT si se cumplen las condiciones
-            panelGame.repaint();
-            ((Timer) e.getSource()).stop(); // Detener el temporizador
+    public void tick(GameLoop loop) {
+        if (match.isFinished()) {
+            match.getProjectiles().remove(tnt);  // Eliminar el TNT si se cumplen las condiciones
+            Pools.PROJECTILES.release(tnt); // Devolver el TNT a la reserva
+            loop.unregister(this); // Dejar de actualizar el TNT
         } else {
-            int enemyIndex = Tools.intersectSkel(tnt, skeletons); // Verificar intersección con esqueletos
-            if (enemyIndex != -1) {
-                panelGame.remove(tnt); // Eliminar TNT si intersecta con un esqueleto
-                JLabel explosion = generateExplosion(); // Generar animación de explosión
-
-                // Infligir daño a todos los esqueletos que intersectan
-                ArrayList<Integer> enemyIndices = Tools.multiIntersectSkel(explosion, skeletons);
-                for (int index : enemyIndices) {
-                    skeletons.get(index).makeDamage(3); // Aplicar daño al esqueleto
+            Skeleton enemy = Tools.intersectSkel(tnt.getBody(), match.getSkeletons()); // Verificar intersección con esqueletos
+            if (enemy != null) {
+                match.getProjectiles().remove(tnt); // Eliminar TNT si intersecta con un esqueleto
+                Body explosion = new Body(tnt.getBody().getX() - 40, tnt.getBody().getY() - 40, 100, 110); // Centrar explosión alrededor del TNT
+                ArrayList<Skeleton> enemies = Tools.multiIntersectSkel(explosion, match.getSkeletons());
+                for (Skeleton skeleton : enemies) {
+                    skeleton.makeDamage(3); // Aplicar daño al esqueleto
                 }
-
-                // Agregar la explosión al panel y repintar
-                panelGame.add(explosion);
-                panelGame.setComponentZOrder(explosion, 0);
-                panelGame.repaint();
-
-                // Iniciar el temporizador de animación de explosión
-                Timer timer = new Timer(700, new ListenerAnimation(panelGame, explosion));
-                timer.start();
-                ((Timer) e.getSource()).stop(); // Detener el temporizador actual
+                match.addEffect(Effect.TNT_EXPLOSION, explosion.getX(), explosion.getY(),
+                        explosion.getWidth(), explosion.getHeight(), 700);
+                Pools.PROJECTILES.release(tnt); // Devolver el TNT a la reserva
+                loop.unregister(this); // Dejar de actualizar el TNT
             }
         }
     }
-
-    /**
-     * Genera un JLabel de explosión con tamaño e icono apropiados.
-     *
-     * @return El JLabel que representa la explosión.
-     */
-    private JLabel generateExplosion() {
-        JLabel explosion = new JLabel();
-        explosion.setSize(100, 110); // Establecer tamaño de la explosión
-        explosion.setLocation(this.tnt.getX() - 40, this.tnt.getY() - 40); // Centrar explosión alrededor del TNT
-        Image img = new ImageIcon("src/images/priest/explosionTNT.gif").getImage(); // Cargar imagen de explosión
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(explosion.getWidth(), explosion.getHeight(), Image.SCALE_DEFAULT)
-        );
-        explosion.setIcon(icon); // Establecer el icono de la explosión
-        return explosion;
-    }
-}
\ No newline at end of file
+}
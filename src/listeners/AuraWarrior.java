@@ -1,21 +1,21 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import tools.SkeletonHash;
 import tools.Tools;
 import warriors.Skeleton;
 import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 
 /**
  * @author Mohamed Boutanghach
- * ActionListener que gestiona el efecto de aura del guerrero.
+ * Tickable que gestiona el efecto de aura del guerrero.
  * Este aura daña a los esqueletos cercanos al guerrero.
  */
-public class AuraWarrior implements ActionListener {
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos en el juego
+public class AuraWarrior implements Tickable {
+    private SkeletonHash skeletons; // Lista de esqueletos en el juego
     private Warrior warrior; // El guerrero que tiene el aura
 
     /**
@@ -24,24 +24,24 @@ public class AuraWarrior implements ActionListener {
      * @param skeletons Lista de esqueletos en el juego.
      * @param warrior   El guerrero que tiene el efecto de aura.
      */
-    public AuraWarrior(ArrayList<Skeleton> skeletons, Warrior warrior) {
+    public AuraWarrior(SkeletonHash skeletons, Warrior warrior) {
         this.skeletons = skeletons; // Inicializa la lista de esqueletos
         this.warrior = warrior;     // Inicializa el guerrero
     }
 
     /**
-     * Acción que se ejecuta en cada tick del temporizador.
+     * Acción que se ejecuta en cada paso del bucle de juego.
      * Verifica si hay esqueletos en el área de efecto del guerrero y les causa daño.
      *
-     * @param e El ActionEvent desencadenado por el temporizador.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Obtiene los índices de los esqueletos que intersectan con el cuerpo del guerrero
-        ArrayList<Integer> enemys = Tools.multiIntersectSkel(warrior.getBody(), skeletons);
+    public void tick(GameLoop loop) {
+        // Obtiene los esqueletos que intersectan con el cuerpo del guerrero
+        ArrayList<Skeleton> enemys = Tools.multiIntersectSkel(warrior.getBody(), skeletons);
         if (!enemys.isEmpty()) { // Si hay esqueletos en el área de efecto
             for (int i = 0; i < enemys.size(); i++) {
-                skeletons.get(enemys.get(i)).makeDamage(3); // Aplica daño a cada esqueleto
+                enemys.get(i).makeDamage(3); // Aplica daño a cada esqueleto
             }
         }
     }
@@ -1,42 +1,52 @@
 package listeners;
 
-import warriors.Skeleton;
+import game.GameLoop;
+import game.Tickable;
+import model.Match;
 import warriors.Soldier;
-import warriors.Warrior;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
+/**
+ * @author Mohamed Boutanghach
+ * Tickable que termina la carga de energía de la habilidad definitiva del soldado.
+ * Pasado {@code DELAY} milisegundos detiene la vibración, devuelve el control al
+ * jugador y activa el aura durante {@link EndUltiWarrior#DELAY} milisegundos.
+ */
+public class ChargeWarrioEnergy implements Tickable {
+    /** Duración de la carga de energía en milisegundos. */
+    public static final int DELAY = 2500;
 
-public class ChargeWarrioEnergy implements ActionListener {
-    private JPanel panel;
-    private JLabel energy;
-    private Timer timerVibration;
-    private ArrayList<Skeleton> skeletons;
-    private Warrior warrior;
-    public ChargeWarrioEnergy(JPanel panel, JLabel energy, Timer timerVibration, ArrayList<Skeleton> skeletons, Soldier warrior) {
-        this.panel = panel;
-        this.energy = energy;
-        this.timerVibration = timerVibration;
-        this.skeletons=skeletons;
-        this.warrior=warrior;
+    private Match match; // Partida en la que se lanza la habilidad.
+    private Soldier warrior; // Soldado que carga la energía.
+    private int ticks; // Pasos transcurridos desde el inicio de la carga.
+
+    /**
+     * Constructor para ChargeWarrioEnergy.
+     *
+     * @param match   Partida en la que se lanza la habilidad.
+     * @param warrior Soldado que carga la energía.
+     */
+    public ChargeWarrioEnergy(Match match, Soldier warrior) {
+        this.match = match;
+        this.warrior = warrior;
+        this.ticks = 0;
     }
 
+    /**
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Al terminar la carga activa el aura del soldado.
+     *
+     * @param loop Bucle de juego que ejecuta el paso.
+     */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        timerVibration.stop();
-        panel.setLocation(0,0);
-        panel.remove(energy);
-        panel.setFocusable(true);
-        panel.requestFocusInWindow();
-        ((Soldier)warrior).getAura().setVisible(true);
-        panel.setComponentZOrder(warrior.getBody(),0);
-        Timer timerAura=new Timer(10, new AuraWarrior(skeletons,warrior));
-        Timer finalUlti=new Timer(10000,new EndUltiWarrior(warrior, timerAura));
-        timerAura.start();
-        finalUlti.start();
-        ((Timer)e.getSource()).stop();
+    public void tick(GameLoop loop) {
+        if (++ticks >= loop.ticksFor(DELAY)) {
+            match.stopShaking();
+            warrior.setCasting(false);
+            warrior.setAura(true);
+            AuraWarrior aura = new AuraWarrior(match.getSkeletons(), warrior);
+            loop.register(aura);
+            loop.register(new EndUltiWarrior(warrior, aura));
+            loop.unregister(this);
+        }
     }
 }
@@ -1,43 +1,47 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
 import warriors.Soldier;
-import warriors.Warrior;
-
-import javax.swing.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 
 /**
  * @author Mohamed Boutanghach
- * ActionListener que gestiona el final de la habilidad definitiva del guerrero.
- * Este listener se encarga de desactivar el aura y la invulnerabilidad del guerrero.
+ * Tickable que finaliza la habilidad definitiva del soldado.
+ * Pasado {@code DELAY} milisegundos desactiva el aura y la invulnerabilidad.
  */
-public class EndUltiWarrior implements ActionListener {
-    private Warrior warrior;   // El guerrero al que se le aplica el final de la habilidad
-    private Timer timerAura;   // Temporizador asociado al aura del guerrero
+public class EndUltiWarrior implements Tickable {
+    /** Duración del aura en milisegundos. */
+    public static final int DELAY = 10000;
+
+    private Soldier warrior;   // El guerrero al que se le aplica el final de la habilidad
+    private AuraWarrior aura;  // Efecto de aura que daña a los esqueletos
+    private int ticks;         // Pasos transcurridos desde que se activó el aura
 
     /**
      * Constructor para EndUltiWarrior.
      *
-     * @param warrior  El guerrero al que se le aplica el final de la habilidad.
-     * @param timerAura Temporizador asociado al aura del guerrero.
+     * @param warrior El guerrero al que se le aplica el final de la habilidad.
+     * @param aura    El efecto de aura que hay que detener.
      */
-    public EndUltiWarrior(Warrior warrior, Timer timerAura) {
+    public EndUltiWarrior(Soldier warrior, AuraWarrior aura) {
         this.warrior = warrior;   // Inicializa el guerrero
-        this.timerAura = timerAura; // Inicializa el temporizador del aura
+        this.aura = aura;         // Inicializa el efecto de aura
+        this.ticks = 0;
     }
 
     /**
-     * Acción a realizar cuando se activa el temporizador.
-     * Detiene el temporizador del aura, oculta el aura y desactiva la invulnerabilidad del guerrero.
+     * Método que se ejecuta en cada paso del bucle de juego.
+     * Al terminar el tiempo detiene el aura y el guerrero vuelve a ser vulnerable.
      *
-     * @param e El ActionEvent desencadenado por el temporizador.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        timerAura.stop(); // Detiene el temporizador del aura
-        ((Soldier) warrior).getAura().setVisible(false); // Oculta el aura
-        warrior.setInvincible(false); // Desactiva la invulnerabilidad del guerrero
-        ((Timer) e.getSource()).stop(); // Detiene el temporizador que activó esta acción
+    public void tick(GameLoop loop) {
+        if (++ticks >= loop.ticksFor(DELAY)) {
+            loop.unregister(aura); // Detiene el aura
+            warrior.setAura(false); // Oculta el aura
+            warrior.setInvincible(false); // Desactiva la invulnerabilidad del guerrero
+            loop.unregister(this);
+        }
     }
 }
@@ -1,134 +1,86 @@
 package listeners;
 
-import tools.Tools;
-import warriors.Skeleton;
-import warriors.Soldier;
-import warriors.Warrior;
+import game.InputState;
+import model.Match;
 
 import javax.swing.*;
+import java.awt.event.FocusEvent;
+import java.awt.event.FocusListener;
 import java.awt.event.KeyAdapter;
 import java.awt.event.KeyEvent;
-import java.util.ArrayList;
 
 /**
  * @author Mohamed Boutanghach
  * Clase que maneja los eventos de teclado en el juego.
- * Este listener permite controlar el movimiento y las acciones del guerrero.
+ * Este listener solo anota en la tabla de teclas qué teclas están pulsadas; la partida
+ * la consulta en cada paso de simulación y la vista muestra el resultado en el siguiente
+ * fotograma.
  */
-public class KeyListenerGame extends KeyAdapter {
-    private Warrior warrior;                // El guerrero que el jugador controla
-    private ArrayList<JLabel> listWalls;    // Lista de paredes en el juego
-    private ArrayList<Skeleton> skeletons;   // Lista de esqueletos en el juego
-    private JPanel panelGame;                // Panel del juego donde se dibujan los componentes
+public class KeyListenerGame extends KeyAdapter implements FocusListener {
+    private Match match;                     // Partida que controla el jugador
+    private InputState input;                // Tabla de teclas de la partida
+    private JPanel panelGame;                // Panel del juego que recibe las teclas
 
     /**
      * Constructor para KeyListenerGame.
      *
-     * @param warrior   El guerrero que el jugador controla.
-     * @param listWalls Lista de paredes en el juego.
-     * @param skeletons Lista de esqueletos en el juego.
-     * @param panelGame El panel donde se dibujan los componentes del juego.
-     * @param items     Lista de ítems en el juego.
+     * @param match     La partida que controla el jugador.
+     * @param input     La tabla de teclas de la partida.
+     * @param panelGame El panel del juego que recibe las teclas.
      */
-    public KeyListenerGame(Warrior warrior, ArrayList<JLabel> listWalls, ArrayList<Skeleton> skeletons, JPanel panelGame, ArrayList<JLabel> items) {
-        this.warrior = warrior;            // Inicializa el guerrero
-        this.listWalls = listWalls;        // Inicializa la lista de paredes
-        this.skeletons = skeletons;        // Inicializa la lista de esqueletos
+    public KeyListenerGame(Match match, InputState input, JPanel panelGame) {
+        this.match = match;                // Inicializa la partida
+        this.input = input;                // Inicializa la tabla de teclas
         this.panelGame = panelGame;        // Inicializa el panel del juego
     }
 
     /**
      * Método llamado cuando se presiona una tecla.
-     * Maneja el movimiento y las acciones del guerrero según la tecla presionada.
+     * Anota la tecla como pulsada; las repeticiones del sistema no tienen efecto.
      *
      * @param e El evento de tecla que se ha presionado.
      */
     @Override
     public void keyPressed(KeyEvent e) {
         super.keyPressed(e);
-        // Verifica si el guerrero está muerto o si ha alcanzado el límite de esmeraldas
-        if (this.warrior.getLive() <= 0 || this.warrior.getEmeralds() == 10) {
+        if (match.isFinished()) {
             panelGame.removeKeyListener(this); // Elimina el listener si el guerrero no puede jugar
+            panelGame.removeFocusListener(this);
         } else {
-            char key = Character.toLowerCase(e.getKeyChar()); // Convierte la tecla a minúscula
-            switch (key) {
-                case 'a': // Mover hacia la izquierda
-                    if (!warrior.getBody().getIcon().equals(warrior.getLeftMove())) {
-                        warrior.getBody().setIcon(warrior.getLeftMove());
-                    }
-                    warrior.getBody().setLocation(warrior.getBody().getX() - Tools.validateMove(warrior.getBody(), listWalls, warrior.getSpeed(), key), warrior.getBody().getY());
-                    relocate(); // Reloca el aura si el guerrero es un soldado
-                    break;
-                case 's': // Mover hacia abajo
-                    if (!warrior.getBody().getIcon().equals(warrior.getDownMove())) {
-                        warrior.getBody().setIcon(warrior.getDownMove());
-                    }
-                    warrior.getBody().setLocation(warrior.getBody().getX(), warrior.getBody().getY() + Tools.validateMove(warrior.getBody(), listWalls, warrior.getSpeed(), key));
-                    relocate(); // Reloca el aura
-                    break;
-                case 'd': // Mover hacia la derecha
-                    if (!warrior.getBody().getIcon().equals(warrior.getRightMove())) {
-                        warrior.getBody().setIcon(warrior.getRightMove());
-                    }
-                    warrior.getBody().setLocation(Tools.validateMove(warrior.getBody(), listWalls, warrior.getSpeed(), key) + warrior.getBody().getX(), warrior.getBody().getY());
-                    relocate(); // Reloca el aura
-                    break;
-                case 'w': // Mover hacia arriba
-                    if (!warrior.getBody().getIcon().equals(warrior.getUpMove())) {
-                        warrior.getBody().setIcon(warrior.getUpMove());
-                    }
-                    warrior.getBody().setLocation(warrior.getBody().getX(), warrior.getBody().getY() - Tools.validateMove(warrior.getBody(), listWalls, warrior.getSpeed(), key));
-                    relocate(); // Reloca el aura
-                    break;
-                case 'p': // Atacar
-                    warrior.attack(panelGame, skeletons, listWalls);
-                    break;
-                case 'o': // Usar habilidad definitiva si el mana está en 10 o 0
-                    if (this.warrior.getMana() == 10 || this.warrior.getMana() == 0) {
-                        warrior.ulti(panelGame, skeletons, listWalls);
-                    }
-                    break;
-                case 't': // Añadir 10 esmeraldas al guerrero
-                    for (int i = 0; i < 10; i++) {
-                        warrior.addEmerald();
-                    }
-                    break;
-            }
-        }
-    }
-
-    /**
-     * Método que reubica el aura del guerrero si es un soldado.
-     */
-    private void relocate() {
-        if (warrior instanceof Soldier) {
-            ((Soldier) warrior).getAura().setLocation(warrior.getBody().getX() - 9, warrior.getBody().getY() - 9);
+            input.press(InputState.keyFor(e.getKeyChar()));
         }
     }
 
     /**
      * Método llamado cuando se suelta una tecla.
-     * Cambia el ícono del guerrero al estado correspondiente.
+     * Anota la tecla como suelta; el guerrero se detiene en el siguiente paso si no
+     * queda ninguna dirección pulsada.
      *
      * @param e El evento de tecla que se ha soltado.
      */
     @Override
     public void keyReleased(KeyEvent e) {
         super.keyReleased(e);
-        char key = Character.toLowerCase(e.getKeyChar());
-        switch (key) {
-            case 'a':
-                warrior.getBody().setIcon(warrior.getLeft());
-                break;
-            case 's':
-                warrior.getBody().setIcon(warrior.getDown());
-                break;
-            case 'd':
-                warrior.getBody().setIcon(warrior.getRight());
-                break;
-            case 'w':
-                warrior.getBody().setIcon(warrior.getUp());
-                break;
-        }
+        input.release(InputState.keyFor(e.getKeyChar()));
+    }
+
+    /**
+     * Método llamado cuando el panel del juego recibe el foco. No hace nada.
+     *
+     * @param e El evento de foco.
+     */
+    @Override
+    public void focusGained(FocusEvent e) {
+    }
+
+    /**
+     * Método llamado cuando el panel del juego pierde el foco.
+     * Suelta todas las teclas, ya que no llegarán los eventos de soltarlas.
+     *
+     * @param e El evento de foco.
+     */
+    @Override
+    public void focusLost(FocusEvent e) {
+        input.clear();
     }
 }
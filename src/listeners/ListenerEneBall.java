@@ -1,78 +1,73 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Body;
+import model.Effect;
+import model.Match;
+import model.Projectile;
+import tools.Pools;
 import tools.Tools;
 import warriors.Skeleton;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.util.ArrayList;
-
 /**
  * @author Mohamed Boutanghach
  * Clase que maneja el comportamiento de la bola de energía en el juego.
- * Implementa ActionListener para gestionar el movimiento y las colisiones.
+ * Implementa Tickable para gestionar el movimiento y las colisiones en cada paso del bucle de juego.
  */
-public class ListenerEneBall implements ActionListener {
-    private ArrayList<JLabel> listWalls; // Lista de paredes en el juego
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos en el juego
-    private String direction; // Dirección en la que se mueve la bola de energía
-    private JLabel energyBall; // JLabel que representa la bola de energía
-    private JPanel panelGame; // Panel del juego donde se dibujan los elementos
+public class ListenerEneBall implements Tickable {
+    private static final int SPEED = 10; // Píxeles que avanza la bola de energía en cada paso
+    private Match match; // Partida en la que se mueve la bola de energía
+    private Projectile energyBall; // Bola de energía que se mueve
 
     /**
      * Constructor para ListenerEneBall.
      *
-     * @param listWalls   Lista de etiquetas que representan las paredes.
-     * @param skeletons   Lista de esqueletos en el juego.
-     * @param direction   Dirección del movimiento de la bola de energía (d, a, w, s).
-     * @param energyBall  JLabel que representa la bola de energía.
-     * @param panelGame   JPanel del juego donde se actualizan los elementos.
+     * @param energyBall Bola de energía, con su dirección de movimiento (d, a, w, s).
+     * @param match      Partida en la que se mueve la bola de energía.
      */
-    public ListenerEneBall(ArrayList<JLabel> listWalls, ArrayList<Skeleton> skeletons, String direction, JLabel energyBall, JPanel panelGame) {
-        this.direction = direction;
-        this.listWalls = listWalls;
-        this.skeletons = skeletons;
+    public ListenerEneBall(Projectile energyBall, Match match) {
         this.energyBall = energyBall;
-        this.panelGame = panelGame;
+        this.match = match;
     }
 
     /**
-     * Maneja el evento de acción para mover la bola de energía.
-     * Verifica colisiones con paredes y esqueletos, y genera explosiones si es necesario.
+     * Mueve la bola de energía en cada paso del bucle de juego y gestiona las colisiones.
+     * Al terminar la partida la bola se retira.
      *
-     * @param e El evento de acción disparado por el temporizador.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        // Mover la bola de energía en la dirección correspondiente
-        switch (direction) {
-            case "d": // Movimiento a la derecha
-                energyBall.setLocation(energyBall.getX() + 10, energyBall.getY());
+    public void tick(GameLoop loop) {
+        if (match.isFinished()) {
+            removeBall(loop); // Retirar la bola de energía al terminar la partida
+            return;
+        }
+        Body body = energyBall.getBody();
+        switch (energyBall.getDirection()) {
+            case 'd': // Movimiento a la derecha
+                body.setLocation(body.getX() + SPEED, body.getY());
                 break;
-            case "a": // Movimiento a la izquierda
-                energyBall.setLocation(energyBall.getX() - 10, energyBall.getY());
+            case 'a': // Movimiento a la izquierda
+                body.setLocation(body.getX() - SPEED, body.getY());
                 break;
-            case "w": // Movimiento hacia arriba
-                energyBall.setLocation(energyBall.getX(), energyBall.getY() - 10);
+            case 'w': // Movimiento hacia arriba
+                body.setLocation(body.getX(), body.getY() - SPEED);
                 break;
-            case "s": // Movimiento hacia abajo
-                energyBall.setLocation(energyBall.getX(), energyBall.getY() + 10);
+            case 's': // Movimiento hacia abajo
+                body.setLocation(body.getX(), body.getY() + SPEED);
                 break;
         }
 
-        // Verificar colisiones con paredes o esqueletos
         if (intersectWall()) {
-            makeExplotion(e); // Crear explosión al colisionar con una pared
+            makeExplotion(loop); // Crear explosión al colisionar con una pared
         } else {
-            int skelInter = Tools.intersectSkel(this.energyBall, skeletons); // Verificar intersección con esqueletos
-            if (skelInter != -1) {
-                skeletons.get(skelInter).makeDamage(1); // Infligir daño al esqueleto
-                makeExplotion(e); // Crear explosión al colisionar con un esqueleto
+            Skeleton skelInter = Tools.intersectSkel(body, match.getSkeletons()); // Verificar intersección con esqueletos
+            if (skelInter != null) {
+                skelInter.makeDamage(1); // Infligir daño al esqueleto
+                makeExplotion(loop); // Crear explosión al colisionar con un esqueleto
             }
         }
-        panelGame.repaint(); // Repaint del panel del juego
     }
 
     /**
@@ -81,38 +76,29 @@ public class ListenerEneBall implements ActionListener {
      * @return true si hay intersección con una pared, false en caso contrario.
      */
     private boolean intersectWall() {
-        Rectangle ball = energyBall.getBounds(); // Obtener límites de la bola
-        int i = 0;
-        boolean intersect = false;
-        // Verificar intersecciones con todas las paredes
-        while (i < this.listWalls.size() && !intersect) {
-            Rectangle walls = this.listWalls.get(i).getBounds();
-            intersect = walls.intersects(ball); // Verificar intersección
-            i++;
-        }
-        return intersect; // Retornar el resultado de la verificación
+        Body body = energyBall.getBody();
+        return match.getMap().getWalls().intersects(body.getX(), body.getY(), body.getWidth(), body.getHeight());
+    }
+
+    /**
+     * Crea una explosión en la ubicación de la bola de energía y la retira de la partida.
+     *
+     * @param loop Bucle de juego del que se elimina la bola de energía.
+     */
+    private void makeExplotion(GameLoop loop) {
+        match.addEffect(Effect.ENERGY_EXPLOSION, energyBall.getBody().getX(), energyBall.getBody().getY(),
+                60, 60, 350); // Explosión en la ubicación de la bola
+        removeBall(loop);
     }
 
     /**
-     * Genera una explosión cuando la bola de energía colisiona con un objeto.
+     * Retira la bola de energía de la partida, la devuelve a la reserva y deja de moverla.
      *
-     * @param e El evento de acción que disparó la explosión.
+     * @param loop Bucle de juego del que se elimina la bola de energía.
      */
-    private void makeExplotion(ActionEvent e) {
-        JLabel explo = new JLabel(); // Crear JLabel para la explosión
-        explo.setSize(60, 60); // Establecer el tamaño de la explosión
-        Image img = new ImageIcon("src/images/exploFinMagi.gif").getImage(); // Cargar imagen de explosión
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(explo.getWidth(), explo.getHeight(), Image.SCALE_DEFAULT)
-        );
-        explo.setIcon(icon); // Establecer el icono de explosión
-        panelGame.remove(energyBall); // Eliminar la bola de energía del panel
-        explo.setLocation(energyBall.getLocation()); // Colocar la explosión en la ubicación de la bola
-        panelGame.add(explo); // Agregar la explosión al panel
-        panelGame.setComponentZOrder(explo, 0); // Establecer el orden de los componentes
-        panelGame.repaint(); // Repaint del panel del juego
-        Timer timerExplo = new Timer(350, new ListenerAnimation(panelGame, explo)); // Temporizador para la animación de explosión
-        timerExplo.start(); // Iniciar temporizador
-        ((Timer)e.getSource()).stop(); // Detener el temporizador que activó la acción
+    private void removeBall(GameLoop loop) {
+        match.getProjectiles().remove(energyBall); // Retirar la bola de energía
+        Pools.PROJECTILES.release(energyBall); // Devolver la bola de energía a la reserva
+        loop.unregister(this); // Dejar de mover la bola de energía
     }
 }
@@ -1,83 +1,79 @@
 package listeners;
 
+import game.GameLoop;
+import game.Tickable;
+import model.Body;
+import model.Effect;
+import model.GameMap;
+import model.Match;
+import model.Projectile;
+import tools.Pools;
 import tools.Tools;
 import warriors.Skeleton;
 
-import javax.swing.*;
-import javax.tools.Tool;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
 import java.util.ArrayList;
 
 /**
  * @author Mohamed Boutanghach
  * Clase que maneja el comportamiento de un cohete en el juego.
- * Implementa ActionListener para gestionar el movimiento del cohete y las colisiones con enemigos.
+ * Implementa Tickable para gestionar el movimiento del cohete y las colisiones con enemigos.
  */
-public class ListenerRocket implements ActionListener {
-    private JLabel rocket; // JLabel que representa el cohete
-    private ArrayList<Skeleton> skeletons; // Lista de esqueletos enemigos
-    private JPanel panel; // Panel donde se dibuja el juego
+public class ListenerRocket implements Tickable {
+    private static final int SPEED = 15; // Píxeles que cae el cohete en cada paso
+    private Projectile rocket; // Cohete que cae
+    private Match match; // Partida en la que cae el cohete
 
     /**
      * Constructor para ListenerRocket.
      *
-     * @param rocket     JLabel que representa el cohete.
-     * @param skeletons  Lista de esqueletos enemigos.
-     * @param panel      Panel donde se dibuja el juego.
+     * @param rocket Cohete que cae.
+     * @param match  Partida en la que cae el cohete.
      */
-    public ListenerRocket(JLabel rocket, ArrayList<Skeleton> skeletons, JPanel panel) {
+    public ListenerRocket(Projectile rocket, Match match) {
         this.rocket = rocket;
-        this.skeletons = skeletons;
-        this.panel = panel;
+        this.match = match;
     }
 
     /**
-     * Maneja el evento de acción en cada intervalo de tiempo.
+     * Actualiza el cohete en cada paso del bucle de juego.
      * Mueve el cohete hacia abajo y verifica las colisiones con los enemigos.
      * Si hay una colisión, genera una explosión y aplica daño a los enemigos.
-     * Si el cohete sale del área visible, lo elimina.
+     * Si el cohete sale del área visible o termina la partida, lo elimina.
      *
-     * @param e El evento de acción disparado por el temporizador.
+     * @param loop Bucle de juego que ejecuta el paso.
      */
     @Override
-    public void actionPerformed(ActionEvent e) {
-        rocket.setLocation(rocket.getX(), rocket.getY() + 15); // Mover el cohete hacia abajo
-        int enemy = Tools.intersectSkel(rocket, skeletons); // Verificar colisión con enemigos
-        if (enemy != -1) {
-            JLabel explotion = generateExplotion(); // Generar explosión
-            ArrayList<Integer> enemys = Tools.multiIntersectSkel(explotion, skeletons); // Obtener enemigos afectados por la explosión
+    public void tick(GameLoop loop) {
+        if (match.isFinished()) {
+            removeRocket(loop); // Retirar el cohete al terminar la partida
+            return;
+        }
+        Body body = rocket.getBody();
+        body.setLocation(body.getX(), body.getY() + SPEED); // Mover el cohete hacia abajo
+        Skeleton enemy = Tools.intersectSkel(body, match.getSkeletons()); // Verificar colisión con enemigos
+
+        if (enemy != null) {
+            Body explotion = new Body(body.getX() - 50, body.getY() - 40, 100, 110); // Área de la explosión
+            ArrayList<Skeleton> enemys = Tools.multiIntersectSkel(explotion, match.getSkeletons()); // Obtener enemigos afectados por la explosión
             for (int i = 0; i < enemys.size(); i++) {
-                skeletons.get(enemys.get(i)).makeDamage(3); // Aplicar daño a los enemigos
+                enemys.get(i).makeDamage(3); // Aplicar daño a los enemigos
             }
-            panel.remove(rocket); // Eliminar el cohete del panel
-            panel.add(explotion); // Agregar la explosión al panel
-            panel.setComponentZOrder(explotion, 0); // Colocar la explosión en el fondo
-            panel.repaint(); // Repaint del panel
-            Timer timer = new Timer(700, new ListenerAnimation(panel, explotion)); // Temporizador para eliminar la explosión
-            timer.start();
-            ((Timer) e.getSource()).stop(); // Detener el temporizador del cohete
-        } else if (rocket.getY() > panel.getHeight() - rocket.getHeight()) {
-            panel.remove(rocket); // Eliminar el cohete si sale del panel
-            ((Timer) e.getSource()).stop(); // Detener el temporizador del cohete
+            match.addEffect(Effect.TNT_EXPLOSION, explotion.getX(), explotion.getY(),
+                    explotion.getWidth(), explotion.getHeight(), 700);
+            removeRocket(loop);
+        } else if (body.getY() > GameMap.HEIGHT - body.getHeight()) {
+            removeRocket(loop); // Retirar el cohete si sale del mapa
         }
     }
 
     /**
-     * Genera un JLabel que representa la explosión.
+     * Retira el cohete de la partida, lo devuelve a la reserva y deja de moverlo.
      *
-     * @return JLabel que contiene la imagen de la explosión.
+     * @param loop Bucle de juego del que se elimina el cohete.
      */
-    private JLabel generateExplotion() {
-        JLabel explo = new JLabel();
-        explo.setSize(100, 110); // Establecer tamaño de la explosión
-        explo.setLocation(this.rocket.getX() - 50, this.rocket.getY() - 40); // Establecer posición de la explosión
-        Image img = new ImageIcon("src/images/priest/explosionTNT.gif").getImage(); // Cargar imagen de explosión
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(explo.getWidth(), explo.getHeight(), Image.SCALE_DEFAULT) // Escalar imagen
-        );
-        explo.setIcon(icon); // Establecer icono de la explosión
-        return explo; // Retornar el JLabel de la explosión
+    private void removeRocket(GameLoop loop) {
+        match.getProjectiles().remove(rocket); // Retirar el cohete
+        Pools.PROJECTILES.release(rocket); // Devolver el cohete a la reserva
+        loop.unregister(this); // Dejar de mover el cohete
     }
-}
\ No newline at end of file
+}
@@ -1,15 +1,13 @@
 package listeners;
 
+import database.Database;
 import tools.Tools;
 import user.User;
+import user.UserRegistry;
 
 import javax.swing.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.PreparedStatement;
-import java.util.LinkedHashSet;
 
 /**
  * @author Mohamed Boutanghach
@@ -17,7 +15,7 @@ import java.util.LinkedHashSet;
  * Extiende MouseAdapter para capturar clics en la interfaz gráfica.
  */
 public class MouseListenerCreateUser extends MouseAdapter {
-    private LinkedHashSet<User> listUser; // Conjunto de usuarios existentes
+    private UserRegistry listUser; // Registro de usuarios existentes
     private JTextField name; // Campo de texto para ingresar el nombre del usuario
     private JPanel panelMainMenu; // Panel del menú principal
     private JPanel panelMain; // Panel principal del juego
@@ -28,7 +26,7 @@ public class MouseListenerCreateUser extends MouseAdapter {
     /**
      * Constructor para MouseListenerCreateUser.
      *
-     * @param listUsers       Conjunto de usuarios existentes.
+     * @param listUsers       Registro de usuarios existentes.
      * @param name            Campo de texto para ingresar el nombre del usuario.
      * @param panelMainMenu   Panel del menú principal.
      * @param panelMain       Panel principal del juego.
@@ -36,7 +34,7 @@ public class MouseListenerCreateUser extends MouseAdapter {
      * @param user            Usuario actual.
      * @param panelSeleWarrior Panel de selección de guerrero.
      */
-    public MouseListenerCreateUser(LinkedHashSet<User> listUsers, JTextField name, JPanel panelMainMenu, JPanel panelMain, JPanel users, User user, JPanel panelSeleWarrior) {
+    public MouseListenerCreateUser(UserRegistry listUsers, JTextField name, JPanel panelMainMenu, JPanel panelMain, JPanel users, User user, JPanel panelSeleWarrior) {
         this.listUser = listUsers;
         this.panelMainMenu = panelMainMenu;
         this.name = name;
@@ -58,35 +56,26 @@ public class MouseListenerCreateUser extends MouseAdapter {
     @Override
     public void mouseClicked(MouseEvent e) {
         super.mouseClicked(e);
-        int amount;
         String nameUser = name.getText(); // Obtener el nombre ingresado
         if (nameUser.equals("")) {
             JOptionPane.showMessageDialog(null, "Tienes que introducir un nombre"); // Mensaje de error si el campo está vacío
         } else {
             User newUser = new User(nameUser); // Crear un nuevo usuario
-            amount = listUser.size(); // Contar usuarios existentes
-            listUser.add(newUser); // Intentar agregar el nuevo usuario
-            if (amount == listUser.size()) {
+            if (!listUser.add(newUser)) { // Solo se registra si el nombre no existe ya
                 JOptionPane.showMessageDialog(null, "Este usuario ya existe.\nIntroduce un nuevo nombre."); // Mensaje de error si el usuario ya existe
                 name.setText(""); // Limpiar el campo de texto
             } else {
                 JOptionPane.showMessageDialog(null, "El usuario " + name.getText() + " ha sido creado exitosamente"); // Mensaje de éxito
                 name.setText(""); // Limpiar el campo de texto
                 Tools.updateUsers(users, listUser, panelSeleWarrior, panelMain); // Actualizar la lista de usuarios en la interfaz
-                try {
-                    // Conectar a la base de datos e insertar el nuevo usuario
-                    Connection con = Tools.getConnectionToDataBase();
-                    PreparedStatement ps = con.prepareStatement("insert into Users(name) values( ? )");
-                    ps.setString(1, newUser.getName());
-                    int rows = ps.executeUpdate(); // Ejecutar la actualización
-                    if (rows > 0) {
-                        System.out.println("Actualización realizada"); // Confirmación de éxito
-                    }
-                    ps.close(); // Cerrar el PreparedStatement
-                    con.close(); // Cerrar la conexión
-                } catch (Exception a) {
-                    System.out.println("Error al insertar"); // Mensaje de error si falla la inserción
-                }
+                // Insertar el nuevo usuario en la base de datos fuera del hilo de eventos
+                Database.executor().submit(() -> Database.users().insert(newUser),
+                        inserted -> {
+                            if (inserted) {
+                                System.out.println("Actualización realizada"); // Confirmación de éxito
+                            }
+                        },
+                        error -> System.out.println("Error al insertar")); // Mensaje de error si falla la inserción
                 panelMain.removeAll(); // Limpiar el panel principal
                 panelMain.repaint(); // Repaint del panel principal
                 panelMain.add(panelMainMenu); // Agregar el menú principal al panel
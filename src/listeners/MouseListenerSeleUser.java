@@ -1,11 +1,10 @@
 package listeners;
 
-import user.User;
+import user.UserRegistry;
 
 import javax.swing.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.LinkedHashSet;
 
 /**
  * @author Mohamed Boutanghach
@@ -15,7 +14,7 @@ import java.util.LinkedHashSet;
 public class MouseListenerSeleUser extends MouseAdapter {
     private JPanel panelMain;          // Panel principal donde se realizan los cambios
     private JPanel newPanel;           // Nuevo panel que se mostrará al seleccionar un usuario
-    private LinkedHashSet<User> listUsers; // Lista de usuarios disponibles
+    private UserRegistry listUsers; // Lista de usuarios disponibles
 
     /**
      * Constructor para la clase MouseListenerSeleUser.
@@ -24,7 +23,7 @@ public class MouseListenerSeleUser extends MouseAdapter {
      * @param newPanel    El panel que se mostrará al seleccionar un usuario.
      * @param listUsers   La lista de usuarios que han sido creados.
      */
-    public MouseListenerSeleUser(JPanel panelMain, JPanel newPanel, LinkedHashSet<User> listUsers) {
+    public MouseListenerSeleUser(JPanel panelMain, JPanel newPanel, UserRegistry listUsers) {
         this.newPanel = newPanel;
         this.panelMain = panelMain;
         this.listUsers = listUsers;
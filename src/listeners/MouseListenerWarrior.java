@@ -1,15 +1,19 @@
 package listeners;
 
-import user.Round;
-import user.User;
+import game.GameLoop;
+import game.InputState;
+import game.Replay;
+import model.GameMap;
+import model.Match;
+import user.UserRegistry;
+import view.GameView;
+import view.RankingView;
 import warriors.*;
 
 import javax.swing.*;
+import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
-import java.util.ArrayList;
-import java.util.LinkedHashSet;
-import java.util.TreeSet;
 
 /**
  * @author Mohamed Boutanghach
@@ -21,14 +25,12 @@ public class MouseListenerWarrior extends MouseAdapter {
     private JPanel panelGame;                // Panel del juego
     private JPanel panelMainMenu;           // Panel del menú principal
     private JPanel panelSeleWarrior;        // Panel para la selección de guerreros
-    private JPanel ranking;                  // Panel de ranking
+    private RankingView ranking;             // Ranking de los jugadores
     private JLabel label;                    // Etiqueta que representa el guerrero seleccionado
     private Warrior warrior;                 // Guerrero seleccionado
     private Timer timer;                     // Temporizador para efectos visuales
-    private ArrayList<JLabel> listWalls;    // Lista de paredes en el juego
-    private ArrayList<JLabel> listFloor;     // Lista de pisos en el juego
-    private TreeSet<Round> listRounds;      // Lista de rondas jugadas
-    private LinkedHashSet<User> listUsers;  // Lista de usuarios
+    private GameMap map;                     // Mapa del juego
+    private UserRegistry listUsers;  // Lista de usuarios
 
     /**
      * Constructor para la clase MouseListenerWarrior.
@@ -36,24 +38,20 @@ public class MouseListenerWarrior extends MouseAdapter {
      * @param label          La etiqueta que representa el guerrero.
      * @param panelMain     El panel principal que contendrá los cambios.
      * @param panelGame     El panel del juego.
-     * @param listWalls     La lista de paredes en el juego.
-     * @param listFloor     La lista de pisos en el juego.
+     * @param map           El mapa del juego.
      * @param panelMainMenu El panel del menú principal.
      * @param panel         El panel de selección de guerreros.
-     * @param listRounds    La lista de rondas jugadas.
-     * @param ranking       El panel de ranking.
+     * @param ranking       El ranking de los jugadores.
      * @param listUsers     La lista de usuarios.
      */
-    public MouseListenerWarrior(JLabel label, JPanel panelMain, JPanel panelGame, ArrayList<JLabel> listWalls, ArrayList<JLabel> listFloor, JPanel panelMainMenu, JPanel panel, TreeSet<Round> listRounds, JPanel ranking, LinkedHashSet<User> listUsers) {
+    public MouseListenerWarrior(JLabel label, JPanel panelMain, JPanel panelGame, GameMap map, JPanel panelMainMenu, JPanel panel, RankingView ranking, UserRegistry listUsers) {
         this.label = label;
         this.panelMain = panelMain;
         this.warrior = null;
         this.panelGame = panelGame;
-        this.listWalls = listWalls;
-        this.listFloor = listFloor;
+        this.map = map;
         this.panelMainMenu = panelMainMenu;
         this.panelSeleWarrior = panel;
-        this.listRounds = listRounds;
         this.ranking = ranking;
         this.listUsers = listUsers;
     }
@@ -98,7 +96,6 @@ public class MouseListenerWarrior extends MouseAdapter {
     @Override
     public void mouseClicked(MouseEvent e) {
         super.mouseClicked(e);
-        JLabel body, aura;
 
         // Determina el tipo de guerrero según la imagen de la etiqueta
         if (label.getName().equals("src/images/magicAvatar.png")) {
@@ -109,37 +106,36 @@ public class MouseListenerWarrior extends MouseAdapter {
             this.warrior = new Soldier();
         }
 
-        ArrayList<JLabel> items = new ArrayList<>();
-        ArrayList<Skeleton> skeletons = new ArrayList<>();
         this.panelMain.removeAll();
         this.panelMain.repaint();
-
-        // Si es un soldado, se agrega su aura al panel del juego
-        if (warrior instanceof Soldier) {
-            aura = ((Soldier) warrior).getAura();
-            panelGame.add(aura);
-            panelGame.setComponentZOrder(aura, 0);
-        }
-
         panelGame.setName(panelSeleWarrior.getName()); // Configura el nombre del panel de juego
-        body = warrior.getBody(); // Obtiene el cuerpo del guerrero
-        panelGame.add(body); // Agrega el cuerpo al panel del juego
-        panelGame.setComponentZOrder(body, 0);
         this.panelMain.add(panelGame); // Agrega el panel del juego al panel principal
 
-        // Inicia un temporizador para agregar monstruos cada 2 segundos
-        Timer addMonsters = new Timer(2000, new ActionListenerAddMonst(warrior, listWalls, listFloor, panelGame, skeletons, items));
-        addMonsters.start();
+        // La partida guarda el estado y la vista lo dibuja en el panel del juego una vez por fotograma
+        Match match = new Match(map, warrior, System.nanoTime());
+        GameView view = new GameView(panelGame, match);
+        GameLoop loop = new GameLoop(GameLoop.TICK_RATE, GameLoop.FRAME_RATE, view);
+        InputState input = new InputState(match);
+        loop.register(input); // Las teclas se aplican al principio de cada paso
+        match.start(loop); // Agrega la partida y un esqueleto cada 2 segundos
+        Replay replay = null;
+        if (Replay.DIRECTORY != null) { // Graba las teclas de cada paso para poder reproducir la partida
+            replay = new Replay(warrior.getType(), match.getSeed(), loop.getTickRate(), input.getMoveRate());
+            input.record(replay);
+        }
+        loop.register(new ListenerGame(match, view, replay, panelMain, panelMainMenu, panelGame, ranking, listUsers));
 
-        // Agrega un KeyListener para manejar las acciones del guerrero
-        panelGame.addKeyListener(new KeyListenerGame(warrior, listWalls, skeletons, panelGame, items));
-        addHearts(); // Agrega los iconos de vida al juego
-        panelGame.add(warrior.getQuanty());
-        panelGame.setComponentZOrder(warrior.getQuanty(), 0);
+        // Agrega un KeyListener que anota las teclas del guerrero
+        KeyListenerGame keyListener = new KeyListenerGame(match, input, panelGame);
+        panelGame.addKeyListener(keyListener);
+        panelGame.addFocusListener(keyListener);
 
-        // Inicia el temporizador del juego
-        Timer timerGame = new Timer(5, new ListenerGame(warrior, panelMain, panelMainMenu, panelGame, listRounds, ranking, listUsers));
-        timerGame.start();
+        // Inicia el bucle de juego; el reloj de partida se detiene mientras la ventana esté minimizada
+        Window window = SwingUtilities.getWindowAncestor(panelMain);
+        if (window != null) {
+            loop.pauseWhileIconified(window);
+        }
+        loop.start();
 
         // Prepara el panel del juego para recibir entrada
         panelGame.setFocusable(true);
@@ -153,16 +149,4 @@ public class MouseListenerWarrior extends MouseAdapter {
         this.timer.start();
         this.panelMain.repaint();
     }
-
-    /**
-     * Agrega los iconos de vida del guerrero al panel del juego.
-     */
-    private void addHearts() {
-        for (int i = 0; i < this.warrior.getLive(); i++) {
-            this.warrior.getLivesIcon().get(i).setLocation(150 + (i * this.warrior.getLivesIcon().get(i).getWidth() + 20), 20);
-            this.panelGame.add(this.warrior.getLivesIcon().get(i)); // Agrega cada icono de vida al panel del juego
-            this.panelGame.setComponentZOrder(this.warrior.getLivesIcon().get(i), 0);
-        }
-        panelGame.repaint(); // Repinta el panel del juego
-    }
 }
@@ -0,0 +1,132 @@
+package model;
+
+/**
+ * @author Mohamed Boutanghach
+ * Rectángulo con coordenadas enteras que ocupa una entidad en el mapa.
+ * Es la posición y el tamaño que usa la simulación; la interfaz gráfica
+ * se limita a dibujar sus etiquetas en el mismo sitio.
+ * <p>
+ * Las colisiones siguen las mismas reglas que {@link java.awt.Rectangle#intersects}:
+ * dos cuerpos solo se solapan si comparten área y ambos tienen tamaño positivo.
+ */
+public class Body {
+    private int x; // Coordenada X de la esquina superior izquierda.
+    private int y; // Coordenada Y de la esquina superior izquierda.
+    private int width; // Anchura del cuerpo.
+    private int height; // Altura del cuerpo.
+
+    /**
+     * Constructor de un cuerpo vacío en el origen.
+     */
+    public Body() {
+    }
+
+    /**
+     * Constructor de un cuerpo con tamaño en el origen.
+     *
+     * @param width  Anchura del cuerpo.
+     * @param height Altura del cuerpo.
+     */
+    public Body(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Constructor de un cuerpo con posición y tamaño.
+     *
+     * @param x      Coordenada X.
+     * @param y      Coordenada Y.
+     * @param width  Anchura del cuerpo.
+     * @param height Altura del cuerpo.
+     */
+    public Body(int x, int y, int width, int height) {
+        this.x = x;
+        this.y = y;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Mueve el cuerpo a una posición.
+     *
+     * @param x Coordenada X.
+     * @param y Coordenada Y.
+     */
+    public void setLocation(int x, int y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * Cambia el tamaño del cuerpo.
+     *
+     * @param width  Anchura del cuerpo.
+     * @param height Altura del cuerpo.
+     */
+    public void setSize(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * Comprueba si el cuerpo se solapa con otro.
+     *
+     * @param other Cuerpo a comprobar.
+     * @return true si hay solapamiento.
+     */
+    public boolean intersects(Body other) {
+        return intersects(other.x, other.y, other.width, other.height);
+    }
+
+    /**
+     * Comprueba si el cuerpo se solapa con un rectángulo.
+     *
+     * @param x      Coordenada X del rectángulo.
+     * @param y      Coordenada Y del rectángulo.
+     * @param width  Anchura del rectángulo.
+     * @param height Altura del rectángulo.
+     * @return true si hay solapamiento.
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        return this.width > 0 && this.height > 0 && width > 0 && height > 0
+                && x < this.x + this.width && this.x < x + width
+                && y < this.y + this.height && this.y < y + height;
+    }
+
+    /**
+     * Obtiene la coordenada X del cuerpo.
+     *
+     * @return Coordenada X.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Obtiene la coordenada Y del cuerpo.
+     *
+     * @return Coordenada Y.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Obtiene la anchura del cuerpo.
+     *
+     * @return Anchura.
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtiene la altura del cuerpo.
+     *
+     * @return Altura.
+     */
+    public int getHeight() {
+        return height;
+    }
+}
@@ -0,0 +1,96 @@
+package model;
+
+/**
+ * @author Mohamed Boutanghach
+ * Efecto visual de duración limitada (explosiones y cargas de energía).
+ * No interviene en la simulación: la partida solo lleva la cuenta de los pasos
+ * que le quedan para que la vista sepa qué dibujar y dónde.
+ */
+public class Effect {
+    /** Explosión de un esqueleto al morir. */
+    public static final String SKELETON_DEATH = "SkeletonDeath";
+
+    /** Explosión de una bola de energía del mago. */
+    public static final String ENERGY_EXPLOSION = "EnergyExplosion";
+
+    /** Explosión de una bomba o de un cohete del sacerdote. */
+    public static final String TNT_EXPLOSION = "TntExplosion";
+
+    /** Explosión de la habilidad definitiva del mago sobre un esqueleto. */
+    public static final String ULTI_EXPLOSION = "UltiExplosion";
+
+    /** Carga de energía de la habilidad definitiva del mago. */
+    public static final String MAGICIAN_CHARGE = "MagicianCharge";
+
+    /** Carga de energía de la habilidad definitiva del soldado. */
+    public static final String SOLDIER_CHARGE = "SoldierCharge";
+
+    private final Body body; // Posición y tamaño del efecto.
+    private String kind; // Tipo de efecto.
+    private int ticks; // Pasos que le quedan al efecto.
+
+    /**
+     * Constructor de un efecto vacío.
+     * Los efectos se obtienen de {@code Pools.EFFECTS}, que los reinicia con {@link #reset()}.
+     */
+    public Effect() {
+        this.body = new Body();
+        reset();
+    }
+
+    /**
+     * Devuelve el efecto a su estado inicial para reutilizarlo.
+     */
+    public void reset() {
+        this.kind = null;
+        this.ticks = 0;
+        this.body.setLocation(0, 0);
+        this.body.setSize(0, 0);
+    }
+
+    /**
+     * Prepara el efecto para mostrarlo.
+     *
+     * @param kind   Tipo de efecto.
+     * @param x      Coordenada X.
+     * @param y      Coordenada Y.
+     * @param width  Anchura.
+     * @param height Altura.
+     * @param ticks  Duración en pasos de simulación.
+     * @return El propio efecto.
+     */
+    public Effect set(String kind, int x, int y, int width, int height, int ticks) {
+        this.kind = kind;
+        this.ticks = ticks;
+        this.body.setLocation(x, y);
+        this.body.setSize(width, height);
+        return this;
+    }
+
+    /**
+     * Consume un paso de la duración del efecto.
+     *
+     * @return true si el efecto sigue activo.
+     */
+    public boolean tick() {
+        return --ticks > 0;
+    }
+
+    /**
+     * Obtiene el cuerpo del efecto.
+     *
+     * @return Cuerpo del efecto.
+     */
+    public Body getBody() {
+        return body;
+    }
+
+    /**
+     * Obtiene el tipo de efecto.
+     *
+     * @return Tipo de efecto.
+     */
+    public String getKind() {
+        return kind;
+    }
+}
@@ -0,0 +1,226 @@
+package model;
+
+import tools.FlowField;
+import tools.SpawnTable;
+import tools.TileGrid;
+import warriors.Skeleton;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * @author Mohamed Boutanghach
+ * Mapa de la mazmorra: cuadrículas de muros y suelos, posiciones de aparición de los
+ * esqueletos y campo de flujo hacia el guerrero. Todo se calcula una vez y se comparte
+ * entre las partidas que se juegan una detrás de otra.
+ * <p>
+ * El campo de flujo guarda la última búsqueda realizada, así que un mismo mapa no debe
+ * usarse a la vez desde varios hilos.
+ */
+public class GameMap {
+    /** Anchura del área jugable en píxeles. */
+    public static final int WIDTH = 1920;
+
+    /** Altura del área jugable en píxeles. */
+    public static final int HEIGHT = 1080;
+
+    private final TileGrid walls; // Cuadrícula de muros.
+    private final TileGrid floor; // Cuadrícula de suelos.
+    private final SpawnTable spawns; // Posiciones válidas de aparición de los esqueletos.
+    private final FlowField flowField; // Campo de flujo que siguen los esqueletos.
+
+    /**
+     * Constructor del mapa a partir de sus cuadrículas.
+     *
+     * @param walls Cuadrícula de muros.
+     * @param floor Cuadrícula de suelos.
+     */
+    public GameMap(TileGrid walls, TileGrid floor) {
+        this.walls = walls;
+        this.floor = floor;
+        this.spawns = new SpawnTable(walls, floor, Skeleton.SIZE, Skeleton.SIZE);
+        this.flowField = new FlowField(walls, floor, Skeleton.SIZE, Skeleton.SIZE);
+    }
+
+    /**
+     * Crea el mapa de la mazmorra del juego.
+     *
+     * @return El mapa con sus tablas precalculadas.
+     */
+    public static GameMap standard() {
+        return new GameMap(generateWalls(), generateFloor());
+    }
+
+    /**
+     * Obtiene la cuadrícula de muros.
+     *
+     * @return Cuadrícula de muros.
+     */
+    public TileGrid getWalls() {
+        return walls;
+    }
+
+    /**
+     * Obtiene la cuadrícula de suelos.
+     *
+     * @return Cuadrícula de suelos.
+     */
+    public TileGrid getFloor() {
+        return floor;
+    }
+
+    /**
+     * Obtiene la tabla de posiciones de aparición de los esqueletos.
+     *
+     * @return Tabla de apariciones.
+     */
+    public SpawnTable getSpawns() {
+        return spawns;
+    }
+
+    /**
+     * Obtiene el campo de flujo que siguen los esqueletos hacia el guerrero.
+     *
+     * @return Campo de flujo.
+     */
+    public FlowField getFlowField() {
+        return flowField;
+    }
+
+    /**
+     * Genera las diferentes áreas del piso del mapa.
+     * Utiliza la función generateFloorArea para añadir bloques de piso en
+     * posiciones específicas.
+     *
+     * @return TileGrid Cuadrícula con los bloques de piso.
+     */
+    private static TileGrid generateFloor() {
+        ArrayList<Rectangle> listFloor = new ArrayList<>();
+        generateFloorArea(listFloor, 116, 166, 8, 8);
+        generateFloorArea(listFloor, 244, 198, 43, 4);
+        generateFloorArea(listFloor, 404, 262, 5, 9);
+        generateFloorArea(listFloor, 852, 262, 5, 9);
+        generateFloorArea(listFloor, 148, 406, 73, 4);
+        generateFloorArea(listFloor, 148, 470, 4, 4);
+        generateFloorArea(listFloor, 692, 470, 5, 9);
+        generateFloorArea(listFloor, 148, 534, 16, 9);
+        generateFloorArea(listFloor, 404, 614, 34, 4);
+        generateFloorArea(listFloor, 1076, 310, 5, 6);
+        generateFloorArea(listFloor, 1076, 246, 26, 4);
+        generateFloorArea(listFloor, 868, 678, 5, 5);
+        generateFloorArea(listFloor, 868, 758, 41, 5);
+        generateFloorArea(listFloor, 1492, 246, 18, 14);
+        generateFloorArea(listFloor, 1684, 470, 6, 11);
+        generateFloorArea(listFloor, 1524, 646, 16, 5);
+        generateFloorArea(listFloor, 1428, 550, 6, 13);
+        generateFloorArea(listFloor, 1220, 550, 13, 5);
+        generateFloorArea(listFloor, 1220, 470, 6, 5);
+        return TileGrid.of(listFloor);
+    }
+
+    /**
+     * Genera un área del piso con bloques en una cuadrícula dada por las coordenadas (x, y)
+     * y el número de bloques de base y altura.
+     *
+     * @param listFloor Lista que contiene los bloques de piso.
+     * @param x         Coordenada X de la esquina superior izquierda del área de piso.
+     * @param y         Coordenada Y de la esquina superior izquierda del área de piso.
+     * @param base      Número de bloques en la base.
+     * @param high      Número de bloques en la altura.
+     */
+    private static void generateFloorArea(ArrayList<Rectangle> listFloor, int x, int y, int base, int high) {
+        for (int i = 0; i < base; i++) {
+            for (int j = 0; j < high; j++) {
+                listFloor.add(new Rectangle(x + (i * TileGrid.TILE), y + (j * TileGrid.TILE), TileGrid.TILE, TileGrid.TILE));
+            }
+        }
+    }
+
+    /**
+     * Genera las diferentes áreas de paredes del mapa.
+     * Utiliza las funciones generateHLine y generateVLine para añadir líneas
+     * horizontales y verticales de bloques de pared en posiciones específicas.
+     *
+     * @return TileGrid Cuadrícula con los bloques de pared.
+     */
+    private static TileGrid generateWalls() {
+        ArrayList<Rectangle> listWalls = new ArrayList<>();
+        generateHLine(listWalls, 100, 150, 10);
+        generateVLine(listWalls, 100, 166, 9);
+        generateHLine(listWalls, 100, 294, 10);
+        generateVLine(listWalls, 244, 166, 2);
+        generateVLine(listWalls, 244, 262, 2);
+        generateHLine(listWalls, 260, 182, 43);
+        generateHLine(listWalls, 260, 262, 9);
+        generateVLine(listWalls, 388, 278, 7);
+        generateHLine(listWalls, 132, 390, 17);
+        generateVLine(listWalls, 132, 390, 18);
+        generateHLine(listWalls, 132, 678, 46);
+        generateVLine(listWalls, 852, 694, 9);
+        generateHLine(listWalls, 852, 838, 43);
+        generateHLine(listWalls, 948, 742, 29);
+        generateVLine(listWalls, 948, 614, 8);
+        generateHLine(listWalls, 212, 470, 30);
+        generateVLine(listWalls, 212, 486, 3);
+        generateHLine(listWalls, 228, 518, 12);
+        generateHLine(listWalls, 484, 262, 23);
+        generateVLine(listWalls, 404, 534, 5);
+        generateHLine(listWalls, 420, 598, 17);
+        generateVLine(listWalls, 676, 486, 7);
+        generateHLine(listWalls, 772, 470, 28);
+        generateHLine(listWalls, 788, 598, 11);
+        generateVLine(listWalls, 772, 486, 8);
+        generateVLine(listWalls, 484, 278, 8);
+        generateHLine(listWalls, 500, 390, 22);
+        generateHLine(listWalls, 948, 390, 8);
+        generateVLine(listWalls, 1060, 230, 10);
+        generateHLine(listWalls, 1076, 230, 45);
+        generateVLine(listWalls, 1780, 246, 30);
+        generateVLine(listWalls, 1204, 486, 9);
+        generateHLine(listWalls, 1156, 390, 11);
+        generateVLine(listWalls, 1316, 406, 8);
+        generateHLine(listWalls, 1316, 534, 14);
+        generateVLine(listWalls, 1524, 550, 6);
+        generateVLine(listWalls, 1156, 310, 5);
+        generateHLine(listWalls, 1172, 310, 20);
+        generateVLine(listWalls, 1476, 326, 10);
+        generateHLine(listWalls, 1492, 470, 12);
+        generateHLine(listWalls, 1204, 630, 14);
+        generateHLine(listWalls, 1540, 630, 9);
+        generateHLine(listWalls, 1524, 726, 17);
+        generateVLine(listWalls, 1524, 742, 6);
+        generateVLine(listWalls, 1412, 646, 7);
+        generateVLine(listWalls, 1668, 486, 9);
+        generateVLine(listWalls, 836, 278, 7);
+        generateVLine(listWalls, 932, 198, 13);
+        return TileGrid.of(listWalls);
+    }
+
+    /**
+     * Genera una línea vertical de bloques en una posición dada.
+     *
+     * @param array  Lista que contiene los bloques.
+     * @param x      Coordenada X donde se colocará la línea.
+     * @param y      Coordenada Y donde se colocará la línea.
+     * @param amount Cantidad de bloques en la línea.
+     */
+    private static void generateVLine(ArrayList<Rectangle> array, int x, int y, int amount) {
+        for (int i = 0; i < amount; i++) {
+            array.add(new Rectangle(x, y + (TileGrid.TILE * i), TileGrid.TILE, TileGrid.TILE));
+        }
+    }
+
+    /**
+     * Genera una línea horizontal de bloques en una posición dada.
+     *
+     * @param array  Lista que contiene los bloques.
+     * @param x      Coordenada X donde se colocará la línea.
+     * @param y      Coordenada Y donde se colocará la línea.
+     * @param amount Cantidad de bloques en la línea.
+     */
+    private static void generateHLine(ArrayList<Rectangle> array, int x, int y, int amount) {
+        for (int i = 0; i < amount; i++) {
+            array.add(new Rectangle(x + (TileGrid.TILE * i), y, TileGrid.TILE, TileGrid.TILE));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package model;
+
+/**
+ * @author Mohamed Boutanghach
+ * Objeto que suelta un esqueleto al morir y que el guerrero puede recoger.
+ */
+public class Item {
+    /** Objeto que añade una carga de mana. */
+    public static final String ENERGY = "Energy";
+
+    /** Objeto que devuelve una vida. */
+    public static final String LIVE = "Live";
+
+    /** Esmeralda; con diez se gana la partida. */
+    public static final String EMERALD = "Emerald";
+
+    /** Tamaño en píxeles de los objetos. */
+    public static final int SIZE = 28;
+
+    private final Body body; // Posición y tamaño del objeto.
+    private String name; // Tipo de objeto.
+
+    /**
+     * Constructor de un objeto vacío.
+     * Los objetos se obtienen de {@code Pools.ITEMS}, que los reinicia con {@link #reset()}.
+     */
+    public Item() {
+        this.body = new Body(SIZE, SIZE);
+        reset();
+    }
+
+    /**
+     * Devuelve el objeto a su estado inicial para reutilizarlo.
+     */
+    public void reset() {
+        this.name = null;
+        this.body.setLocation(0, 0);
+    }
+
+    /**
+     * Prepara el objeto para dejarlo en el suelo.
+     *
+     * @param name Tipo de objeto ({@link #ENERGY}, {@link #LIVE} o {@link #EMERALD}).
+     * @param x    Coordenada X.
+     * @param y    Coordenada Y.
+     * @return El propio objeto.
+     */
+    public Item set(String name, int x, int y) {
+        this.name = name;
+        this.body.setLocation(x, y);
+        return this;
+    }
+
+    /**
+     * Obtiene el cuerpo del objeto.
+     *
+     * @return Cuerpo del objeto.
+     */
+    public Body getBody() {
+        return body;
+    }
+
+    /**
+     * Obtiene el tipo de objeto.
+     *
+     * @return Tipo de objeto.
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,340 @@
+package model;
+
+import game.GameLoop;
+import game.Tickable;
+import listeners.ActionListenerAddMonst;
+import tools.Pools;
+import tools.SkeletonHash;
+import tools.Tools;
+import warriors.Warrior;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author Mohamed Boutanghach
+ * Estado completo de una partida: el guerrero, los esqueletos, los proyectiles, los
+ * objetos y los efectos sobre el mapa, todo con coordenadas enteras y sin depender de Swing.
+ * <p>
+ * La partida avanza con los pasos del {@link GameLoop}: en la ventana el bucle lo impulsa
+ * el temporizador de Swing y la vista se limita a dibujar este estado en cada fotograma;
+ * sin ventana se puede llamar a {@link GameLoop#step()} seguido para jugar a la máxima
+ * velocidad. Todo el azar de la partida sale de un único generador con semilla.
+ * <p>
+ * El tiempo de partida lo lleva el reloj del bucle ({@link game.GameClock}). Además se
+ * guarda el tiempo en que se recoge cada esmeralda; si se gana, el tiempo final es el
+ * de la última esmeralda.
+ */
+public class Match implements Tickable {
+    /** Esmeraldas necesarias para ganar la partida. */
+    public static final int EMERALDS_TO_WIN = 10;
+
+    private final GameMap map; // Mapa en el que se juega.
+    private final Warrior warrior; // Guerrero controlado por el jugador.
+    private final Random random; // Generador de la partida.
+    private final long seed; // Semilla del generador.
+    private final SkeletonHash skeletons; // Esqueletos en juego.
+    private final ArrayList<Projectile> projectiles; // Proyectiles en juego.
+    private final ArrayList<Item> items; // Objetos en el suelo.
+    private final ArrayList<Effect> effects; // Efectos visuales activos.
+    private final ArrayList<Double> splits; // Segundos de partida en que se recogió cada esmeralda.
+    private GameLoop loop; // Bucle que hace avanzar la partida.
+    private double seconds; // Tiempo final de la partida, cuando ha terminado.
+    private int shaking; // Efectos que hacen vibrar la pantalla.
+    private boolean over; // Indica si la partida ha terminado.
+
+    /**
+     * Constructor de una partida.
+     *
+     * @param map     Mapa en el que se juega.
+     * @param warrior Guerrero controlado por el jugador.
+     * @param seed    Semilla del generador aleatorio de la partida.
+     */
+    public Match(GameMap map, Warrior warrior, long seed) {
+        this.map = map;
+        this.warrior = warrior;
+        this.seed = seed;
+        this.random = new Random(seed);
+        this.skeletons = new SkeletonHash();
+        this.projectiles = new ArrayList<>();
+        this.items = new ArrayList<>();
+        this.effects = new ArrayList<>();
+        this.splits = new ArrayList<>();
+    }
+
+    /**
+     * Registra la partida y la aparición de esqueletos en el bucle de juego.
+     * Lo que se registre después en el bucle ve el estado de la partida ya actualizado en cada paso.
+     *
+     * @param loop Bucle que hará avanzar la partida.
+     */
+    public void start(GameLoop loop) {
+        this.loop = loop;
+        loop.register(this);
+        loop.register(new ActionListenerAddMonst(this));
+    }
+
+    /**
+     * Avanza los efectos de la partida y comprueba si ha terminado. Al terminar fija el tiempo final.
+     *
+     * @param loop Bucle de juego que ejecuta el paso.
+     */
+    @Override
+    public void tick(GameLoop loop) {
+        for (int i = effects.size() - 1; i >= 0; i--) {
+            if (!effects.get(i).tick()) {
+                Pools.EFFECTS.release(effects.remove(i)); // Devuelve el efecto terminado a la reserva
+            }
+        }
+        if (isFinished()) {
+            over = true;
+            seconds = isWon() && !splits.isEmpty() ? splits.get(splits.size() - 1) : loop.getClock().getSeconds();
+            for (Effect effect : effects) {
+                Pools.EFFECTS.release(effect);
+            }
+            effects.clear();
+            loop.unregister(this);
+        }
+    }
+
+    /**
+     * Indica si el guerrero ha muerto o ha reunido las esmeraldas necesarias.
+     * Los elementos de la partida lo consultan para retirarse.
+     *
+     * @return true si la partida ha terminado o termina en este paso.
+     */
+    public boolean isFinished() {
+        return warrior.getLive() <= 0 || warrior.getEmeralds() == EMERALDS_TO_WIN;
+    }
+
+    /**
+     * Mueve el guerrero un paso en una dirección si no choca con los muros.
+     *
+     * @param key Dirección ('w', 'a', 's', 'd').
+     */
+    public void move(char key) {
+        if (acceptsInput()) {
+            warrior.setFacing(key);
+            warrior.setMoving(true);
+            int step = Tools.validateMove(warrior.getBody(), map.getWalls(), warrior.getSpeed(), key);
+            switch (key) {
+                case 'a':
+                    warrior.getBody().setLocation(warrior.getBody().getX() - step, warrior.getBody().getY());
+                    break;
+                case 's':
+                    warrior.getBody().setLocation(warrior.getBody().getX(), warrior.getBody().getY() + step);
+                    break;
+                case 'd':
+                    warrior.getBody().setLocation(warrior.getBody().getX() + step, warrior.getBody().getY());
+                    break;
+                case 'w':
+                    warrior.getBody().setLocation(warrior.getBody().getX(), warrior.getBody().getY() - step);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Detiene el guerrero mirando en la dirección de la tecla soltada.
+     *
+     * @param key Dirección ('w', 'a', 's', 'd').
+     */
+    public void release(char key) {
+        warrior.setFacing(key);
+        warrior.setMoving(false);
+    }
+
+    /**
+     * Ordena atacar al guerrero.
+     */
+    public void attack() {
+        if (acceptsInput()) {
+            warrior.attack(this);
+        }
+    }
+
+    /**
+     * Lanza la habilidad definitiva si el guerrero tiene el mana lleno (o vacío).
+     */
+    public void ulti() {
+        if (acceptsInput() && (warrior.getMana() == Warrior.MAX_MANA || warrior.getMana() == 0)) {
+            warrior.ulti(this);
+        }
+    }
+
+    /**
+     * Indica si el guerrero puede recibir órdenes.
+     *
+     * @return true si la partida sigue y el guerrero no está cargando su habilidad.
+     */
+    private boolean acceptsInput() {
+        return !over && !isFinished() && !warrior.isCasting();
+    }
+
+    /**
+     * Añade un efecto visual.
+     *
+     * @param kind   Tipo de efecto.
+     * @param x      Coordenada X.
+     * @param y      Coordenada Y.
+     * @param width  Anchura.
+     * @param height Altura.
+     * @param millis Duración en milisegundos.
+     */
+    public void addEffect(String kind, int x, int y, int width, int height, int millis) {
+        effects.add(Pools.EFFECTS.acquire().set(kind, x, y, width, height, loop.ticksFor(millis)));
+    }
+
+    /**
+     * Empieza un efecto que hace vibrar la pantalla.
+     */
+    public void startShaking() {
+        shaking++;
+    }
+
+    /**
+     * Termina un efecto que hace vibrar la pantalla.
+     */
+    public void stopShaking() {
+        shaking = Math.max(0, shaking - 1);
+    }
+
+    /**
+     * Indica si la pantalla debe vibrar.
+     *
+     * @return true si hay algún efecto de vibración activo.
+     */
+    public boolean isShaking() {
+        return shaking > 0;
+    }
+
+    /**
+     * Indica si la partida ha terminado.
+     *
+     * @return true si la partida ha terminado.
+     */
+    public boolean isOver() {
+        return over;
+    }
+
+    /**
+     * Indica si el guerrero ha ganado la partida.
+     *
+     * @return true si ha reunido las esmeraldas necesarias.
+     */
+    public boolean isWon() {
+        return warrior.getEmeralds() == EMERALDS_TO_WIN;
+    }
+
+    /**
+     * Da una esmeralda al guerrero y guarda el tiempo de partida en que la ha recogido.
+     */
+    public void collectEmerald() {
+        warrior.addEmerald();
+        splits.add(loop == null ? 0 : loop.getClock().getSeconds());
+    }
+
+    /**
+     * Obtiene el tiempo de partida: el tiempo final si ha terminado o el actual si sigue en juego.
+     *
+     * @return Segundos de partida.
+     */
+    public double getSeconds() {
+        if (over || loop == null) {
+            return seconds;
+        }
+        return loop.getClock().getSeconds();
+    }
+
+    /**
+     * Obtiene los tiempos parciales: los segundos de partida en que se recogió cada esmeralda.
+     *
+     * @return Tiempos parciales en orden.
+     */
+    public List<Double> getSplits() {
+        return Collections.unmodifiableList(splits);
+    }
+
+    /**
+     * Obtiene el mapa de la partida.
+     *
+     * @return Mapa.
+     */
+    public GameMap getMap() {
+        return map;
+    }
+
+    /**
+     * Obtiene el guerrero de la partida.
+     *
+     * @return Guerrero.
+     */
+    public Warrior getWarrior() {
+        return warrior;
+    }
+
+    /**
+     * Obtiene el bucle que hace avanzar la partida.
+     *
+     * @return Bucle de juego.
+     */
+    public GameLoop getLoop() {
+        return loop;
+    }
+
+    /**
+     * Obtiene el generador aleatorio de la partida.
+     *
+     * @return Generador aleatorio.
+     */
+    public Random getRandom() {
+        return random;
+    }
+
+    /**
+     * Obtiene la semilla del generador aleatorio de la partida.
+     *
+     * @return Semilla.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Obtiene los esqueletos en juego.
+     *
+     * @return Esqueletos indexados por posición.
+     */
+    public SkeletonHash getSkeletons() {
+        return skeletons;
+    }
+
+    /**
+     * Obtiene los proyectiles en juego.
+     *
+     * @return Lista de proyectiles.
+     */
+    public ArrayList<Projectile> getProjectiles() {
+        return projectiles;
+    }
+
+    /**
+     * Obtiene los objetos en el suelo.
+     *
+     * @return Lista de objetos.
+     */
+    public ArrayList<Item> getItems() {
+        return items;
+    }
+
+    /**
+     * Obtiene los efectos visuales activos.
+     *
+     * @return Lista de efectos.
+     */
+    public ArrayList<Effect> getEffects() {
+        return effects;
+    }
+}
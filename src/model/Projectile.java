@@ -0,0 +1,86 @@
+package model;
+
+/**
+ * @author Mohamed Boutanghach
+ * Proyectil lanzado por el guerrero: bola de energía del mago, bomba del sacerdote
+ * o cohete del bombardeo.
+ */
+public class Projectile {
+    /** Bola de energía del mago; avanza en la dirección en la que se lanzó. */
+    public static final String ENERGY_BALL = "EnergyBall";
+
+    /** Bomba del sacerdote; se queda quieta hasta que la toca un esqueleto. */
+    public static final String BOMB = "Bomb";
+
+    /** Cohete del bombardeo; cae desde la parte superior del mapa. */
+    public static final String ROCKET = "Rocket";
+
+    private final Body body; // Posición y tamaño del proyectil.
+    private String kind; // Tipo de proyectil.
+    private char direction; // Dirección de avance ('w', 'a', 's', 'd').
+
+    /**
+     * Constructor de un proyectil vacío.
+     * Los proyectiles se obtienen de {@code Pools.PROJECTILES}, que los reinicia con {@link #reset()}.
+     */
+    public Projectile() {
+        this.body = new Body();
+        reset();
+    }
+
+    /**
+     * Devuelve el proyectil a su estado inicial para reutilizarlo.
+     */
+    public void reset() {
+        this.kind = null;
+        this.direction = 's';
+        this.body.setLocation(0, 0);
+        this.body.setSize(0, 0);
+    }
+
+    /**
+     * Prepara el proyectil para lanzarlo.
+     *
+     * @param kind      Tipo de proyectil.
+     * @param direction Dirección de avance ('w', 'a', 's', 'd').
+     * @param x         Coordenada X.
+     * @param y         Coordenada Y.
+     * @param width     Anchura.
+     * @param height    Altura.
+     * @return El propio proyectil.
+     */
+    public Projectile set(String kind, char direction, int x, int y, int width, int height) {
+        this.kind = kind;
+        this.direction = direction;
+        this.body.setLocation(x, y);
+        this.body.setSize(width, height);
+        return this;
+    }
+
+    /**
+     * Obtiene el cuerpo del proyectil.
+     *
+     * @return Cuerpo del proyectil.
+     */
+    public Body getBody() {
+        return body;
+    }
+
+    /**
+     * Obtiene el tipo de proyectil.
+     *
+     * @return Tipo de proyectil.
+     */
+    public String getKind() {
+        return kind;
+    }
+
+    /**
+     * Obtiene la dirección de avance del proyectil.
+     *
+     * @return Dirección ('w', 'a', 's', 'd').
+     */
+    public char getDirection() {
+        return direction;
+    }
+}
@@ -0,0 +1,168 @@
+package tools;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author Mohamed Boutanghach
+ * Zonas de la pantalla que hay que volver a pintar en un fotograma. Durante el fotograma
+ * se añaden los rectángulos que ocupaban y ocupan las entidades, y al final se juntan en
+ * unos pocos rectángulos que se repintan de una vez.
+ * <p>
+ * La pantalla se divide en casillas de {@link #TILE} píxeles: cada rectángulo marca las
+ * casillas que toca, las casillas marcadas seguidas de una fila forman un tramo, y los
+ * tramos iguales de filas consecutivas se juntan en un rectángulo. El coste no depende de
+ * cuántas entidades se solapen, y las entidades cercanas se repintan juntas.
+ * <p>
+ * Los contadores de la zona repintada por fotograma se comparten entre todas las
+ * instancias, como los de {@link IconCache}, para que el bucle de juego los imprima.
+ */
+public class DirtyRegions {
+    /** Lado en píxeles de las casillas en las que se divide la pantalla. */
+    public static final int TILE = 32;
+
+    private static long frames; // Fotogramas contados desde la última descripción.
+    private static double dirtyFraction; // Suma de la fracción de pantalla repintada en cada fotograma.
+    private static double maxDirtyFraction; // Mayor fracción de pantalla repintada en un fotograma.
+    private static long rectangles; // Suma de los rectángulos repintados en cada fotograma.
+
+    private final int width; // Anchura de la pantalla.
+    private final int height; // Altura de la pantalla.
+    private final int columns; // Casillas por fila.
+    private final int rows; // Filas de casillas.
+    private final boolean[] dirty; // Casillas marcadas en el fotograma actual.
+    private final ArrayList<Rectangle> regions; // Rectángulos del último fotograma, reutilizados entre fotogramas.
+    private int count; // Rectángulos en uso de la lista anterior.
+    private boolean empty; // Indica si no se ha marcado ninguna casilla.
+
+    /**
+     * Constructor de las zonas de una pantalla.
+     *
+     * @param width  Anchura de la pantalla.
+     * @param height Altura de la pantalla.
+     */
+    public DirtyRegions(int width, int height) {
+        this.width = width;
+        this.height = height;
+        this.columns = (width + TILE - 1) / TILE;
+        this.rows = (height + TILE - 1) / TILE;
+        this.dirty = new boolean[columns * rows];
+        this.regions = new ArrayList<>();
+        this.empty = true;
+    }
+
+    /**
+     * Marca un rectángulo para repintar. Lo que queda fuera de la pantalla se ignora.
+     *
+     * @param x      Coordenada X.
+     * @param y      Coordenada Y.
+     * @param width  Anchura.
+     * @param height Altura.
+     */
+    public void add(int x, int y, int width, int height) {
+        int left = Math.max(x, 0);
+        int top = Math.max(y, 0);
+        int right = Math.min(x + width, this.width);
+        int bottom = Math.min(y + height, this.height);
+        if (left >= right || top >= bottom) {
+            return; // Vacío o fuera de la pantalla.
+        }
+        int lastColumn = (right - 1) / TILE;
+        int lastRow = (bottom - 1) / TILE;
+        for (int row = top / TILE; row <= lastRow; row++) {
+            int base = row * columns;
+            for (int column = left / TILE; column <= lastColumn; column++) {
+                dirty[base + column] = true;
+            }
+        }
+        empty = false;
+    }
+
+    /**
+     * Marca toda la pantalla para repintar.
+     */
+    public void addAll() {
+        add(0, 0, width, height);
+    }
+
+    /**
+     * Junta las casillas marcadas en rectángulos, cuenta la zona repintada y deja todas
+     * las casillas sin marcar para el siguiente fotograma. La lista devuelta se reutiliza
+     * en la siguiente llamada.
+     *
+     * @return Rectángulos que hay que repintar, sin solaparse.
+     */
+    public List<Rectangle> coalesce() {
+        count = 0;
+        long area = 0;
+        if (!empty) {
+            for (int row = 0; row < rows; row++) {
+                int column = 0;
+                while (column < columns) {
+                    if (!dirty[row * columns + column]) {
+                        column++;
+                        continue;
+                    }
+                    int start = column;
+                    while (column < columns && dirty[row * columns + column]) {
+                        dirty[row * columns + column] = false;
+                        column++;
+                    }
+                    area += span(row, start, column);
+                }
+            }
+            empty = true;
+        }
+        double fraction = (double) area / ((long) width * height);
+        frames++;
+        dirtyFraction += fraction;
+        maxDirtyFraction = Math.max(maxDirtyFraction, fraction);
+        rectangles += count;
+        return regions.subList(0, count);
+    }
+
+    /**
+     * Añade el tramo de una fila: alarga un rectángulo de la fila anterior con las mismas
+     * columnas o empieza uno nuevo.
+     *
+     * @param row   Fila del tramo.
+     * @param start Primera columna del tramo.
+     * @param end   Columna siguiente a la última del tramo.
+     * @return Área del tramo en píxeles, recortada a la pantalla.
+     */
+    private long span(int row, int start, int end) {
+        int x = start * TILE;
+        int y = row * TILE;
+        int w = Math.min(end * TILE, width) - x;
+        int h = Math.min(y + TILE, height) - y;
+        for (int i = 0; i < count; i++) {
+            Rectangle region = regions.get(i);
+            if (region.x == x && region.width == w && region.y + region.height == y) {
+                region.height += h; // Solo acaba en esta fila si tenía el mismo tramo en la anterior.
+                return (long) w * h;
+            }
+        }
+        if (count == regions.size()) {
+            regions.add(new Rectangle());
+        }
+        regions.get(count++).setBounds(x, y, w, h);
+        return (long) w * h;
+    }
+
+    /**
+     * Describe la zona repintada por fotograma desde la última llamada y vuelve a empezar
+     * a contar.
+     *
+     * @return Texto con la media y el máximo de la fracción repintada y los rectángulos.
+     */
+    public static String describe() {
+        String text = frames == 0 ? "sin fotogramas" : String.format("%.1f%% por fotograma (máx. %.1f%%), %.1f rectángulos",
+                dirtyFraction * 100 / frames, maxDirtyFraction * 100, (double) rectangles / frames);
+        frames = 0;
+        dirtyFraction = 0;
+        maxDirtyFraction = 0;
+        rectangles = 0;
+        return text;
+    }
+}
@@ -0,0 +1,172 @@
+package tools;
+
+import java.util.Arrays;
+
+/**
+ * @author Mohamed Boutanghach
+ * Campo de flujo compartido por todos los esqueletos. Divide el mapa en celdas de
+ * {@link TileGrid#TILE} píxeles y, mediante una búsqueda en anchura desde la celda del
+ * guerrero, guarda en cada celda la dirección del siguiente paso hacia él. La búsqueda
+ * solo se repite cuando el guerrero cambia de celda; cada esqueleto consulta su
+ * dirección en tiempo constante.
+ * <p>
+ * Una celda es transitable si un cuerpo colocado en su esquina toca el suelo sin tocar
+ * ninguna pared. Como cada celda alcanzable es transitable, un cuerpo que primero se
+ * alinea con su celda y después avanza en la dirección indicada nunca choca con un muro.
+ */
+public class FlowField {
+    /** Sin dirección: la celda es la del guerrero o no está conectada con ella. */
+    public static final char NONE = ' ';
+
+    private final int originX; // Coordenada X de la esquina de la celda (0, 0).
+    private final int originY; // Coordenada Y de la esquina de la celda (0, 0).
+    private final int cols; // Número de columnas.
+    private final int rows; // Número de filas.
+    private final boolean[] passable; // Celdas donde cabe el cuerpo sin tocar paredes.
+    private final char[] directions; // Siguiente paso de cada celda ('w', 'a', 's', 'd' o NONE).
+    private final int[] queue; // Cola reutilizada por la búsqueda en anchura.
+    private final boolean[] visited; // Celdas visitadas, reutilizadas por la búsqueda en anchura.
+    private int target = -1; // Celda del guerrero usada en el último cálculo.
+    private int computations; // Número de veces que se ha recalculado el campo.
+
+    /**
+     * Construye el campo a partir del mapa para cuerpos del tamaño indicado.
+     *
+     * @param walls  Cuadrícula de ocupación de las paredes.
+     * @param floor  Cuadrícula de ocupación del suelo.
+     * @param width  Anchura del cuerpo que se mueve por el campo.
+     * @param height Altura del cuerpo que se mueve por el campo.
+     */
+    public FlowField(TileGrid walls, TileGrid floor, int width, int height) {
+        this.originX = walls.getOriginX();
+        this.originY = walls.getOriginY();
+        this.cols = walls.getCols();
+        this.rows = walls.getRows();
+        this.passable = new boolean[cols * rows];
+        this.directions = new char[cols * rows];
+        this.queue = new int[cols * rows];
+        this.visited = new boolean[cols * rows];
+
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                int x = originX + col * TileGrid.TILE;
+                int y = originY + row * TileGrid.TILE;
+                passable[row * cols + col] = floor.intersects(x, y, width, height) && !walls.intersects(x, y, width, height);
+            }
+        }
+        Arrays.fill(directions, NONE);
+    }
+
+    /**
+     * Obtiene la dirección del siguiente paso hacia el objetivo para un cuerpo en (x, y).
+     * Recalcula el campo si el objetivo ha cambiado de celda.
+     *
+     * @param x       Coordenada X del cuerpo.
+     * @param y       Coordenada Y del cuerpo.
+     * @param targetX Coordenada X del objetivo.
+     * @param targetY Coordenada Y del objetivo.
+     * @return 'w', 'a', 's' o 'd', o {@link #NONE} si no hay camino o ya está en la celda del objetivo.
+     */
+    public char getDirection(int x, int y, int targetX, int targetY) {
+        update(targetX, targetY);
+        int cell = cellOf(x, y);
+        return cell == -1 ? NONE : directions[cell];
+    }
+
+    /**
+     * Recalcula las direcciones con una búsqueda en anchura si el objetivo está en otra celda.
+     *
+     * @param targetX Coordenada X del objetivo.
+     * @param targetY Coordenada Y del objetivo.
+     */
+    public void update(int targetX, int targetY) {
+        int cell = cellOf(targetX, targetY);
+        if (cell == target) {
+            return;
+        }
+        target = cell;
+        computations++;
+        Arrays.fill(directions, NONE);
+        if (cell == -1) {
+            return;
+        }
+
+        Arrays.fill(visited, false);
+        int head = 0, tail = 0;
+        queue[tail++] = cell;
+        visited[cell] = true;
+        while (head < tail) {
+            int current = queue[head++];
+            int col = current % cols;
+            int row = current / cols;
+            // Cada vecino apunta hacia la celda desde la que se ha alcanzado.
+            tail = visit(current - cols, row > 0, 's', tail);
+            tail = visit(current + cols, row < rows - 1, 'w', tail);
+            tail = visit(current - 1, col > 0, 'd', tail);
+            tail = visit(current + 1, col < cols - 1, 'a', tail);
+        }
+    }
+
+    /**
+     * Añade un vecino a la búsqueda si existe, es transitable y no se ha visitado.
+     *
+     * @param cell      Celda vecina.
+     * @param inside    Indica si la celda vecina está dentro de la cuadrícula.
+     * @param direction Dirección que lleva desde el vecino a la celda actual.
+     * @param tail      Final actual de la cola.
+     * @return Nuevo final de la cola.
+     */
+    private int visit(int cell, boolean inside, char direction, int tail) {
+        if (inside && !visited[cell] && passable[cell]) {
+            visited[cell] = true;
+            directions[cell] = direction;
+            queue[tail++] = cell;
+        }
+        return tail;
+    }
+
+    /**
+     * Obtiene la celda que contiene un punto.
+     *
+     * @param x Coordenada X.
+     * @param y Coordenada Y.
+     * @return Índice de la celda, o -1 si está fuera del campo.
+     */
+    private int cellOf(int x, int y) {
+        int col = Math.floorDiv(x - originX, TileGrid.TILE);
+        int row = Math.floorDiv(y - originY, TileGrid.TILE);
+        if (col < 0 || col >= cols || row < 0 || row >= rows) {
+            return -1;
+        }
+        return row * cols + col;
+    }
+
+    /**
+     * Obtiene la coordenada X de la esquina de la celda que contiene un punto.
+     *
+     * @param x Coordenada X del punto.
+     * @return Coordenada X de la esquina de la celda.
+     */
+    public int cellX(int x) {
+        return originX + Math.floorDiv(x - originX, TileGrid.TILE) * TileGrid.TILE;
+    }
+
+    /**
+     * Obtiene la coordenada Y de la esquina de la celda que contiene un punto.
+     *
+     * @param y Coordenada Y del punto.
+     * @return Coordenada Y de la esquina de la celda.
+     */
+    public int cellY(int y) {
+        return originY + Math.floorDiv(y - originY, TileGrid.TILE) * TileGrid.TILE;
+    }
+
+    /**
+     * Obtiene el número de veces que se ha recalculado el campo.
+     *
+     * @return Número de cálculos.
+     */
+    public int getComputations() {
+        return computations;
+    }
+}
@@ -0,0 +1,156 @@
+package tools;
+
+import javax.swing.*;
+import java.awt.*;
+import java.lang.ref.SoftReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * @author Mohamed Boutanghach
+ * Caché compartida de iconos del juego. Cada imagen se carga y se escala una sola vez
+ * por combinación de ruta, tamaño y algoritmo de escalado, y todas las etiquetas que la
+ * usan comparten el mismo {@link Icon}.
+ * <p>
+ * Los GIF animados se reproducen sobre la misma imagen, así que todas las etiquetas que
+ * comparten un icono muestran el mismo fotograma. Los contadores de aciertos y fallos
+ * permiten comprobar que durante la partida no se vuelve a cargar ninguna imagen.
+ * <p>
+ * La caché se puede llenar desde varios hilos a la vez, como hace el arranque para
+ * decodificar las imágenes en paralelo. Si dos hilos piden a la vez una imagen que no
+ * está, las dos se cargan pero todos se quedan con el mismo icono.
+ * <p>
+ * Las imágenes grandes que solo se ven en una pantalla, como los fondos, se piden con
+ * {@link #getReleasable}: la caché las guarda con una {@link SoftReference}, así que mientras
+ * ninguna etiqueta las muestre el recolector puede liberarlas si necesita memoria, y se
+ * vuelven a cargar la siguiente vez que se piden.
+ */
+public class IconCache {
+    private static final ConcurrentHashMap<String, Icon> ICONS = new ConcurrentHashMap<>(); // Iconos cargados por clave.
+    private static final ConcurrentHashMap<String, SoftReference<Icon>> RELEASABLE = new ConcurrentHashMap<>(); // Iconos que se pueden liberar.
+    private static final LongAdder HITS = new LongAdder(); // Peticiones servidas desde la caché.
+    private static final LongAdder MISSES = new LongAdder(); // Peticiones que han obligado a cargar la imagen.
+
+    /**
+     * Obtiene el icono de una imagen a su tamaño original.
+     *
+     * @param path Ruta de la imagen.
+     * @return El icono compartido.
+     */
+    public static Icon get(String path) {
+        return get(path, -1, -1, Image.SCALE_DEFAULT);
+    }
+
+    /**
+     * Obtiene el icono de una imagen escalada con el algoritmo por defecto.
+     *
+     * @param path   Ruta de la imagen.
+     * @param width  Anchura deseada.
+     * @param height Altura deseada.
+     * @return El icono compartido.
+     */
+    public static Icon get(String path, int width, int height) {
+        return get(path, width, height, Image.SCALE_DEFAULT);
+    }
+
+    /**
+     * Obtiene el icono de una imagen escalada. Si no está en la caché, la carga y la escala.
+     *
+     * @param path   Ruta de la imagen.
+     * @param width  Anchura deseada (-1 para el tamaño original).
+     * @param height Altura deseada (-1 para el tamaño original).
+     * @param hints  Algoritmo de escalado ({@link Image#SCALE_DEFAULT}, {@link Image#SCALE_SMOOTH}...).
+     * @return El icono compartido.
+     */
+    public static Icon get(String path, int width, int height, int hints) {
+        String key = path + '@' + width + 'x' + height + '/' + hints;
+        Icon icon = ICONS.get(key);
+        if (icon != null) {
+            HITS.increment();
+            return icon;
+        }
+        MISSES.increment();
+        icon = load(path, width, height, hints); // Se carga fuera de cualquier cerrojo.
+        Icon previous = ICONS.putIfAbsent(key, icon);
+        return previous != null ? previous : icon;
+    }
+
+    /**
+     * Obtiene el icono de una imagen escalada que se puede liberar cuando no se usa.
+     *
+     * @param path   Ruta de la imagen.
+     * @param width  Anchura deseada.
+     * @param height Altura deseada.
+     * @param hints  Algoritmo de escalado.
+     * @return El icono, cargado de nuevo si se había liberado.
+     */
+    public static Icon getReleasable(String path, int width, int height, int hints) {
+        return getReleasable(path + '@' + width + 'x' + height + '/' + hints, () -> load(path, width, height, hints));
+    }
+
+    /**
+     * Obtiene un icono que se puede liberar cuando no se usa, creándolo si no está o si
+     * el recolector ya lo ha liberado.
+     *
+     * @param key    Clave del icono.
+     * @param loader Crea el icono.
+     * @return El icono.
+     */
+    public static Icon getReleasable(String key, Supplier<Icon> loader) {
+        SoftReference<Icon> reference = RELEASABLE.get(key);
+        Icon icon = reference == null ? null : reference.get();
+        if (icon != null) {
+            HITS.increment();
+            return icon;
+        }
+        MISSES.increment();
+        icon = loader.get();
+        RELEASABLE.put(key, new SoftReference<>(icon));
+        return icon;
+    }
+
+    /**
+     * Carga una imagen y la escala si hace falta.
+     *
+     * @param path   Ruta de la imagen.
+     * @param width  Anchura deseada (-1 para el tamaño original).
+     * @param height Altura deseada (-1 para el tamaño original).
+     * @param hints  Algoritmo de escalado.
+     * @return El icono cargado.
+     */
+    private static Icon load(String path, int width, int height, int hints) {
+        ImageIcon image = new ImageIcon(path);
+        if (width < 0 && height < 0) {
+            return image;
+        }
+        return new ImageIcon(image.getImage().getScaledInstance(width, height, hints)); // Espera a que termine de escalar.
+    }
+
+    /**
+     * Obtiene el número de peticiones servidas desde la caché.
+     *
+     * @return Número de aciertos.
+     */
+    public static long getHits() {
+        return HITS.sum();
+    }
+
+    /**
+     * Obtiene el número de peticiones que han obligado a cargar una imagen.
+     *
+     * @return Número de fallos.
+     */
+    public static long getMisses() {
+        return MISSES.sum();
+    }
+
+    /**
+     * Obtiene el número de iconos distintos guardados en la caché.
+     *
+     * @return Número de iconos.
+     */
+    public static int getSize() {
+        return ICONS.size();
+    }
+}
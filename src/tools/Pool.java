@@ -0,0 +1,99 @@
+package tools;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Mohamed Boutanghach
+ * Reserva de objetos reutilizables. Los objetos se piden con {@link #acquire()}, que los
+ * reinicia antes de entregarlos, y se devuelven con {@link #release(Object)} cuando dejan
+ * de usarse, de modo que durante la partida apenas se crean objetos nuevos.
+ *
+ * @param <T> Tipo de los objetos de la reserva.
+ */
+public class Pool<T> {
+    private final String name; // Nombre de la reserva para las estadísticas.
+    private final Supplier<T> factory; // Crea un objeto nuevo cuando no hay libres.
+    private final Consumer<T> reset; // Reinicia un objeto antes de entregarlo.
+    private final ArrayDeque<T> free; // Objetos libres listos para reutilizar.
+    private int inUse; // Objetos entregados y todavía no devueltos.
+    private int created; // Objetos creados desde el inicio.
+
+    /**
+     * Constructor de la reserva.
+     *
+     * @param name    Nombre de la reserva.
+     * @param factory Función que crea un objeto nuevo.
+     * @param reset   Función que reinicia un objeto antes de entregarlo.
+     */
+    public Pool(String name, Supplier<T> factory, Consumer<T> reset) {
+        this.name = name;
+        this.factory = factory;
+        this.reset = reset;
+        this.free = new ArrayDeque<>();
+    }
+
+    /**
+     * Entrega un objeto reiniciado, reutilizando uno libre si lo hay.
+     *
+     * @return Objeto listo para usar.
+     */
+    public T acquire() {
+        T object = free.poll();
+        if (object == null) {
+            object = factory.get();
+            created++;
+        }
+        reset.accept(object);
+        inUse++;
+        return object;
+    }
+
+    /**
+     * Devuelve un objeto a la reserva. No se debe seguir usando después de devolverlo.
+     *
+     * @param object Objeto a devolver.
+     */
+    public void release(T object) {
+        inUse--;
+        free.push(object);
+    }
+
+    /**
+     * Obtiene el número de objetos entregados y todavía no devueltos.
+     *
+     * @return Objetos en uso.
+     */
+    public int getInUse() {
+        return inUse;
+    }
+
+    /**
+     * Obtiene el número de objetos libres en la reserva.
+     *
+     * @return Objetos libres.
+     */
+    public int getFree() {
+        return free.size();
+    }
+
+    /**
+     * Obtiene el número de objetos creados desde el inicio.
+     *
+     * @return Objetos creados.
+     */
+    public int getCreated() {
+        return created;
+    }
+
+    /**
+     * Describe la ocupación de la reserva.
+     *
+     * @return Texto con el nombre, los objetos en uso, libres y creados.
+     */
+    @Override
+    public String toString() {
+        return name + ": " + inUse + " en uso, " + free.size() + " libres, " + created + " creados";
+    }
+}
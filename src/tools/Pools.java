@@ -0,0 +1,34 @@
+package tools;
+
+import model.Effect;
+import model.Item;
+import model.Projectile;
+import warriors.Skeleton;
+
+/**
+ * @author Mohamed Boutanghach
+ * Reservas compartidas de las entidades y efectos que se crean y destruyen
+ * continuamente durante la partida.
+ */
+public class Pools {
+    /** Esqueletos. Se devuelven al morir o al acabar la partida. */
+    public static final Pool<Skeleton> SKELETONS = new Pool<>("Esqueletos", Skeleton::new, Skeleton::reset);
+
+    /** Bolas de energía, bombas y cohetes. Se devuelven al explotar o al salir del mapa. */
+    public static final Pool<Projectile> PROJECTILES = new Pool<>("Proyectiles", Projectile::new, Projectile::reset);
+
+    /** Efectos visuales. Se devuelven al terminar o al acabar la partida. */
+    public static final Pool<Effect> EFFECTS = new Pool<>("Efectos", Effect::new, Effect::reset);
+
+    /** Objetos que sueltan los esqueletos. Se devuelven al recogerlos o al acabar la partida. */
+    public static final Pool<Item> ITEMS = new Pool<>("Objetos", Item::new, Item::reset);
+
+    /**
+     * Describe la ocupación de todas las reservas.
+     *
+     * @return Texto con la ocupación de cada reserva.
+     */
+    public static String describe() {
+        return SKELETONS + "; " + PROJECTILES + "; " + EFFECTS + "; " + ITEMS;
+    }
+}
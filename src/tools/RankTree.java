@@ -0,0 +1,289 @@
+package tools;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * @author Mohamed Boutanghach
+ * Árbol AVL de estadísticos de orden: cada nodo guarda el tamaño de su subárbol, de modo
+ * que insertar, buscar la posición de un elemento y obtener el elemento de una posición
+ * cuestan O(log n). A diferencia de un {@link java.util.TreeSet}, guarda todos los
+ * elementos aunque se comparen como iguales; los iguales quedan en orden de llegada.
+ *
+ * @param <T> Tipo de los elementos, ordenados por su orden natural.
+ */
+public class RankTree<T extends Comparable<? super T>> implements Iterable<T> {
+    private Node<T> root; // Raíz del árbol.
+
+    /**
+     * Nodo del árbol.
+     *
+     * @param <T> Tipo del elemento.
+     */
+    private static class Node<T> {
+        private final T value; // Elemento del nodo.
+        private Node<T> left; // Subárbol de los elementos menores.
+        private Node<T> right; // Subárbol de los elementos mayores o iguales.
+        private int height; // Altura del subárbol.
+        private int size; // Elementos del subárbol.
+
+        /**
+         * Constructor de una hoja.
+         *
+         * @param value Elemento del nodo.
+         */
+        private Node(T value) {
+            this.value = value;
+            this.height = 1;
+            this.size = 1;
+        }
+    }
+
+    /**
+     * Inserta un elemento.
+     *
+     * @param value Elemento a insertar.
+     * @return Posición del elemento insertado, empezando en 0.
+     */
+    public int add(T value) {
+        root = insert(root, value);
+        return rankAfterLast(value) - 1;
+    }
+
+    /**
+     * Obtiene el número de elementos.
+     *
+     * @return Número de elementos.
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Indica si el árbol está vacío.
+     *
+     * @return true si no tiene elementos.
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Obtiene el elemento de una posición.
+     *
+     * @param index Posición, empezando en 0.
+     * @return Elemento de la posición.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Posición " + index + " de " + size());
+        }
+        Node<T> node = root;
+        while (true) {
+            int left = size(node.left);
+            if (index < left) {
+                node = node.left;
+            } else if (index == left) {
+                return node.value;
+            } else {
+                index -= left + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    /**
+     * Obtiene el último elemento.
+     *
+     * @return El mayor elemento.
+     */
+    public T last() {
+        if (root == null) {
+            throw new NoSuchElementException();
+        }
+        Node<T> node = root;
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node.value;
+    }
+
+    /**
+     * Cuenta los elementos estrictamente menores que uno dado, que es la posición
+     * (empezando en 0) que ocuparía ese valor por delante de sus iguales.
+     *
+     * @param value Valor a buscar.
+     * @return Número de elementos menores.
+     */
+    public int rank(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (value.compareTo(node.value) <= 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Cuenta los elementos menores o iguales que uno dado.
+     *
+     * @param value Valor a buscar.
+     * @return Número de elementos menores o iguales.
+     */
+    private int rankAfterLast(T value) {
+        int rank = 0;
+        Node<T> node = root;
+        while (node != null) {
+            if (value.compareTo(node.value) < 0) {
+                node = node.left;
+            } else {
+                rank += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Recorre los elementos en orden.
+     *
+     * @return Iterador en orden ascendente.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Recorre los elementos en orden a partir de una posición.
+     *
+     * @param from Posición del primer elemento, empezando en 0.
+     * @return Iterador en orden ascendente.
+     */
+    public Iterator<T> iterator(int from) {
+        return new Iterator<T>() {
+            private int next = from;
+
+            @Override
+            public boolean hasNext() {
+                return next < size();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return get(next++);
+            }
+        };
+    }
+
+    /**
+     * Inserta un elemento en un subárbol y lo reequilibra.
+     *
+     * @param node  Raíz del subárbol.
+     * @param value Elemento a insertar.
+     * @return Nueva raíz del subárbol.
+     */
+    private Node<T> insert(Node<T> node, T value) {
+        if (node == null) {
+            return new Node<>(value);
+        }
+        if (value.compareTo(node.value) < 0) {
+            node.left = insert(node.left, value);
+        } else {
+            node.right = insert(node.right, value); // Los iguales van detrás: orden de llegada.
+        }
+        return balance(node);
+    }
+
+    /**
+     * Reequilibra un nodo cuyos hijos difieren en altura como mucho en dos.
+     *
+     * @param node Nodo a reequilibrar.
+     * @return Nueva raíz del subárbol.
+     */
+    private Node<T> balance(Node<T> node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    /**
+     * Gira un subárbol a la derecha: su hijo izquierdo pasa a ser la raíz.
+     *
+     * @param node Raíz del subárbol.
+     * @return Nueva raíz del subárbol.
+     */
+    private Node<T> rotateRight(Node<T> node) {
+        Node<T> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    /**
+     * Gira un subárbol a la izquierda: su hijo derecho pasa a ser la raíz.
+     *
+     * @param node Raíz del subárbol.
+     * @return Nueva raíz del subárbol.
+     */
+    private Node<T> rotateLeft(Node<T> node) {
+        Node<T> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    /**
+     * Recalcula la altura y el tamaño de un nodo a partir de sus hijos.
+     *
+     * @param node Nodo a actualizar.
+     */
+    private void update(Node<T> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    /**
+     * Obtiene la altura de un subárbol.
+     *
+     * @param node Raíz del subárbol, o null.
+     * @return Altura, o 0 si está vacío.
+     */
+    private int height(Node<T> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Obtiene el número de elementos de un subárbol.
+     *
+     * @param node Raíz del subárbol, o null.
+     * @return Elementos, o 0 si está vacío.
+     */
+    private int size(Node<T> node) {
+        return node == null ? 0 : node.size;
+    }
+}
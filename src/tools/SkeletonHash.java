@@ -0,0 +1,217 @@
+package tools;
+
+import warriors.Skeleton;
+
+import java.awt.*;
+import java.util.ArrayList;
+
+/**
+ * @author Mohamed Boutanghach
+ * Conjunto de los esqueletos vivos de la partida con un índice espacial de celdas de
+ * tamaño fijo. Cada esqueleto se guarda en la celda de su esquina superior izquierda y
+ * se cambia de celda cuando se mueve, de modo que una consulta de colisión solo revisa
+ * los esqueletos de las celdas cercanas al área consultada.
+ * <p>
+ * Los resultados son los mismos que recorriendo la lista completa con
+ * {@link Rectangle#intersects(Rectangle)}: el primer esqueleto devuelto es el más antiguo
+ * de los que colisionan y las colisiones múltiples se devuelven en orden de llegada.
+ */
+public class SkeletonHash {
+    /** Tamaño en píxeles de cada celda del índice. */
+    public static final int CELL = 64;
+
+    private static final int WIDTH = 1920; // Anchura del área cubierta por el índice.
+    private static final int HEIGHT = 1080; // Altura del área cubierta por el índice.
+
+    private final int cols; // Número de columnas del índice.
+    private final int rows; // Número de filas del índice.
+    private final ArrayList<Skeleton>[] cells; // Esqueletos de cada celda.
+    private final ArrayList<Skeleton> skeletons; // Esqueletos en orden de llegada.
+    private int maxWidth; // Anchura máxima de los esqueletos añadidos.
+    private int maxHeight; // Altura máxima de los esqueletos añadidos.
+    private long nextSerial; // Número de orden del próximo esqueleto.
+
+    /**
+     * Constructor del índice. Cubre la zona jugable; las posiciones fuera de ella
+     * se asignan a las celdas del borde.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"}) // No se pueden crear arrays de tipos genéricos.
+    public SkeletonHash() {
+        this.cols = (WIDTH + CELL - 1) / CELL;
+        this.rows = (HEIGHT + CELL - 1) / CELL;
+        this.cells = new ArrayList[cols * rows];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new ArrayList<>();
+        }
+        this.skeletons = new ArrayList<>();
+    }
+
+    /**
+     * Añade un esqueleto ya colocado en su posición inicial.
+     *
+     * @param skeleton Esqueleto a añadir.
+     */
+    public void add(Skeleton skeleton) {
+        skeleton.setSerial(nextSerial++);
+        skeletons.add(skeleton);
+        maxWidth = Math.max(maxWidth, skeleton.getBody().getWidth());
+        maxHeight = Math.max(maxHeight, skeleton.getBody().getHeight());
+        int cell = cellOf(skeleton.getBody().getX(), skeleton.getBody().getY());
+        cells[cell].add(skeleton);
+        skeleton.setCell(cell);
+    }
+
+    /**
+     * Elimina un esqueleto del conjunto.
+     *
+     * @param skeleton Esqueleto a eliminar.
+     */
+    public void remove(Skeleton skeleton) {
+        if (skeleton.getCell() != -1) {
+            cells[skeleton.getCell()].remove(skeleton);
+            skeleton.setCell(-1);
+            skeletons.remove(skeleton);
+        }
+    }
+
+    /**
+     * Actualiza la celda de un esqueleto después de moverlo.
+     *
+     * @param skeleton Esqueleto que se ha movido.
+     */
+    public void move(Skeleton skeleton) {
+        int cell = cellOf(skeleton.getBody().getX(), skeleton.getBody().getY());
+        if (skeleton.getCell() != -1 && cell != skeleton.getCell()) {
+            cells[skeleton.getCell()].remove(skeleton);
+            cells[cell].add(skeleton);
+            skeleton.setCell(cell);
+        }
+    }
+
+    /**
+     * Busca el esqueleto más antiguo que se solapa con un rectángulo.
+     *
+     * @param x      Coordenada X del rectángulo.
+     * @param y      Coordenada Y del rectángulo.
+     * @param width  Anchura del rectángulo.
+     * @param height Altura del rectángulo.
+     * @return El esqueleto encontrado, o null si no hay ninguno.
+     */
+    public Skeleton first(int x, int y, int width, int height) {
+        Skeleton found = null;
+        if (width > 0 && height > 0) {
+            int col0 = colOf(x - maxWidth + 1), col1 = colOf(x + width - 1);
+            int row0 = rowOf(y - maxHeight + 1), row1 = rowOf(y + height - 1);
+            for (int row = row0; row <= row1; row++) {
+                for (int col = col0; col <= col1; col++) {
+                    ArrayList<Skeleton> cell = cells[row * cols + col];
+                    for (int i = 0; i < cell.size(); i++) {
+                        Skeleton skeleton = cell.get(i);
+                        if ((found == null || skeleton.getSerial() < found.getSerial())
+                                && overlaps(skeleton, x, y, width, height)) {
+                            found = skeleton;
+                        }
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Busca todos los esqueletos que se solapan con un rectángulo.
+     *
+     * @param x      Coordenada X del rectángulo.
+     * @param y      Coordenada Y del rectángulo.
+     * @param width  Anchura del rectángulo.
+     * @param height Altura del rectángulo.
+     * @return Lista de esqueletos encontrados en orden de llegada.
+     */
+    public ArrayList<Skeleton> all(int x, int y, int width, int height) {
+        ArrayList<Skeleton> found = new ArrayList<>();
+        if (width > 0 && height > 0) {
+            int col0 = colOf(x - maxWidth + 1), col1 = colOf(x + width - 1);
+            int row0 = rowOf(y - maxHeight + 1), row1 = rowOf(y + height - 1);
+            for (int row = row0; row <= row1; row++) {
+                for (int col = col0; col <= col1; col++) {
+                    ArrayList<Skeleton> cell = cells[row * cols + col];
+                    for (int i = 0; i < cell.size(); i++) {
+                        if (overlaps(cell.get(i), x, y, width, height)) {
+                            found.add(cell.get(i));
+                        }
+                    }
+                }
+            }
+            if (found.size() > 1) {
+                found.sort((a, b) -> Long.compare(a.getSerial(), b.getSerial()));
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Obtiene el número de esqueletos del conjunto.
+     *
+     * @return Número de esqueletos.
+     */
+    public int size() {
+        return skeletons.size();
+    }
+
+    /**
+     * Obtiene el esqueleto en una posición según el orden de llegada.
+     *
+     * @param index Posición del esqueleto.
+     * @return El esqueleto en esa posición.
+     */
+    public Skeleton get(int index) {
+        return skeletons.get(index);
+    }
+
+    /**
+     * Comprueba si el cuerpo de un esqueleto se solapa con un rectángulo.
+     *
+     * @param skeleton Esqueleto a comprobar.
+     * @param x        Coordenada X del rectángulo.
+     * @param y        Coordenada Y del rectángulo.
+     * @param width    Anchura del rectángulo.
+     * @param height   Altura del rectángulo.
+     * @return true si hay solapamiento.
+     */
+    private boolean overlaps(Skeleton skeleton, int x, int y, int width, int height) {
+        int sx = skeleton.getBody().getX(), sy = skeleton.getBody().getY();
+        int sw = skeleton.getBody().getWidth(), sh = skeleton.getBody().getHeight();
+        return sw > 0 && sh > 0 && sx < x + width && x < sx + sw && sy < y + height && y < sy + sh;
+    }
+
+    /**
+     * Obtiene la celda que contiene un punto.
+     *
+     * @param x Coordenada X.
+     * @param y Coordenada Y.
+     * @return Índice de la celda.
+     */
+    private int cellOf(int x, int y) {
+        return rowOf(y) * cols + colOf(x);
+    }
+
+    /**
+     * Obtiene la columna de una coordenada X, limitada al índice.
+     *
+     * @param x Coordenada X.
+     * @return Columna de la celda.
+     */
+    private int colOf(int x) {
+        return Math.min(cols - 1, Math.max(0, Math.floorDiv(x, CELL)));
+    }
+
+    /**
+     * Obtiene la fila de una coordenada Y, limitada al índice.
+     *
+     * @param y Coordenada Y.
+     * @return Fila de la celda.
+     */
+    private int rowOf(int y) {
+        return Math.min(rows - 1, Math.max(0, Math.floorDiv(y, CELL)));
+    }
+}
@@ -0,0 +1,124 @@
+package tools;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @author Mohamed Boutanghach
+ * Tabla precalculada de las posiciones donde puede aparecer un esqueleto. Se construye
+ * una sola vez a partir del mapa recorriendo la pantalla en pasos de {@link #STEP} píxeles
+ * y guardando las posiciones en las que el cuerpo toca el suelo sin tocar ninguna pared,
+ * de modo que elegir una posición es tomar un elemento al azar del array.
+ */
+public class SpawnTable {
+    /** Separación en píxeles entre las posiciones candidatas. */
+    public static final int STEP = 8;
+
+    private static final int WIDTH = 1921; // Anchura del área donde se buscan posiciones.
+    private static final int HEIGHT = 1081; // Altura del área donde se buscan posiciones.
+    private static final int ATTEMPTS = 16; // Intentos para encontrar una posición lejos del jugador.
+
+    private final int[] xs; // Coordenadas X de las posiciones válidas.
+    private final int[] ys; // Coordenadas Y de las posiciones válidas.
+
+    /**
+     * Construye la tabla de posiciones válidas para un cuerpo del tamaño indicado.
+     *
+     * @param walls  Cuadrícula de ocupación de las paredes.
+     * @param floor  Cuadrícula de ocupación del suelo.
+     * @param width  Anchura del cuerpo que aparece.
+     * @param height Altura del cuerpo que aparece.
+     */
+    public SpawnTable(TileGrid walls, TileGrid floor, int width, int height) {
+        int capacity = ((WIDTH + STEP - 1) / STEP) * ((HEIGHT + STEP - 1) / STEP);
+        int[] x = new int[capacity];
+        int[] y = new int[capacity];
+        int size = 0;
+
+        // Misma condición que se comprobaba en cada intento: sobre el suelo y fuera de las paredes.
+        for (int py = 0; py < HEIGHT; py += STEP) {
+            for (int px = 0; px < WIDTH; px += STEP) {
+                if (floor.intersects(px, py, width, height) && !walls.intersects(px, py, width, height)) {
+                    x[size] = px;
+                    y[size] = py;
+                    size++;
+                }
+            }
+        }
+        this.xs = Arrays.copyOf(x, size);
+        this.ys = Arrays.copyOf(y, size);
+    }
+
+    /**
+     * Elige una posición válida al azar.
+     *
+     * @param random Generador de números aleatorios.
+     * @return Índice de la posición elegida en la tabla.
+     */
+    public int pick(Random random) {
+        return random.nextInt(xs.length);
+    }
+
+    /**
+     * Elige una posición válida al azar que esté a más de cierta distancia de un punto,
+     * normalmente el jugador. Si tras varios intentos no encuentra ninguna, devuelve el
+     * último candidato para que la aparición nunca se bloquee.
+     *
+     * @param random   Generador de números aleatorios.
+     * @param x        Coordenada X del punto a evitar.
+     * @param y        Coordenada Y del punto a evitar.
+     * @param distance Distancia mínima en píxeles (0 para no excluir nada).
+     * @return Índice de la posición elegida en la tabla.
+     */
+    public int pick(Random random, int x, int y, int distance) {
+        int index = pick(random);
+        long limit = (long) distance * distance;
+        for (int i = 1; i < ATTEMPTS && distance > 0 && distanceSq(index, x, y) <= limit; i++) {
+            index = pick(random);
+        }
+        return index;
+    }
+
+    /**
+     * Calcula el cuadrado de la distancia entre una posición de la tabla y un punto.
+     *
+     * @param index Índice de la posición.
+     * @param x     Coordenada X del punto.
+     * @param y     Coordenada Y del punto.
+     * @return Distancia al cuadrado.
+     */
+    private long distanceSq(int index, int x, int y) {
+        long dx = xs[index] - x;
+        long dy = ys[index] - y;
+        return dx * dx + dy * dy;
+    }
+
+    /**
+     * Obtiene la coordenada X de una posición de la tabla.
+     *
+     * @param index Índice de la posición.
+     * @return Coordenada X.
+     */
+    public int getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Obtiene la coordenada Y de una posición de la tabla.
+     *
+     * @param index Índice de la posición.
+     * @return Coordenada Y.
+     */
+    public int getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Obtiene el número de posiciones válidas.
+     *
+     * @return Tamaño de la tabla.
+     */
+    public int size() {
+        return xs.length;
+    }
+}
@@ -0,0 +1,95 @@
+package tools;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * @author Mohamed Boutanghach
+ * Mide las fases del arranque del juego. Cada fase guarda su duración y los hitos guardan
+ * el tiempo transcurrido desde que arrancó la máquina virtual, de modo que el primer
+ * fotograma incluye también la carga de las clases. Es seguro entre hilos: las fases se
+ * miden en los hilos del arranque y los hitos en el hilo de eventos.
+ */
+public class StartupTimer {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final long start; // Instante en que se creó el medidor.
+    private final long uptimeAtStart; // Milisegundos que llevaba la máquina virtual al crear el medidor.
+    private final LinkedHashMap<String, Double> stages; // Duración de cada fase en milisegundos.
+    private final LinkedHashMap<String, Double> marks; // Milisegundos desde el arranque hasta cada hito.
+
+    /**
+     * Constructor del medidor. Empieza a contar al crearlo.
+     */
+    public StartupTimer() {
+        this.start = System.nanoTime();
+        this.uptimeAtStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        this.stages = new LinkedHashMap<>();
+        this.marks = new LinkedHashMap<>();
+    }
+
+    /**
+     * Ejecuta una fase y guarda su duración.
+     *
+     * @param stage Nombre de la fase.
+     * @param work  Trabajo de la fase.
+     * @param <T>   Tipo del resultado.
+     * @return Resultado del trabajo.
+     */
+    public <T> T measure(String stage, Supplier<T> work) {
+        long begin = System.nanoTime();
+        try {
+            return work.get();
+        } finally {
+            stage(stage, begin);
+        }
+    }
+
+    /**
+     * Guarda la duración de una fase que empezó en un instante dado, para las fases que
+     * se reparten entre varios hilos.
+     *
+     * @param stage Nombre de la fase.
+     * @param begin Instante de inicio obtenido con {@link System#nanoTime()}.
+     */
+    public void stage(String stage, long begin) {
+        double millis = (System.nanoTime() - begin) / NANOS_PER_MILLI;
+        synchronized (this) {
+            stages.put(stage, millis);
+        }
+    }
+
+    /**
+     * Guarda un hito con el tiempo transcurrido desde el arranque. Solo cuenta la primera vez.
+     *
+     * @param mark Nombre del hito.
+     */
+    public void mark(String mark) {
+        double millis = uptimeAtStart + (System.nanoTime() - start) / NANOS_PER_MILLI;
+        synchronized (this) {
+            marks.putIfAbsent(mark, millis);
+        }
+    }
+
+    /**
+     * Describe los hitos y la duración de las fases.
+     *
+     * @return Texto con los tiempos en milisegundos.
+     */
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder("Arranque:");
+        for (Map.Entry<String, Double> mark : marks.entrySet()) {
+            text.append(String.format(Locale.ROOT, " %s %.1f ms,", mark.getKey(), mark.getValue()));
+        }
+        text.append(" fases:");
+        for (Map.Entry<String, Double> stage : stages.entrySet()) {
+            text.append(String.format(Locale.ROOT, " %s %.1f ms,", stage.getKey(), stage.getValue()));
+        }
+        text.setLength(text.length() - 1); // Quita la última coma.
+        return text.toString();
+    }
+}
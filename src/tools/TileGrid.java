@@ -0,0 +1,194 @@
+package tools;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+/**
+ * @author Mohamed Boutanghach
+ * Cuadrícula de ocupación de bloques de 16 píxeles (muros o suelo) construida una sola vez
+ * a partir del mapa. Permite comprobar si un rectángulo se solapa con algún bloque mirando
+ * únicamente las celdas que cubre, en lugar de recorrer todos los bloques.
+ * <p>
+ * El resultado es idéntico al de {@link Rectangle#intersects(Rectangle)} contra cada bloque:
+ * los bloques que no están alineados con la cuadrícula o no miden 16x16 se guardan aparte
+ * y se comprueban uno a uno.
+ */
+public class TileGrid {
+    /** Tamaño en píxeles de un bloque del mapa. */
+    public static final int TILE = 16;
+
+    private final int originX; // Coordenada X de la esquina de la celda (0, 0).
+    private final int originY; // Coordenada Y de la esquina de la celda (0, 0).
+    private final int cols; // Número de columnas de la cuadrícula.
+    private final int rows; // Número de filas de la cuadrícula.
+    private final BitSet cells; // Celdas ocupadas, indexadas por fila * cols + columna.
+    private final ArrayList<Rectangle> loose; // Bloques no alineados con la cuadrícula.
+    private final ArrayList<Rectangle> blocks; // Todos los bloques en el orden en que se añadieron.
+
+    /**
+     * Constructor de la cuadrícula.
+     *
+     * @param originX Coordenada X de la esquina de la celda (0, 0).
+     * @param originY Coordenada Y de la esquina de la celda (0, 0).
+     * @param cols    Número de columnas.
+     * @param rows    Número de filas.
+     */
+    public TileGrid(int originX, int originY, int cols, int rows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cols = cols;
+        this.rows = rows;
+        this.cells = new BitSet(cols * rows);
+        this.loose = new ArrayList<>();
+        this.blocks = new ArrayList<>();
+    }
+
+    /**
+     * Añade un bloque a la cuadrícula.
+     *
+     * @param x      Coordenada X del bloque.
+     * @param y      Coordenada Y del bloque.
+     * @param width  Anchura del bloque.
+     * @param height Altura del bloque.
+     */
+    public void add(int x, int y, int width, int height) {
+        Rectangle block = new Rectangle(x, y, width, height);
+        blocks.add(block);
+        int col = Math.floorDiv(x - originX, TILE);
+        int row = Math.floorDiv(y - originY, TILE);
+        boolean aligned = width == TILE && height == TILE
+                && (x - originX) % TILE == 0 && (y - originY) % TILE == 0
+                && col >= 0 && col < cols && row >= 0 && row < rows;
+        if (aligned) {
+            cells.set(row * cols + col);
+        } else {
+            loose.add(block); // Se comprobará individualmente.
+        }
+    }
+
+    /**
+     * Comprueba si un rectángulo se solapa con algún bloque de la cuadrícula.
+     *
+     * @param x      Coordenada X del rectángulo.
+     * @param y      Coordenada Y del rectángulo.
+     * @param width  Anchura del rectángulo.
+     * @param height Altura del rectángulo.
+     * @return true si hay solapamiento con algún bloque.
+     */
+    public boolean intersects(int x, int y, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return false; // Igual que Rectangle.intersects con rectángulos vacíos.
+        }
+
+        // Rango de celdas que cubre el rectángulo, limitado a la cuadrícula.
+        int col0 = Math.max(0, Math.floorDiv(x - originX, TILE));
+        int col1 = Math.min(cols - 1, Math.floorDiv(x + width - 1 - originX, TILE));
+        int row0 = Math.max(0, Math.floorDiv(y - originY, TILE));
+        int row1 = Math.min(rows - 1, Math.floorDiv(y + height - 1 - originY, TILE));
+
+        for (int row = row0; row <= row1; row++) {
+            int index = row * cols;
+            for (int col = col0; col <= col1; col++) {
+                if (cells.get(index + col)) {
+                    return true;
+                }
+            }
+        }
+
+        for (int i = 0; i < loose.size(); i++) {
+            Rectangle block = loose.get(i);
+            if (block.x < x + width && x < block.x + block.width
+                    && block.y < y + height && y < block.y + block.height) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si un rectángulo se solapa con algún bloque de la cuadrícula.
+     *
+     * @param bounds Rectángulo a comprobar.
+     * @return true si hay solapamiento con algún bloque.
+     */
+    public boolean intersects(Rectangle bounds) {
+        return intersects(bounds.x, bounds.y, bounds.width, bounds.height);
+    }
+
+    /**
+     * Obtiene la coordenada X de la esquina de la celda (0, 0).
+     *
+     * @return Coordenada X del origen.
+     */
+    public int getOriginX() {
+        return originX;
+    }
+
+    /**
+     * Obtiene la coordenada Y de la esquina de la celda (0, 0).
+     *
+     * @return Coordenada Y del origen.
+     */
+    public int getOriginY() {
+        return originY;
+    }
+
+    /**
+     * Obtiene el número de columnas de la cuadrícula.
+     *
+     * @return Número de columnas.
+     */
+    public int getCols() {
+        return cols;
+    }
+
+    /**
+     * Obtiene el número de filas de la cuadrícula.
+     *
+     * @return Número de filas.
+     */
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Obtiene todos los bloques en el orden en que se añadieron.
+     *
+     * @return Lista de rectángulos de los bloques.
+     */
+    public ArrayList<Rectangle> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Crea una cuadrícula a partir de una lista de rectángulos, tomando como origen
+     * la esquina superior izquierda del primer bloque.
+     *
+     * @param blocks Bloques del mapa.
+     * @return La cuadrícula con todos los bloques añadidos.
+     */
+    public static TileGrid of(ArrayList<Rectangle> blocks) {
+        int minX = Integer.MAX_VALUE, minY = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE, maxY = Integer.MIN_VALUE;
+        for (Rectangle block : blocks) {
+            minX = Math.min(minX, block.x);
+            minY = Math.min(minY, block.y);
+            maxX = Math.max(maxX, block.x + block.width);
+            maxY = Math.max(maxY, block.y + block.height);
+        }
+        if (blocks.isEmpty()) {
+            return new TileGrid(0, 0, 0, 0);
+        }
+
+        // El origen se alinea con el primer bloque para que el resto caiga en celdas exactas.
+        int originX = minX - Math.floorMod(minX - blocks.get(0).x, TILE);
+        int originY = minY - Math.floorMod(minY - blocks.get(0).y, TILE);
+        TileGrid grid = new TileGrid(originX, originY,
+                Math.floorDiv(maxX - originX + TILE - 1, TILE), Math.floorDiv(maxY - originY + TILE - 1, TILE));
+        for (Rectangle block : blocks) {
+            grid.add(block.x, block.y, block.width, block.height);
+        }
+        return grid;
+    }
+}
@@ -3,14 +3,16 @@ package user;
 /**
  * @author Mohamed Boutanghach
  * Clase que representa una ronda en el juego.
- * Implementa la interfaz Comparable para permitir la comparación de rondas
- * según el tiempo que tardó en completarse.
+ * Implementa la interfaz Comparable para ordenar las rondas por el tiempo que tardó en
+ * completarse y, a igual tiempo, por usuario, guerrero y momento en que se jugó.
  */
 public class Round implements Comparable<Round> {
 
     private final String warrior; // Nombre del guerrero utilizado en la ronda.
     private final double seconds;  // Tiempo que tardó en completar la ronda, en segundos.
     private final User user;       // Usuario que completó la ronda.
+    private final long timestamp;  // Momento en que terminó la ronda, en milisegundos (0 si no se conoce).
+    private final int id;          // Identificador en la base de datos, o -1 si no se conoce.
 
     /**
      * Constructor de la clase Round.
@@ -20,9 +22,36 @@ public class Round implements Comparable<Round> {
      * @param user Usuario que completó la ronda.
      */
     public Round(String warrior, double seconds, User user) {
-        this.warrior = warrior; // Inicializa el nombre del guerrero.
-        this.seconds = seconds; // Inicializa el tiempo en segundos.
-        this.user = user;       // Inicializa el usuario.
+        this(warrior, seconds, user, System.currentTimeMillis());
+    }
+
+    /**
+     * Constructor de una ronda terminada en un momento conocido.
+     *
+     * @param warrior   Nombre del guerrero utilizado en la ronda.
+     * @param seconds   Tiempo en segundos que tardó el usuario en completar la ronda.
+     * @param user      Usuario que completó la ronda.
+     * @param timestamp Momento en que terminó la ronda, en milisegundos (0 si no se conoce).
+     */
+    public Round(String warrior, double seconds, User user, long timestamp) {
+        this(warrior, seconds, user, timestamp, -1);
+    }
+
+    /**
+     * Constructor de una ronda leída de la base de datos.
+     *
+     * @param warrior   Nombre del guerrero utilizado en la ronda.
+     * @param seconds   Tiempo en segundos que tardó el usuario en completar la ronda.
+     * @param user      Usuario que completó la ronda.
+     * @param timestamp Momento en que terminó la ronda, en milisegundos (0 si no se conoce).
+     * @param id        Identificador de la ronda en la base de datos, o -1 si no se conoce.
+     */
+    public Round(String warrior, double seconds, User user, long timestamp, int id) {
+        this.warrior = warrior;     // Inicializa el nombre del guerrero.
+        this.seconds = seconds;     // Inicializa el tiempo en segundos.
+        this.user = user;           // Inicializa el usuario.
+        this.timestamp = timestamp; // Inicializa el momento de la ronda.
+        this.id = id;               // Inicializa el identificador de la ronda.
     }
 
     /**
@@ -52,24 +81,54 @@ public class Round implements Comparable<Round> {
         return user; // Retorna el usuario que completó la ronda.
     }
 
+    /**
+     * Obtiene el momento en que terminó la ronda.
+     *
+     * @return Milisegundos desde 1970, o 0 si no se conoce.
+     */
+    public long getTimestamp() {
+        return timestamp; // Retorna el momento de la ronda.
+    }
+
+    /**
+     * Obtiene el identificador de la ronda en la base de datos.
+     *
+     * @return Identificador, o -1 si no se conoce.
+     */
+    public int getId() {
+        return id; // Retorna el identificador de la ronda.
+    }
+
     /**
      * Compara esta ronda con otra ronda según el tiempo en segundos.
-     * Devuelve un valor negativo si esta ronda es más rápida que la otra,
-     * un valor positivo si es más lenta, y cero si son iguales.
+     * Las rondas más rápidas van antes; a igual tiempo se ordenan por el nombre del
+     * usuario, el guerrero y el momento en que se jugaron, de modo que dos rondas
+     * distintas con el mismo tiempo no se consideran iguales.
      *
      * @param o Otra ronda a comparar.
-     * @return Un valor negativo, cero o un valor positivo según la comparación de tiempos.
+     * @return Un valor negativo, cero o un valor positivo según la comparación.
      */
     @Override
     public int compareTo(Round o) {
-        // Se invierte la comparación para que las rondas más rápidas tengan prioridad.
-        if (o.seconds > this.seconds) {
-            return -1; // Esta ronda es más lenta.
-        } else if (o.seconds < this.seconds) {
-            return 1; // Esta ronda es más rápida.
-        } else {
-            return 0; // Ambas rondas tienen el mismo tiempo.
+        int result = Double.compare(this.seconds, o.seconds); // Primero el tiempo.
+        if (result == 0) {
+            result = userName().compareTo(o.userName()); // Después el usuario.
+        }
+        if (result == 0) {
+            result = this.warrior.compareTo(o.warrior); // Después el guerrero.
         }
+        if (result == 0) {
+            result = Long.compare(this.timestamp, o.timestamp); // Por último el momento.
+        }
+        return result;
     }
-}
 
+    /**
+     * Obtiene el nombre del usuario de la ronda.
+     *
+     * @return Nombre del usuario, o cadena vacía si no se conoce.
+     */
+    private String userName() {
+        return user == null ? "" : user.getName();
+    }
+}
@@ -1,17 +1,19 @@
 package user;
 
+import tools.RankTree;
+
 import java.util.Objects;
-import java.util.TreeSet;
 
 /**
  * @author Mohamed Boutanghach
  * Clase que representa a un usuario en el sistema.
  * Un usuario tiene un nombre y una lista de rondas completadas,
- * que se almacenan en un conjunto ordenado.
+ * que se almacenan ordenadas por tiempo sin descartar las que empatan.
  */
 public class User {
     private final String name; // Nombre del usuario.
-    TreeSet<Round> listRound = new TreeSet<>(); // Conjunto de rondas completadas por el usuario.
+    private volatile int id; // Identificador en la base de datos, o -1 si todavía no se conoce.
+    RankTree<Round> listRound = new RankTree<>(); // Rondas completadas por el usuario, de la más rápida a la más lenta.
 
     /**
      * Constructor de la clase User.
@@ -19,9 +21,38 @@ public class User {
      * @param name Nombre del usuario.
      */
     public User(String name) {
+        this(-1, name);
+    }
+
+    /**
+     * Constructor de un usuario ya guardado en la base de datos.
+     *
+     * @param id   Identificador del usuario en la base de datos.
+     * @param name Nombre del usuario.
+     */
+    public User(int id, String name) {
+        this.id = id; // Inicializa el identificador del usuario.
         this.name = name; // Inicializa el nombre del usuario.
     }
 
+    /**
+     * Obtiene el identificador del usuario en la base de datos.
+     *
+     * @return Identificador del usuario, o -1 si todavía no se conoce.
+     */
+    public int getId() {
+        return id; // Retorna el identificador del usuario.
+    }
+
+    /**
+     * Asigna el identificador del usuario en la base de datos.
+     *
+     * @param id Identificador del usuario.
+     */
+    public void setId(int id) {
+        this.id = id; // Actualiza el identificador del usuario.
+    }
+
     /**
      * Obtiene el nombre del usuario.
      *
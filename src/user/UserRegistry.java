@@ -0,0 +1,107 @@
+package user;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+
+/**
+ * @author Mohamed Boutanghach
+ * Registro de los usuarios indexado por su nombre. Buscar un usuario o comprobar si un
+ * nombre ya existe cuesta O(1) en lugar de recorrer todos los usuarios, y se recorren en
+ * el orden en que se registraron.
+ * <p>
+ * Si se ignoran mayúsculas y minúsculas, "Ana" y "ana" son el mismo usuario, igual que
+ * en una columna de MySQL con intercalación que no las distingue.
+ */
+public class UserRegistry implements Iterable<User> {
+    private final LinkedHashMap<String, User> users; // Usuarios por su clave de nombre, en orden de registro.
+    private final boolean ignoreCase; // Indica si los nombres se comparan sin distinguir mayúsculas.
+
+    /**
+     * Constructor del registro vacío.
+     *
+     * @param ignoreCase true si los nombres no distinguen mayúsculas y minúsculas.
+     */
+    public UserRegistry(boolean ignoreCase) {
+        this.users = new LinkedHashMap<>();
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Crea el registro con la propiedad del sistema {@code users.ignoreCase}.
+     *
+     * @return Registro vacío configurado.
+     */
+    public static UserRegistry fromSystemProperties() {
+        return new UserRegistry(Boolean.getBoolean("users.ignoreCase"));
+    }
+
+    /**
+     * Registra un usuario si su nombre no existe ya.
+     *
+     * @param user Usuario a registrar.
+     * @return true si se ha registrado, false si ya había un usuario con ese nombre.
+     */
+    public boolean add(User user) {
+        return users.putIfAbsent(key(user.getName()), user) == null;
+    }
+
+    /**
+     * Busca un usuario por su nombre.
+     *
+     * @param name Nombre del usuario.
+     * @return Usuario con ese nombre, o null si no existe.
+     */
+    public User find(String name) {
+        return name == null ? null : users.get(key(name));
+    }
+
+    /**
+     * Indica si existe un usuario con un nombre.
+     *
+     * @param name Nombre a comprobar.
+     * @return true si el nombre ya está registrado.
+     */
+    public boolean contains(String name) {
+        return find(name) != null;
+    }
+
+    /**
+     * Obtiene el número de usuarios registrados.
+     *
+     * @return Número de usuarios.
+     */
+    public int size() {
+        return users.size();
+    }
+
+    /**
+     * Indica si no hay usuarios registrados.
+     *
+     * @return true si el registro está vacío.
+     */
+    public boolean isEmpty() {
+        return users.isEmpty();
+    }
+
+    /**
+     * Recorre los usuarios en el orden en que se registraron.
+     *
+     * @return Iterador de solo lectura.
+     */
+    @Override
+    public Iterator<User> iterator() {
+        return Collections.unmodifiableCollection(users.values()).iterator();
+    }
+
+    /**
+     * Obtiene la clave de un nombre en el índice.
+     *
+     * @param name Nombre del usuario.
+     * @return Nombre tal cual, o en minúsculas si se ignoran mayúsculas.
+     */
+    private String key(String name) {
+        return ignoreCase ? name.toLowerCase(Locale.ROOT) : name;
+    }
+}
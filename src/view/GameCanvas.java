@@ -0,0 +1,106 @@
+package view;
+
+import java.awt.*;
+import java.awt.image.BufferStrategy;
+import java.util.function.Consumer;
+
+/**
+ * @author Mohamed Boutanghach
+ * Lienzo del juego con pintado activo. No espera a que Swing lo repinte: en cada fotograma
+ * se dibuja todo en el búfer oculto de una {@link BufferStrategy} y se muestra de una vez.
+ * <p>
+ * El lienzo no pide repintados al cambiar los fotogramas de los GIF animados; como se
+ * dibuja en cada fotograma, los GIF avanzan igualmente.
+ */
+public class GameCanvas extends Canvas {
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFERS = 2; // Búferes de la estrategia: el visible y el oculto.
+
+    private BufferStrategy strategy; // Estrategia de búferes, creada al mostrar el lienzo.
+
+    /**
+     * Constructor del lienzo.
+     *
+     * @param size Tamaño del lienzo.
+     */
+    public GameCanvas(Dimension size) {
+        setSize(size);
+        setLocation(0, 0);
+        setIgnoreRepaint(true); // Los repintados del sistema no hacen falta: se pinta en cada fotograma.
+        setFocusable(false); // El teclado lo sigue recibiendo el panel del juego.
+    }
+
+    /**
+     * Dibuja un fotograma en el búfer oculto y lo muestra. Si el contenido del búfer se
+     * pierde mientras se dibuja, se vuelve a dibujar.
+     *
+     * @param painter Dibuja el fotograma.
+     */
+    public void render(Consumer<Graphics2D> painter) {
+        if (strategy == null) {
+            if (!isDisplayable()) {
+                return; // Todavía no está en la ventana.
+            }
+            createBufferStrategy(BUFFERS);
+            strategy = getBufferStrategy();
+        }
+        do {
+            do {
+                Graphics2D g = (Graphics2D) strategy.getDrawGraphics();
+                try {
+                    painter.accept(g);
+                } finally {
+                    g.dispose();
+                }
+            } while (strategy.contentsRestored());
+            strategy.show();
+        } while (strategy.contentsLost());
+        Toolkit.getDefaultToolkit().sync(); // Evita que el sistema retrase el fotograma.
+    }
+
+    /**
+     * Vuelve a mostrar el último fotograma cuando el sistema lo pide, por ejemplo al
+     * restaurar la ventana con la partida en pausa.
+     *
+     * @param g Contexto gráfico.
+     */
+    @Override
+    public void paint(Graphics g) {
+        if (strategy != null && !strategy.contentsLost()) {
+            strategy.show();
+        }
+    }
+
+    /**
+     * No borra el fondo antes de pintar, ya que cada fotograma lo cubre entero.
+     *
+     * @param g Contexto gráfico.
+     */
+    @Override
+    public void update(Graphics g) {
+        paint(g);
+    }
+
+    /**
+     * Sigue recibiendo los fotogramas de las imágenes animadas sin pedir un repintado.
+     *
+     * @return true mientras la imagen siga cargando o animándose.
+     */
+    @Override
+    public boolean imageUpdate(Image img, int infoflags, int x, int y, int w, int h) {
+        return (infoflags & (ALLBITS | ABORT)) == 0;
+    }
+
+    /**
+     * Libera los búferes al quitar el lienzo de la ventana.
+     */
+    @Override
+    public void removeNotify() {
+        if (strategy != null) {
+            strategy.dispose();
+            strategy = null;
+        }
+        super.removeNotify();
+    }
+}
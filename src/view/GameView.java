@@ -0,0 +1,436 @@
+package view;
+
+import model.Body;
+import model.Effect;
+import model.Item;
+import model.Match;
+import model.Projectile;
+import tools.DirtyRegions;
+import tools.IconCache;
+import tools.SkeletonHash;
+import warriors.*;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * @author Mohamed Boutanghach
+ * Vista de una partida sobre el panel del juego. No modifica la partida: en cada
+ * fotograma lee su estado y dibuja el guerrero, los esqueletos, los proyectiles, los
+ * objetos, los efectos y los marcadores en un {@link GameCanvas} con pintado activo.
+ * Las entidades no son componentes de Swing.
+ * <p>
+ * Lo que ya tenía el panel del juego (el mapa, la barra de mana y el icono de las
+ * esmeraldas) se copia una vez en una imagen que se dibuja de fondo en cada fotograma;
+ * esos componentes se ocultan mientras dura la partida.
+ * <p>
+ * El fotograma se compone en una imagen que se conserva entre fotogramas. Solo se vuelven
+ * a pintar las {@link DirtyRegions zonas} que ocupaban los iconos en el fotograma anterior y
+ * las que ocupan en este; como los GIF se animan solos, todo icono visible cuenta como
+ * cambiado. La imagen compuesta se muestra entera de una vez, ya que el contenido del
+ * búfer oculto del lienzo no se conserva entre fotogramas.
+ */
+public class GameView implements Runnable {
+    private static final int SHAKE = 5; // Desplazamiento del dibujo cuando la pantalla vibra.
+    private static final int HEART_SIZE = 50; // Lado de los iconos de vida.
+    private static final int MANA_SIZE = 46; // Lado de los iconos de mana.
+    private static final Font EMERALDS_FONT = new Font("Impact", Font.ITALIC, 40); // Fuente de la cantidad de esmeraldas.
+    private static final Rectangle EMERALDS = new Rectangle(1690, 40, 130, 100); // Zona de la cantidad de esmeraldas.
+
+    private final JPanel panel; // Panel del juego.
+    private final Match match; // Partida que se dibuja.
+    private final GameCanvas canvas; // Lienzo en el que se dibuja la partida.
+    private final BufferedImage background; // Copia del panel del juego antes de la partida.
+    private final BufferedImage frame; // Fotograma compuesto, que se conserva entre fotogramas.
+    private final DirtyRegions regions; // Zonas del fotograma que hay que volver a pintar.
+    private final ArrayList<Component> hidden; // Componentes del panel ocultos durante la partida.
+    private final Icon aura; // Aura del soldado (null para los demás guerreros).
+    private final HashMap<Character, Icon> still; // Iconos del guerrero parado por dirección.
+    private final HashMap<Character, Icon> moving; // Iconos del guerrero en movimiento por dirección.
+    private final HashMap<Character, Icon> attack; // Iconos de ataque por dirección (solo el soldado).
+    private ArrayList<Sprite> sprites; // Iconos del fotograma actual.
+    private ArrayList<Sprite> previous; // Iconos del fotograma anterior.
+    private int spriteCount; // Iconos en uso del fotograma actual.
+    private int previousCount; // Iconos en uso del fotograma anterior.
+    private int emeralds; // Cantidad de esmeraldas pintada.
+
+    /**
+     * Constructor de la vista. Copia el panel del juego y pone encima el lienzo de la partida.
+     * El panel ya tiene que estar en la ventana.
+     *
+     * @param panel Panel del juego.
+     * @param match Partida que se dibuja.
+     */
+    public GameView(JPanel panel, Match match) {
+        this.panel = panel;
+        this.match = match;
+        this.still = new HashMap<>();
+        this.moving = new HashMap<>();
+        this.attack = new HashMap<>();
+        this.sprites = new ArrayList<>();
+        this.previous = new ArrayList<>();
+        this.emeralds = -1;
+        Warrior warrior = match.getWarrior();
+        loadIcons(warrior);
+        aura = warrior instanceof Soldier ? IconCache.get("src/images/warrior/auraWarrior.gif", 50, 50) : null;
+
+        // Copia lo que ya muestra el panel y oculta sus componentes
+        background = createImage(panel);
+        Graphics2D g = background.createGraphics();
+        panel.paint(g);
+        g.dispose();
+        hidden = new ArrayList<>();
+        for (Component component : panel.getComponents()) {
+            if (component.isVisible()) {
+                component.setVisible(false);
+                hidden.add(component);
+            }
+        }
+
+        // El primer fotograma se compone entero
+        frame = createImage(panel);
+        regions = new DirtyRegions(panel.getWidth(), panel.getHeight());
+        regions.addAll();
+
+        canvas = new GameCanvas(panel.getSize());
+        panel.add(canvas);
+        panel.setComponentZOrder(canvas, 0);
+        run();
+    }
+
+    /**
+     * Dibuja el estado actual de la partida. Se ejecuta una vez por fotograma.
+     */
+    @Override
+    public void run() {
+        collect();
+        compose();
+        canvas.render(this::present);
+    }
+
+    /**
+     * Retira el lienzo y vuelve a mostrar los componentes del panel.
+     */
+    public void dispose() {
+        panel.remove(canvas);
+        for (Component component : hidden) {
+            component.setVisible(true);
+        }
+        hidden.clear();
+    }
+
+    /**
+     * Reúne los iconos del fotograma a partir del estado de la partida y marca como
+     * zonas a repintar las que ocupaban en el fotograma anterior y las que ocupan ahora.
+     */
+    private void collect() {
+        ArrayList<Sprite> swap = previous;
+        previous = sprites;
+        previousCount = spriteCount;
+        sprites = swap;
+        spriteCount = 0;
+        for (int i = 0; i < previousCount; i++) {
+            Sprite sprite = previous.get(i);
+            regions.add(sprite.x, sprite.y, sprite.icon.getIconWidth(), sprite.icon.getIconHeight());
+        }
+
+        // Guerrero
+        Warrior warrior = match.getWarrior();
+        Body warriorBody = warrior.getBody();
+        if (aura != null && ((Soldier) warrior).isAura()) {
+            add(aura, warriorBody.getX() - 9, warriorBody.getY() - 9);
+        }
+        add(warriorIcon(warrior), warriorBody);
+
+        // Entidades de la partida
+        SkeletonHash skeletons = match.getSkeletons();
+        for (int i = 0; i < skeletons.size(); i++) {
+            add(iconFor(skeletons.get(i)), skeletons.get(i).getBody());
+        }
+        for (Projectile projectile : match.getProjectiles()) {
+            add(projectileIcon(projectile), projectile.getBody());
+        }
+        for (Item item : match.getItems()) {
+            add(iconFor(item), item.getBody());
+        }
+        for (Effect effect : match.getEffects()) {
+            add(effectIcon(effect), effect.getBody());
+        }
+
+        // Marcadores
+        for (int i = 0; i < warrior.getMaxLive(); i++) {
+            String heart = i < warrior.getLive() ? "src/images/heart.png" : "src/images/heartDead.png";
+            add(IconCache.get(heart, HEART_SIZE, HEART_SIZE, Image.SCALE_SMOOTH), 170 + i * HEART_SIZE, 20);
+        }
+        Icon mana = IconCache.get("src/images/energy.gif", MANA_SIZE, MANA_SIZE);
+        for (int i = 0; i < warrior.getMana(); i++) {
+            add(mana, 128 + i * (MANA_SIZE + 4), 83);
+        }
+        if (warrior.getEmeralds() != emeralds) {
+            emeralds = warrior.getEmeralds();
+            regions.add(EMERALDS.x, EMERALDS.y, EMERALDS.width, EMERALDS.height);
+        }
+    }
+
+    /**
+     * Vuelve a pintar en el fotograma compuesto las zonas marcadas: en cada una, el fondo,
+     * los iconos que la tocan y la cantidad de esmeraldas.
+     */
+    private void compose() {
+        Graphics2D g = frame.createGraphics();
+        try {
+            for (Rectangle region : regions.coalesce()) {
+                g.setClip(region);
+                g.drawImage(background, 0, 0, null);
+                for (int i = 0; i < spriteCount; i++) {
+                    Sprite sprite = sprites.get(i);
+                    if (sprite.intersects(region)) {
+                        sprite.icon.paintIcon(canvas, g, sprite.x, sprite.y);
+                    }
+                }
+                if (region.intersects(EMERALDS)) {
+                    g.setFont(EMERALDS_FONT);
+                    g.setColor(Color.white);
+                    FontMetrics metrics = g.getFontMetrics();
+                    g.drawString(emeralds + " x", EMERALDS.x, EMERALDS.y + (EMERALDS.height - metrics.getHeight()) / 2 + metrics.getAscent());
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+    }
+
+    /**
+     * Muestra el fotograma compuesto, desplazado si la pantalla vibra.
+     *
+     * @param g Contexto gráfico del búfer oculto del lienzo.
+     */
+    private void present(Graphics2D g) {
+        // Vibración de la pantalla durante las habilidades definitivas
+        if (match.isShaking()) {
+            g.setColor(Color.black);
+            g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+            g.translate(0, match.getLoop().getTickCount() % 2 == 0 ? -SHAKE : SHAKE);
+        }
+        g.drawImage(frame, 0, 0, null);
+    }
+
+    /**
+     * Añade el icono de una entidad en su cuerpo, pegado a la izquierda y centrado en
+     * vertical como lo colocaba una etiqueta del tamaño del cuerpo.
+     *
+     * @param icon  Icono de la entidad.
+     * @param model Cuerpo de la entidad.
+     */
+    private void add(Icon icon, Body model) {
+        if (icon != null) {
+            add(icon, model.getX(), model.getY() + (model.getHeight() - icon.getIconHeight()) / 2);
+        }
+    }
+
+    /**
+     * Añade un icono al fotograma y marca su zona para repintar.
+     *
+     * @param icon Icono.
+     * @param x    Coordenada X.
+     * @param y    Coordenada Y.
+     */
+    private void add(Icon icon, int x, int y) {
+        if (spriteCount == sprites.size()) {
+            sprites.add(new Sprite());
+        }
+        Sprite sprite = sprites.get(spriteCount++);
+        sprite.icon = icon;
+        sprite.x = x;
+        sprite.y = y;
+        regions.add(x, y, icon.getIconWidth(), icon.getIconHeight());
+    }
+
+    /**
+     * Crea una imagen opaca del tamaño del panel con el formato de la pantalla.
+     *
+     * @param panel Panel del juego.
+     * @return Imagen vacía.
+     */
+    private static BufferedImage createImage(JPanel panel) {
+        GraphicsConfiguration configuration = panel.getGraphicsConfiguration();
+        return configuration != null
+                ? configuration.createCompatibleImage(panel.getWidth(), panel.getHeight())
+                : new BufferedImage(panel.getWidth(), panel.getHeight(), BufferedImage.TYPE_INT_RGB);
+    }
+
+    /**
+     * Elige el icono del guerrero según su dirección y si se mueve o ataca.
+     *
+     * @param warrior Guerrero.
+     * @return Icono del guerrero.
+     */
+    private Icon warriorIcon(Warrior warrior) {
+        if (warrior.isAttacking() && !attack.isEmpty()) {
+            return attack.get(warrior.getFacing());
+        }
+        return (warrior.isMoving() ? moving : still).get(warrior.getFacing());
+    }
+
+    /**
+     * Elige el icono de una entidad de la partida.
+     *
+     * @param entity Esqueleto, proyectil, objeto o efecto.
+     * @return Icono de la entidad.
+     */
+    private Icon iconFor(Object entity) {
+        Icon icon = null;
+        if (entity instanceof Skeleton) {
+            icon = IconCache.get("src/images/skeleton/skeleton_down.gif", Skeleton.SIZE, Skeleton.SIZE);
+        } else if (entity instanceof Item) {
+            Item item = (Item) entity;
+            if (item.getName().equals(Item.ENERGY)) {
+                icon = IconCache.get("src/images/energyBall.gif", Item.SIZE, Item.SIZE);
+            } else if (item.getName().equals(Item.LIVE)) {
+                icon = IconCache.get("src/images/live.gif", Item.SIZE, Item.SIZE);
+            } else {
+                icon = IconCache.get("src/images/emerald.gif", Item.SIZE, Item.SIZE);
+            }
+        } else if (entity instanceof Projectile) {
+            icon = projectileIcon((Projectile) entity);
+        } else if (entity instanceof Effect) {
+            icon = effectIcon((Effect) entity);
+        }
+        return icon;
+    }
+
+    /**
+     * Elige el icono de un proyectil.
+     *
+     * @param projectile Proyectil.
+     * @return Icono del proyectil.
+     */
+    private Icon projectileIcon(Projectile projectile) {
+        int width = projectile.getBody().getWidth();
+        int height = projectile.getBody().getHeight();
+        Icon icon;
+        switch (projectile.getKind()) {
+            case Projectile.BOMB:
+                icon = IconCache.get("src/images/priest/bomb.png", width, height, Image.SCALE_SMOOTH);
+                break;
+            case Projectile.ROCKET:
+                icon = IconCache.get("src/images/priest/rocketBomb.gif", width, height);
+                break;
+            default:
+                switch (projectile.getDirection()) {
+                    case 'a':
+                        icon = IconCache.get("src/images/atackMagiLeft.gif", width, height);
+                        break;
+                    case 'd':
+                        icon = IconCache.get("src/images/atackMagiRight.gif", width, height);
+                        break;
+                    case 's':
+                        icon = IconCache.get("src/images/atackMagiDown.gif", width, height);
+                        break;
+                    default:
+                        icon = IconCache.get("src/images/atackMagiUp.gif", width, height);
+                        break;
+                }
+                break;
+        }
+        return icon;
+    }
+
+    /**
+     * Elige el icono de un efecto.
+     *
+     * @param effect Efecto.
+     * @return Icono del efecto.
+     */
+    private Icon effectIcon(Effect effect) {
+        int width = effect.getBody().getWidth();
+        int height = effect.getBody().getHeight();
+        Icon icon;
+        switch (effect.getKind()) {
+            case Effect.SKELETON_DEATH:
+                icon = IconCache.get("src/images/skeleton/exploSkel.gif", width, height);
+                break;
+            case Effect.ENERGY_EXPLOSION:
+                icon = IconCache.get("src/images/exploFinMagi.gif", width, height);
+                break;
+            case Effect.ULTI_EXPLOSION:
+                icon = IconCache.get("src/images/wizard/expoUltiMagi.gif", width, height);
+                break;
+            case Effect.MAGICIAN_CHARGE:
+                icon = IconCache.get("src/images/wizard/energyMag.gif", width, height);
+                break;
+            case Effect.SOLDIER_CHARGE:
+                icon = IconCache.get("src/images/warrior/energyWar.gif", width, height);
+                break;
+            default:
+                icon = IconCache.get("src/images/priest/explosionTNT.gif", width, height);
+                break;
+        }
+        return icon;
+    }
+
+    /**
+     * Carga los iconos del guerrero según su tipo.
+     *
+     * @param warrior Guerrero de la partida.
+     */
+    private void loadIcons(Warrior warrior) {
+        if (warrior instanceof Magician) {
+            putIcons(still, "src/images/wizard/wizard_left.png", "src/images/wizard/wizard_right.png",
+                    "src/images/wizard/wizard_down.png", "src/images/wizard/wizard_up.png");
+            putIcons(moving, "src/images/wizard/wizard_leftM.gif", "src/images/wizard/wizard_rightM.gif",
+                    "src/images/wizard/wizard_downM.gif", "src/images/wizard/wizard_upM.gif");
+        } else if (warrior instanceof Priest) {
+            putIcons(still, "src/images/priest/priest_left.png", "src/images/priest/priest_rightS.png",
+                    "src/images/priest/priest_down.png", "src/images/priest/priest_up.png");
+            putIcons(moving, "src/images/priest/priest_leftM.gif", "src/images/priest/priest_right.gif",
+                    "src/images/priest/priest_downM.gif", "src/images/priest/priest_upM.gif");
+        } else {
+            putIcons(still, "src/images/warrior/warrior_left.png", "src/images/warrior/warrior_right.png",
+                    "src/images/warrior/warrior_down.png", "src/images/warrior/warrior_up.png");
+            putIcons(moving, "src/images/warrior/warrior_left.gif", "src/images/warrior/warrior_right.gif",
+                    "src/images/warrior/warrior_down.gif", "src/images/warrior/warrior_up.gif");
+            putIcons(attack, "src/images/warrior/attackWarLeft.gif", "src/images/warrior/attackWarRight.gif",
+                    "src/images/warrior/attackWarDown.gif", "src/images/warrior/attackWarUp.gif");
+        }
+    }
+
+    /**
+     * Guarda los iconos de las cuatro direcciones.
+     *
+     * @param icons Tabla de iconos por dirección.
+     * @param left  Ruta del icono hacia la izquierda.
+     * @param right Ruta del icono hacia la derecha.
+     * @param down  Ruta del icono hacia abajo.
+     * @param up    Ruta del icono hacia arriba.
+     */
+    private void putIcons(HashMap<Character, Icon> icons, String left, String right, String down, String up) {
+        icons.put('a', IconCache.get(left));
+        icons.put('d', IconCache.get(right));
+        icons.put('s', IconCache.get(down));
+        icons.put('w', IconCache.get(up));
+    }
+
+    /**
+     * Icono colocado en el fotograma. Se reutilizan entre fotogramas.
+     */
+    private static final class Sprite {
+        private Icon icon; // Icono.
+        private int x; // Coordenada X.
+        private int y; // Coordenada Y.
+
+        /**
+         * Comprueba si el icono toca un rectángulo.
+         *
+         * @param region Rectángulo.
+         * @return true si se solapan.
+         */
+        private boolean intersects(Rectangle region) {
+            return x < region.x + region.width && region.x < x + icon.getIconWidth()
+                    && y < region.y + region.height && region.y < y + icon.getIconHeight();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package view;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Mohamed Boutanghach
+ * Pantalla que se crea la primera vez que se muestra. Al arrancar solo se crea el panel
+ * vacío; su contenido se añade al meterlo por primera vez en la ventana y después se
+ * conserva para las siguientes veces.
+ * <p>
+ * Los fondos no guardan su imagen: se piden al mostrar la pantalla y se sueltan al
+ * quitarla, de modo que la imagen de una pantalla que no se ve se puede liberar.
+ */
+public class LazyPanel extends JPanel {
+    private static final long serialVersionUID = 1L;
+
+    private final ArrayList<JLabel> backgrounds; // Etiquetas de los fondos.
+    private final ArrayList<Supplier<Icon>> images; // Imagen de cada fondo.
+    private Consumer<? super LazyPanel> content; // Crea el contenido, o null si ya se ha creado.
+
+    /**
+     * Constructor de la pantalla vacía.
+     *
+     * @param size Tamaño de la pantalla.
+     */
+    public LazyPanel(Dimension size) {
+        this.backgrounds = new ArrayList<>();
+        this.images = new ArrayList<>();
+        setSize(size);
+        setLocation(0, 0);
+    }
+
+    /**
+     * Indica cómo se crea el contenido de la pantalla la primera vez que se muestre.
+     *
+     * @param content Crea el contenido en la pantalla que recibe.
+     */
+    public void setContent(Consumer<? super LazyPanel> content) {
+        this.content = content;
+    }
+
+    /**
+     * Añade un fondo del tamaño de la pantalla cuya imagen solo se guarda mientras se muestra.
+     *
+     * @param image Obtiene la imagen del fondo.
+     * @return Etiqueta del fondo.
+     */
+    public JLabel addBackground(Supplier<Icon> image) {
+        JLabel background = new JLabel();
+        background.setSize(getSize());
+        background.setLocation(0, 0);
+        backgrounds.add(background);
+        images.add(image);
+        add(background);
+        return background;
+    }
+
+    /**
+     * Crea el contenido de la pantalla si todavía no se ha creado.
+     */
+    public void build() {
+        if (content != null) {
+            Consumer<? super LazyPanel> pending = content;
+            content = null; // Se crea una sola vez aunque el contenido vuelva a mostrar la pantalla.
+            pending.accept(this);
+        }
+    }
+
+    /**
+     * Indica si el contenido de la pantalla ya se ha creado.
+     *
+     * @return true si ya se ha creado.
+     */
+    public boolean isBuilt() {
+        return content == null;
+    }
+
+    /**
+     * Crea el contenido la primera vez y pone las imágenes de los fondos al meter la
+     * pantalla en la ventana.
+     */
+    @Override
+    public void addNotify() {
+        build();
+        for (int i = 0; i < backgrounds.size(); i++) {
+            backgrounds.get(i).setIcon(images.get(i).get());
+        }
+        super.addNotify();
+    }
+
+    /**
+     * Suelta las imágenes de los fondos al quitar la pantalla de la ventana.
+     */
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        for (JLabel background : backgrounds) {
+            background.setIcon(null);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package view;
+
+import tools.RankTree;
+import user.Round;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.List;
+
+/**
+ * @author Mohamed Boutanghach
+ * Modelo de la tabla del ranking. Guarda las rondas cargadas en un {@link RankTree}, así
+ * que la tabla solo pide las filas que se ven y cada ronda nueva se notifica como la
+ * inserción de una sola fila en su posición.
+ */
+public class RankingTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private static final String[] COLUMNS = {"User", "Seconds", "Guerrero"}; // Columnas de la tabla.
+
+    private final RankTree<Round> rounds; // Rondas cargadas, de la más rápida a la más lenta.
+
+    /**
+     * Constructor del modelo vacío.
+     */
+    public RankingTableModel() {
+        this.rounds = new RankTree<>();
+    }
+
+    /**
+     * Inserta una ronda y notifica la fila insertada.
+     *
+     * @param round Ronda a insertar.
+     * @return Posición de la ronda, empezando en 0.
+     */
+    public int add(Round round) {
+        int row = rounds.add(round);
+        fireTableRowsInserted(row, row);
+        return row;
+    }
+
+    /**
+     * Inserta una página de rondas. Si va detrás de lo cargado se notifica como un
+     * único bloque de filas nuevas.
+     *
+     * @param page Rondas de la página.
+     */
+    public void addAll(List<Round> page) {
+        if (page.isEmpty()) {
+            return;
+        }
+        int first = rounds.size();
+        if (rounds.isEmpty() || page.get(0).compareTo(rounds.last()) >= 0) {
+            for (Round round : page) {
+                rounds.add(round);
+            }
+            fireTableRowsInserted(first, rounds.size() - 1);
+        } else {
+            for (Round round : page) {
+                add(round);
+            }
+        }
+    }
+
+    /**
+     * Obtiene la ronda más lenta cargada.
+     *
+     * @return Última ronda, o null si no hay ninguna.
+     */
+    public Round last() {
+        return rounds.isEmpty() ? null : rounds.last();
+    }
+
+    @Override
+    public int getRowCount() {
+        return rounds.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMNS.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Round round = rounds.get(row);
+        switch (column) {
+            case 0:
+                return "User: " + round.getUser().getName();
+            case 1:
+                return "Seconds: " + String.format("%.3f", round.getSeconds()); // Formato a 3 decimales.
+            default:
+                return "Guerrero: " + round.getWarrior();
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package view;
+
+import database.Database;
+import tools.Tools;
+import user.Round;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author Mohamed Boutanghach
+ * Ranking desplazable que se carga por páginas. Al arrancar solo se pide la primera página
+ * de las mejores rondas; cuando el jugador se acerca al final de la lista se pide la
+ * siguiente fuera del hilo de eventos. Las rondas que se juegan en la sesión se añaden
+ * directamente si entran en la parte ya cargada.
+ * <p>
+ * Las rondas de la sesión se guardan en la base de datos más tarde, en lotes, así que el
+ * desplazamiento de las páginas solo cuenta las filas recibidas de la base de datos. Una
+ * ronda de la sesión que llega después en una página se reconoce y no se repite, y las filas
+ * que una inserción nueva hace repetir en la siguiente página se descartan por su
+ * identificador. Las rondas que quedan por detrás de lo cargado esperan a que llegue su
+ * página: entran con ella, o en su sitio si la página no las trae porque aún no se han guardado.
+ * <p>
+ * Las filas se pintan con una tabla sobre un {@link RankingTableModel}: solo se dibujan las
+ * filas visibles y una ronda nueva es la inserción de una fila, sin crear componentes.
+ */
+public class RankingView {
+    /** Rondas que se piden en cada página. */
+    public static final int PAGE_SIZE = Integer.getInteger("ranking.pageSize", 50);
+
+    private static final int ROW_HEIGHT = 50; // Altura de cada fila, con su separación.
+    private static final int PREFETCH_ROWS = 5; // Filas antes del final a las que se pide la siguiente página.
+    private static final double SAME_SECONDS = 5e-4; // Diferencia de tiempo por debajo de la cual dos rondas son la misma.
+
+    private final RankingTableModel model; // Rondas cargadas, de la más rápida a la más lenta.
+    private final JTable table; // Tabla que pinta las filas visibles.
+    private final JScrollPane scroll; // Panel desplazable que contiene la tabla.
+    private final HashSet<Integer> loadedIds; // Identificadores de las rondas recibidas de la base de datos.
+    private final ArrayList<Round> shown; // Rondas de la sesión mostradas que todavía no han llegado en una página.
+    private final ArrayList<Round> pending; // Rondas de la sesión por detrás de lo cargado, sin mostrar.
+    private int offset; // Filas recibidas de la base de datos.
+    private boolean loading; // Indica si hay una página pedida.
+    private boolean exhausted; // Indica si ya se han cargado todas las rondas.
+
+    /**
+     * Constructor del ranking. Ocupa el sitio y el aspecto del panel indicado.
+     *
+     * @param ranking Panel que indica la posición, el tamaño y el aspecto del ranking.
+     */
+    public RankingView(JPanel ranking) {
+        this.model = new RankingTableModel();
+        this.loadedIds = new HashSet<>();
+        this.shown = new ArrayList<>();
+        this.pending = new ArrayList<>();
+        this.table = new JTable(model);
+        this.table.setTableHeader(null); // Cada celda ya lleva su título.
+        this.table.setFont(Tools.TEXT_FONT);
+        this.table.setForeground(Tools.TEXT_COLOR);
+        this.table.setBackground(ranking.getBackground());
+        this.table.setRowHeight(ROW_HEIGHT);
+        this.table.setShowGrid(false);
+        this.table.setIntercellSpacing(new Dimension(0, 0));
+        this.table.setFocusable(false);
+        this.table.setRowSelectionAllowed(false);
+        DefaultTableCellRenderer renderer = new DefaultTableCellRenderer();
+        renderer.setBorder(BorderFactory.createEmptyBorder(0, 4, 0, 0));
+        this.table.setDefaultRenderer(Object.class, renderer);
+
+        this.scroll = new JScrollPane(table, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
+                ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
+        this.scroll.setBounds(ranking.getBounds());
+        this.scroll.setBorder(ranking.getBorder());
+        this.scroll.getViewport().setBackground(ranking.getBackground());
+        this.scroll.getVerticalScrollBar().setUnitIncrement(ROW_HEIGHT / 2);
+        this.scroll.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar bar = scroll.getVerticalScrollBar();
+            if (bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - PREFETCH_ROWS * ROW_HEIGHT) {
+                loadNextPage(); // Se acerca al final de lo cargado.
+            }
+        });
+    }
+
+    /**
+     * Obtiene el componente que muestra el ranking.
+     *
+     * @return Panel desplazable del ranking.
+     */
+    public JComponent getComponent() {
+        return scroll;
+    }
+
+    /**
+     * Pide la siguiente página de rondas si no hay otra pedida y quedan rondas por cargar.
+     */
+    public void loadNextPage() {
+        if (loading || exhausted) {
+            return;
+        }
+        loading = true;
+        int from = offset;
+        Database.executor().submit(() -> Database.rounds().findPage(from, PAGE_SIZE),
+                this::addPage,
+                error -> {
+                    loading = false;
+                    System.out.println("No se ha podido obtener información");
+                });
+    }
+
+    /**
+     * Añade una página recibida de la base de datos.
+     *
+     * @param page Rondas de la página.
+     */
+    private void addPage(List<Round> page) {
+        loading = false;
+        offset += page.size();
+        exhausted = page.size() < PAGE_SIZE;
+        ArrayList<Round> fresh = new ArrayList<>(page.size());
+        for (Round round : page) {
+            if (!loadedIds.add(round.getId())) {
+                continue; // Repetida porque una inserción ha desplazado las filas.
+            }
+            if (!matchSession(shown, round)) {
+                matchSession(pending, round); // Si llega en la página, entra como fila de la base de datos.
+                fresh.add(round);
+            }
+        }
+        model.addAll(fresh); // Normalmente la página va detrás de lo cargado: un solo bloque de filas.
+
+        // Las rondas de la sesión que ya deberían haber llegado entran en su sitio
+        Round last = model.last();
+        for (Iterator<Round> it = pending.iterator(); it.hasNext(); ) {
+            Round round = it.next();
+            if (exhausted || (last != null && round.getSeconds() < last.getSeconds())) {
+                it.remove();
+                model.add(round);
+                shown.add(round);
+            }
+        }
+    }
+
+    /**
+     * Busca entre las rondas de la sesión la que corresponde a una fila de la base de datos
+     * y, si la encuentra, la quita de la lista.
+     *
+     * @param session Rondas de la sesión.
+     * @param row     Ronda leída de la base de datos.
+     * @return true si la fila es una ronda de la sesión.
+     */
+    private boolean matchSession(List<Round> session, Round row) {
+        for (Iterator<Round> it = session.iterator(); it.hasNext(); ) {
+            Round round = it.next();
+            if (round.getUser().getName().equals(row.getUser().getName()) && round.getWarrior().equals(row.getWarrior())
+                    && Math.abs(round.getSeconds() - row.getSeconds()) < SAME_SECONDS) {
+                it.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Añade una ronda jugada en esta sesión si entra en la parte ya cargada del ranking; si
+     * no, la guarda hasta que llegue su página. La tabla solo recibe la inserción de su fila.
+     *
+     * @param round Ronda terminada.
+     * @return Posición de la ronda en el ranking empezando en 1, o -1 si queda por detrás
+     * de las rondas cargadas y todavía no se conoce.
+     */
+    public int addRound(Round round) {
+        Round last = model.last();
+        if (exhausted || (last != null && round.compareTo(last) <= 0)) {
+            shown.add(round); // Puede volver a llegar en una página cuando se guarde.
+            return model.add(round) + 1;
+        }
+        pending.add(round);
+        return -1;
+    }
+
+    /**
+     * Obtiene el número de rondas cargadas.
+     *
+     * @return Rondas cargadas.
+     */
+    public int getLoaded() {
+        return model.getRowCount();
+    }
+}
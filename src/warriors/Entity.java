@@ -1,29 +1,20 @@
 package warriors;
 
-import javax.swing.*;
+import model.Body;
 
 /**
  * @author Mohamed Boutanghach
  *
  * Clase abstracta que representa una entidad genérica dentro del juego, con atributos
- * comunes como su movimiento (iconos en diferentes direcciones), su cuerpo visual (JLabel),
+ * comunes como su cuerpo (posición y tamaño en el mapa), la dirección hacia la que mira,
  * su cantidad de vida y su velocidad.
+ * <p>
+ * Las entidades no dependen de Swing: la vista elige el icono de cada una a partir de
+ * su dirección y de si se está moviendo.
  */
 public abstract class Entity {
-    /** Icono que representa el movimiento hacia la derecha de la entidad. */
-    protected Icon rightMove;
-
-    /** Icono que representa el movimiento hacia la izquierda de la entidad. */
-    protected Icon leftMove;
-
-    /** Icono que representa el movimiento hacia abajo de la entidad. */
-    protected Icon downMove;
-
-    /** Icono que representa el movimiento hacia arriba de la entidad. */
-    protected Icon upMove;
-
-    /** JLabel que representa el cuerpo visual de la entidad dentro de la interfaz gráfica. */
-    protected JLabel body;
+    /** Cuerpo de la entidad: posición y tamaño en el mapa. */
+    protected Body body;
 
     /** Entero que representa los puntos de vida de la entidad. */
     protected int live;
@@ -31,73 +22,90 @@ public abstract class Entity {
     /** Entero que representa la velocidad de la entidad en el juego. */
     protected int speed;
 
+    /** Dirección hacia la que mira la entidad ('w', 'a', 's', 'd'). */
+    protected char facing;
+
+    /** Indica si la entidad se está moviendo. */
+    protected boolean moving;
+
     /**
-     * Constructor por defecto de la clase Entity. Inicializa el cuerpo de la entidad como un JLabel vacío.
+     * Constructor por defecto de la clase Entity. Inicializa el cuerpo de la entidad
+     * vacío y mirando hacia abajo.
      */
     public Entity() {
-        this.body = new JLabel();
+        this.body = new Body();
+        this.facing = 's';
     }
 
     /**
-     * Obtiene el icono que representa el movimiento hacia la derecha de la entidad.
+     * Obtiene el cuerpo de la entidad.
      *
-     * @return El icono del movimiento hacia la derecha.
+     * @return El cuerpo con la posición y el tamaño de la entidad.
      */
-    public Icon getRightMove() {
-        return rightMove;
+    public Body getBody() {
+        return body;
     }
 
     /**
-     * Obtiene el icono que representa el movimiento hacia la izquierda de la entidad.
+     * Obtiene la cantidad de vida de la entidad.
      *
-     * @return El icono del movimiento hacia la izquierda.
+     * @return Un entero que representa los puntos de vida de la entidad.
      */
-    public Icon getLeftMove() {
-        return leftMove;
+    public int getLive() {
+        return live;
     }
 
     /**
-     * Obtiene el icono que representa el movimiento hacia abajo de la entidad.
+     * Establece la cantidad de vida de la entidad.
      *
-     * @return El icono del movimiento hacia abajo.
+     * @param live Puntos de vida de la entidad.
      */
-    public Icon getDownMove() {
-        return downMove;
+    public void setLive(int live) {
+        this.live = live;
     }
 
     /**
-     * Obtiene el icono que representa el movimiento hacia arriba de la entidad.
+     * Obtiene la velocidad de la entidad.
      *
-     * @return El icono del movimiento hacia arriba.
+     * @return Un entero que representa la velocidad de la entidad.
      */
-    public Icon getUpMove() {
-        return upMove;
+    public int getSpeed() {
+        return speed;
     }
 
     /**
-     * Obtiene el JLabel que representa el cuerpo visual de la entidad.
+     * Obtiene la dirección hacia la que mira la entidad.
      *
-     * @return Un JLabel que contiene la representación gráfica de la entidad.
+     * @return Dirección ('w', 'a', 's', 'd').
      */
-    public JLabel getBody() {
-        return body;
+    public char getFacing() {
+        return facing;
     }
 
     /**
-     * Obtiene la cantidad de vida de la entidad.
+     * Establece la dirección hacia la que mira la entidad.
      *
-     * @return Un entero que representa los puntos de vida de la entidad.
+     * @param facing Dirección ('w', 'a', 's', 'd').
      */
-    public int getLive() {
-        return live;
+    public void setFacing(char facing) {
+        this.facing = facing;
     }
 
     /**
-     * Obtiene la velocidad de la entidad.
+     * Indica si la entidad se está moviendo.
      *
-     * @return Un entero que representa la velocidad de la entidad.
+     * @return true si la entidad se está moviendo.
      */
-    public int getSpeed() {
-        return speed;
+    public boolean isMoving() {
+        return moving;
+    }
+
+    /**
+     * Establece si la entidad se está moviendo.
+     *
+     * @param moving true si la entidad se está moviendo.
+     */
+    public void setMoving(boolean moving) {
+        this.moving = moving;
     }
 }
@@ -1,60 +1,36 @@
 package warriors;
 
-import javax.swing.*;
-import java.awt.*;
-import java.util.Random;
-
 /**
  * @author Mohamed Boutanghach
  * Clase que representa a un esqueleto en el juego, que extiende la clase Entity.
- * El esqueleto tiene atributos para vida, velocidad y gráficos para representar su movimiento.
+ * El esqueleto tiene atributos para vida y velocidad, y su posición en el índice espacial.
  */
 public class Skeleton extends Entity {
+    /** Tamaño en píxeles del cuerpo del esqueleto. */
+    public static final int SIZE = 32;
 
-    private JLabel explotionLabel; // JLabel para mostrar la explosión al ser destruido.
+    private int cell = -1; // Celda del índice espacial en la que está el esqueleto (-1 si no está en juego).
+    private long serial; // Orden de llegada del esqueleto a la partida.
 
     /**
      * Constructor de la clase Skeleton.
-     * Inicializa los atributos del esqueleto, incluyendo su vida, velocidad,
-     * tamaño y las imágenes para las distintas direcciones de movimiento.
+     * Inicializa el tamaño del cuerpo del esqueleto.
+     * Los esqueletos se obtienen de {@code Pools.SKELETONS}, que los reinicia con {@link #reset()}.
      */
     public Skeleton() {
-        explotionLabel = new JLabel(); // Crea el JLabel para la explosión.
-        explotionLabel.setSize(70, 70); // Establece el tamaño del JLabel de explosión.
-        Random random = new Random(); // Crea un objeto Random para asignar vida aleatoria.
-        this.live = random.nextInt(2) + 1; // Asigna vida aleatoria entre 1 y 2.
-        this.speed = 3; // Establece la velocidad del esqueleto.
-        this.body.setSize(32, 32); // Establece el tamaño del cuerpo del esqueleto.
-
-        // Carga y ajusta las imágenes para el movimiento en diferentes direcciones.
-        Image left = new ImageIcon("src/images/skeleton/skeleton_left.gif").getImage();
-        this.leftMove = new ImageIcon(
-                left.getScaledInstance(this.body.getWidth(), this.body.getHeight(), Image.SCALE_DEFAULT)
-        );
-
-        Image right = new ImageIcon("src/images/skeleton/skeleton_right.gif").getImage();
-        this.rightMove = new ImageIcon(
-                right.getScaledInstance(this.body.getWidth(), this.body.getHeight(), Image.SCALE_DEFAULT)
-        );
-
-        Image down = new ImageIcon("src/images/skeleton/skeleton_down.gif").getImage();
-        this.downMove = new ImageIcon(
-                down.getScaledInstance(this.body.getWidth(), this.body.getHeight(), Image.SCALE_DEFAULT)
-        );
-
-        Image up = new ImageIcon("src/images/skeleton/skeleton_up.gif").getImage();
-        this.upMove = new ImageIcon(
-                up.getScaledInstance(this.body.getWidth(), this.body.getHeight(), Image.SCALE_DEFAULT)
-        );
-
-        this.body.setIcon(downMove); // Establece la imagen inicial del cuerpo en la dirección hacia abajo.
+        this.body.setSize(SIZE, SIZE); // Establece el tamaño del cuerpo del esqueleto.
+        reset();
+    }
 
-        // Carga la imagen de explosión.
-        Image explo = new ImageIcon("src/images/skeleton/exploSkel.gif").getImage();
-        Icon explotion = new ImageIcon(
-                explo.getScaledInstance(explotionLabel.getWidth(), explotionLabel.getHeight(), Image.SCALE_DEFAULT)
-        );
-        explotionLabel.setIcon(explotion); // Establece la imagen de explosión en el JLabel.
+    /**
+     * Devuelve el esqueleto a su estado inicial para reutilizarlo en un nuevo aparecimiento.
+     * La vida la asigna la partida al hacerlo aparecer, con su propio generador aleatorio.
+     */
+    public void reset() {
+        this.live = 1; // Vida mínima hasta que la partida le asigne la suya.
+        this.speed = 3; // Establece la velocidad del esqueleto.
+        this.cell = -1; // Todavía no está en el índice espacial.
+        this.facing = 's'; // Mira hacia abajo.
     }
 
     /**
@@ -68,11 +44,38 @@ public class Skeleton extends Entity {
     }
 
     /**
-     * Obtiene el JLabel que representa la explosión del esqueleto.
+     * Obtiene la celda del índice espacial en la que está el esqueleto.
+     *
+     * @return Índice de la celda, o -1 si el esqueleto no está en juego.
+     */
+    public int getCell() {
+        return cell;
+    }
+
+    /**
+     * Establece la celda del índice espacial en la que está el esqueleto.
+     *
+     * @param cell Índice de la celda, o -1 si el esqueleto sale del juego.
+     */
+    public void setCell(int cell) {
+        this.cell = cell;
+    }
+
+    /**
+     * Obtiene el orden de llegada del esqueleto a la partida.
+     *
+     * @return Número de orden.
+     */
+    public long getSerial() {
+        return serial;
+    }
+
+    /**
+     * Establece el orden de llegada del esqueleto a la partida.
      *
-     * @return JLabel que representa la explosión.
+     * @param serial Número de orden.
      */
-    public JLabel getExplotionLabel() {
-        return explotionLabel; // Retorna el JLabel de explosión.
+    public void setSerial(long serial) {
+        this.serial = serial;
     }
 }
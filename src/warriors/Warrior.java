@@ -1,8 +1,6 @@
 package warriors;
 
-import javax.swing.*;
-import java.awt.*;
-import java.util.ArrayList;
+import model.Match;
 
 /**
  * @author Mohamed Boutanghach
@@ -11,16 +9,16 @@ import java.util.ArrayList;
  * comunes a todos los guerreros.
  */
 public abstract class Warrior extends Entity {
+    /** Mana necesario para lanzar la habilidad definitiva. */
+    public static final int MAX_MANA = 10;
+
     protected int emeralds; // Cantidad de esmeraldas que tiene el guerrero.
-    protected JLabel quanty; // JLabel que muestra la cantidad de esmeraldas.
-    protected ArrayList<JLabel> livesIcon; // Lista de iconos que representan la vida del guerrero.
+    protected int maxLive; // Vidas con las que empieza el guerrero.
     protected boolean invincible; // Estado de invulnerabilidad del guerrero.
-    protected Icon left; // Icono para movimiento hacia la izquierda.
-    protected Icon right; // Icono para movimiento hacia la derecha.
     protected int mana; // Cantidad de mana del guerrero.
-    protected Icon down; // Icono para movimiento hacia abajo.
-    protected Icon up; // Icono para movimiento hacia arriba.
-    protected ArrayList<JLabel> labelEnergy; // Lista de etiquetas que representan la energía del guerrero.
+    protected boolean casting; // Indica si el guerrero está cargando su habilidad definitiva y no acepta órdenes.
+    protected boolean attacking; // Indica si se está mostrando la animación de ataque.
+    protected long cooldownEnd; // Paso de simulación a partir del cual puede volver a atacar.
 
     /**
      * Constructor de la clase Warrior.
@@ -32,123 +30,73 @@ public abstract class Warrior extends Entity {
         this.body.setSize(32, 32); // Establece el tamaño del cuerpo del guerrero.
         this.body.setLocation(164, 214); // Establece la ubicación inicial del guerrero.
         this.invincible = false; // Inicialmente el guerrero no es invencible.
-        labelEnergy = new ArrayList<>(); // Inicializa la lista de etiquetas de energía.
         emeralds = 0; // Inicializa la cantidad de esmeraldas a cero.
-
-        // Inicializa la JLabel que muestra la cantidad de esmeraldas.
-        quanty = new JLabel();
-        quanty.setSize(70, 100);
-        quanty.setText(this.emeralds + " x");
-        quanty.setForeground(Color.white);
-        quanty.setFont((new Font("Impact", Font.ITALIC, 40)));
-        quanty.setLocation(1690, 40); // Establece la posición de la JLabel.
-    }
-
-    /**
-     * Obtiene el JLabel que muestra la cantidad de esmeraldas.
-     *
-     * @return JLabel que representa la cantidad de esmeraldas.
-     */
-    public JLabel getQuanty() {
-        return quanty; // Retorna el JLabel de esmeraldas.
     }
 
     /**
-     * Obtiene la lista de etiquetas de energía del guerrero.
-     *
-     * @return ArrayList de JLabels que representan la energía.
+     * Aplica daño al guerrero quitándole una vida.
      */
-    public ArrayList<JLabel> getLabelEnergy() {
-        return labelEnergy; // Retorna la lista de etiquetas de energía.
+    public void damage() {
+        this.live--;
     }
 
-    /**
-     * Método abstracto que aplica daño al guerrero.
-     * Debe ser implementado por las clases que extienden Warrior.
-     */
-    public abstract void damage();
-
     /**
      * Método abstracto que permite al guerrero atacar.
      * Debe ser implementado por las clases que extienden Warrior.
      *
-     * @param panelGame El panel donde se dibuja el juego.
-     * @param skeletons La lista de esqueletos (enemigos) en el juego.
-     * @param listWalls La lista de paredes para validar movimientos.
+     * @param match Partida en la que ataca el guerrero.
      */
-    public abstract void attack(JPanel panelGame, ArrayList<Skeleton> skeletons, ArrayList<JLabel> listWalls);
+    public abstract void attack(Match match);
 
     /**
      * Método abstracto que activa la habilidad definitiva del guerrero.
      * Debe ser implementado por las clases que extienden Warrior.
      *
-     * @param panelGame El panel donde se dibuja el juego.
-     * @param skeletons La lista de esqueletos (enemigos) en el juego.
-     * @param listWalls La lista de paredes para validar movimientos.
+     * @param match Partida en la que se lanza la habilidad.
      */
-    public abstract void ulti(JPanel panelGame, ArrayList<Skeleton> skeletons, ArrayList<JLabel> listWalls);
+    public abstract void ulti(Match match);
 
     /**
      * Incrementa la cantidad de esmeraldas del guerrero.
      */
     public void addEmerald() {
         this.emeralds++; // Incrementa el contador de esmeraldas.
-        this.quanty.setText(this.emeralds + " x"); // Actualiza el texto en la JLabel de esmeraldas.
     }
 
     /**
-     * Incrementa la vida del guerrero y actualiza el icono correspondiente.
+     * Incrementa la vida del guerrero.
      */
     public void addLive() {
-        ImageIcon img = new ImageIcon("src/images/heart.png");
-        Icon icon = new ImageIcon(
-                img.getImage().getScaledInstance(this.livesIcon.get(0).getWidth(), this.livesIcon.get(0).getHeight(), Image.SCALE_SMOOTH)
-        );
-        this.getLivesIcon().get(this.live).setIcon(icon); // Actualiza el icono de vida.
         this.live++; // Incrementa la vida del guerrero.
     }
 
     /**
-     * Incrementa la cantidad de mana del guerrero y lo muestra en el panel del juego.
-     *
-     * @param panelGame El panel donde se dibuja el juego.
-     */
-    public void addMana(JPanel panelGame) {
-        JLabel mana = generateMana(); // Genera una nueva JLabel para el mana.
-        mana.setLocation(128 + 4 * this.mana + mana.getWidth() * this.mana, 83); // Establece la posición de la JLabel de mana.
-        panelGame.add(mana); // Añade la JLabel de mana al panel de juego.
-        panelGame.setComponentZOrder(mana, 0); // Coloca el JLabel de mana en el fondo.
-        panelGame.repaint(); // Repaint del panel para reflejar cambios.
-        this.labelEnergy.add(mana); // Añade la JLabel de mana a la lista de energía.
+     * Incrementa la cantidad de mana del guerrero.
+     */
+    public void addMana() {
         this.mana++; // Incrementa la cantidad de mana.
     }
 
     /**
-     * Elimina todas las etiquetas de mana del panel de juego y reinicia el contador de mana.
-     *
-     * @param panel El panel donde se dibuja el juego.
+     * Gasta todo el mana del guerrero al lanzar la habilidad definitiva.
      */
-    protected void deleteAllMana(JPanel panel) {
-        for (int i = 0; i < this.labelEnergy.size(); i++) {
-            panel.remove(this.labelEnergy.get(i)); // Elimina cada JLabel de mana del panel.
-        }
+    protected void deleteAllMana() {
         this.mana = 0; // Reinicia la cantidad de mana a cero.
     }
 
     /**
-     * Genera un JLabel que representa una etiqueta de mana.
+     * Comprueba si ha pasado el tiempo de recarga y, en ese caso, empieza uno nuevo.
      *
-     * @return JLabel que representa la etiqueta de mana.
+     * @param match  Partida en la que ataca el guerrero.
+     * @param millis Duración de la nueva recarga en milisegundos.
+     * @return true si el guerrero puede atacar.
      */
-    protected JLabel generateMana() {
-        JLabel mana = new JLabel(); // Crea un nuevo JLabel para el mana.
-        mana.setSize(46, 46); // Establece el tamaño del JLabel de mana.
-        Image img = new ImageIcon("src/images/energy.gif").getImage();
-        Icon icon = new ImageIcon(
-                img.getScaledInstance(mana.getWidth(), mana.getHeight(), Image.SCALE_DEFAULT)
-        );
-        mana.setIcon(icon); // Establece el icono de mana en el JLabel.
-        return mana; // Retorna el JLabel de mana.
+    protected boolean startCooldown(Match match, int millis) {
+        boolean ready = match.getLoop().getTickCount() >= cooldownEnd;
+        if (ready) {
+            cooldownEnd = match.getLoop().getTickCount() + match.getLoop().ticksFor(millis);
+        }
+        return ready;
     }
 
     /**
@@ -170,65 +118,72 @@ public abstract class Warrior extends Entity {
     }
 
     /**
-     * Obtiene la cantidad de esmeraldas del guerrero.
+     * Indica si el guerrero está cargando su habilidad definitiva.
      *
-     * @return la cantidad de esmeraldas.
+     * @return true si el guerrero no acepta órdenes.
      */
-    public int getEmeralds() {
-        return emeralds; // Retorna la cantidad de esmeraldas.
+    public boolean isCasting() {
+        return casting;
     }
 
     /**
-     * Obtiene la lista de iconos que representan la vida del guerrero.
+     * Establece si el guerrero está cargando su habilidad definitiva.
      *
-     * @return ArrayList de JLabels que representan la vida.
+     * @param casting true si el guerrero no acepta órdenes.
      */
-    public ArrayList<JLabel> getLivesIcon() {
-        return livesIcon; // Retorna la lista de iconos de vida.
+    public void setCasting(boolean casting) {
+        this.casting = casting;
     }
 
     /**
-     * Obtiene la cantidad de mana del guerrero.
+     * Indica si se está mostrando la animación de ataque.
      *
-     * @return la cantidad de mana.
+     * @return true si el guerrero está atacando.
      */
-    public int getMana() {
-        return mana; // Retorna la cantidad de mana.
+    public boolean isAttacking() {
+        return attacking;
     }
 
     /**
-     * Obtiene el icono de movimiento hacia la derecha.
+     * Establece si se está mostrando la animación de ataque.
      *
-     * @return Icono para movimiento hacia la derecha.
+     * @param attacking true si el guerrero está atacando.
      */
-    public Icon getRight() {
-        return right; // Retorna el icono de movimiento a la derecha.
+    public void setAttacking(boolean attacking) {
+        this.attacking = attacking;
     }
 
     /**
-     * Obtiene el icono de movimiento hacia arriba.
+     * Obtiene la cantidad de esmeraldas del guerrero.
      *
-     * @return Icono para movimiento hacia arriba.
+     * @return la cantidad de esmeraldas.
      */
-    public Icon getUp() {
-        return up; // Retorna el icono de movimiento hacia arriba.
+    public int getEmeralds() {
+        return emeralds; // Retorna la cantidad de esmeraldas.
     }
 
     /**
-     * Obtiene el icono de movimiento hacia la izquierda.
+     * Obtiene las vidas con las que empieza el guerrero, que son también las máximas.
      *
-     * @return Icono para movimiento hacia la izquierda.
+     * @return Número máximo de vidas.
      */
-    public Icon getLeft() {
-        return left;
+    public int getMaxLive() {
+        return maxLive;
     }
+
     /**
-     * Obtiene el icono de movimiento hacia abajo.
+     * Obtiene la cantidad de mana del guerrero.
      *
-     * @return Icono para movimiento hacia abajo.
+     * @return la cantidad de mana.
      */
-    public Icon getDown() {
-        return down;
+    public int getMana() {
+        return mana; // Retorna la cantidad de mana.
     }
 
+    /**
+     * Obtiene el nombre del tipo de guerrero tal y como se guarda en las rondas.
+     *
+     * @return Tipo de guerrero (Soldado, Mago o Sacerdote).
+     */
+    public abstract String getType();
 }